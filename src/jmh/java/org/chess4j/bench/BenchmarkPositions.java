@@ -0,0 +1,46 @@
+package org.chess4j.bench;
+
+/**
+ * The positions the benchmarks run from, named by the phase of the game.
+ */
+final class BenchmarkPositions {
+
+    /**
+     * An Italian opening after 3. Bc4.
+     */
+    static final String OPENING = "r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3";
+
+    /**
+     * A middlegame rich in tactics with castling rights for both sides.
+     */
+    static final String MIDDLEGAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /**
+     * A rook endgame with pawns.
+     */
+    static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    // Utility class
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Returns the FEN record of the position of the given phase.
+     *
+     * @param phase opening, middlegame or endgame.
+     * @return the FEN record.
+     * @throws IllegalArgumentException if the phase is unknown.
+     */
+    static String fen(String phase) {
+        switch (phase) {
+            case "opening":
+                return OPENING;
+            case "middlegame":
+                return MIDDLEGAME;
+            case "endgame":
+                return ENDGAME;
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.chess4j.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, which reports the allocation rate
+ * and the bytes allocated per operation next to the time of every benchmark.
+ * The arguments are the command line options of JMH, so for example
+ * {@code Tile} only runs the benchmarks whose name contains it.
+ * <p>
+ * The benchmarks are built by the {@code jmh} profile:
+ * <pre>
+ * mvn -P jmh -DskipTests package
+ * java -jar target/chess4j-benchmarks.jar [JMH options]
+ * </pre>
+ */
+public final class Benchmarks {
+
+    // Utility class
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args the JMH command line options.
+     * @throws CommandLineOptionException if the options are malformed.
+     * @throws RunnerException            if a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,156 @@
+package org.chess4j.bench;
+
+import org.chess4j.Board;
+import org.chess4j.Boards;
+import org.chess4j.Color;
+import org.chess4j.Fen;
+import org.chess4j.Move;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.exceptions.InvalidMoveException;
+import org.chess4j.moves.NormalMove;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+import org.chess4j.simple.Player;
+import org.chess4j.simple.SimpleGame;
+import org.chess4j.simple.SimpleHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the hot paths of the rules engine, each run from an opening,
+ * a middlegame and an endgame position. The benchmarked move is the longest
+ * legal move of a piece other than a pawn and the king, so that its path is
+ * not trivial.
+ * <p>
+ * Benchmarks that change the game take the move back within the same
+ * invocation, so every invocation starts from the same position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    /**
+     * The name of the position of a run, which is one of opening, middlegame
+     * and endgame.
+     */
+    @Param({"opening", "middlegame", "endgame"})
+    public String phase;
+
+    private Board board;
+    private Tile start;
+    private Tile end;
+    private String uciMove;
+    private Move move;
+    private Player player;
+    private SimpleGame game;
+    private SimpleHistory history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String fen = BenchmarkPositions.fen(phase);
+        board = Fen.parse(fen);
+        int longest = longestPieceMove(new Position(board), fen);
+        start = Tile.values()[Moves.start(longest)];
+        end = Tile.values()[Moves.end(longest)];
+        uciMove = Moves.toString(longest);
+        move = NormalMove.perform(start, end, board);
+        if (move == Move.INVALID_MOVE) {
+            throw new IllegalStateException("Invalid benchmark move " + uciMove + " in " + fen);
+        }
+        history = new SimpleHistory(board);
+        player = board.sideToMove() == Color.WHITE ? Player.white(history) : Player.black(history);
+        game = new SimpleGame(fen);
+    }
+
+    /*
+     * Returns the longest legal move of a piece other than a pawn and the
+     * king.
+     */
+    private static int longestPieceMove(Position position, String fen) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        int longest = Moves.NONE;
+        int length = -1;
+        for (int i = 0; i < moves.size(); i++) {
+            int candidate = moves.get(i);
+            int type = Position.type(position.pieceAt(Moves.start(candidate)));
+            if (type == Piece.Type.PAWN.ordinal() || type == Piece.Type.KING.ordinal()) {
+                continue;
+            }
+            int distance = Math.max(Math.abs((Moves.start(candidate) & 7) - (Moves.end(candidate) & 7)),
+                    Math.abs((Moves.start(candidate) >>> 3) - (Moves.end(candidate) >>> 3)));
+            if (distance > length) {
+                longest = candidate;
+                length = distance;
+            }
+        }
+        if (longest == Moves.NONE) {
+            throw new IllegalStateException("No piece move in " + fen);
+        }
+        return longest;
+    }
+
+    @Benchmark
+    public Move normalMovePerform() {
+        return NormalMove.perform(start, end, board);
+    }
+
+    @Benchmark
+    public boolean playerInCheck() {
+        return player.inCheck();
+    }
+
+    @Benchmark
+    public boolean playerIsCheckmate() {
+        return player.isCheckmate();
+    }
+
+    @Benchmark
+    public Board simpleGameMove() throws InvalidMoveException {
+        game.move(uciMove);
+        Board result = game.getBoardPosition();
+        game.revert();
+        return result;
+    }
+
+    @Benchmark
+    public Set<Tile> simpleGameReachableTiles() {
+        return game.reachableTiles(start);
+    }
+
+    @Benchmark
+    public Set<Tile> tilePath() {
+        return Tile.path(start, end);
+    }
+
+    @Benchmark
+    public Board boardsCopy() {
+        return Boards.copy(board);
+    }
+
+    @Benchmark
+    public Move simpleHistoryAdd() {
+        history.add(move);
+        return history.revert();
+    }
+}
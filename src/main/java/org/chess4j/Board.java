@@ -1,15 +1,112 @@
 package org.chess4j;
 
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import org.chess4j.bitboard.BitboardView;
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.bitboard.Zobrist;
+
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Predicate;
 
 /**
- * A board maps tiles to pieces
+ * A board maps tiles to pieces. Besides the placement of the pieces a board
+ * knows the side to move, the castling rights and a possible en passant target
+ * of its position. A plain map of pieces describes the start of a game: white
+ * is to move, the castling rights are derived from the placement via
+ * {@link CastlingRights#of(Board)}, no en passant capture is possible and the
+ * game starts with the first move. Boards that are the result of a move or
+ * that are read from FEN carry the updated state.
  */
 public interface Board extends Map<Tile, Piece> {
 
+    /**
+     * Returns the color of the player that has to move next.
+     *
+     * @return the side to move.
+     */
+    default Color sideToMove() {
+        return Color.WHITE;
+    }
+
+    /**
+     * Returns the castling rights of this position as specified by
+     * {@link CastlingRights}.
+     *
+     * @return the castling rights as a 4-bit mask.
+     */
+    default int castlingRights() {
+        return CastlingRights.of(this);
+    }
+
+    /**
+     * Returns the tile a pawn of the side to move may capture en passant or
+     * {@code null} if there is none. The tile is only given if an enemy pawn
+     * has leaped in the last move and a pawn stands next to it.
+     *
+     * @return the en passant target or {@code null}.
+     */
+    default Tile enPassant() {
+        return null;
+    }
+
+    /**
+     * Returns the 64-bit Zobrist key of this position, which covers the
+     * placement of the pieces, the side to move, the castling rights and the
+     * en passant column. Equal positions have equal keys, so the key can be
+     * used instead of {@link #equals(Object)} for caches and indexes.
+     *
+     * @return the Zobrist key of this position.
+     */
+    default long key() {
+        return Zobrist.key(this);
+    }
+
+    /**
+     * Returns the number of half moves since the last capture or pawn move,
+     * which is used for the fifty move rule.
+     *
+     * @return the halfmove clock.
+     */
+    default int halfmoveClock() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of the full move, which starts at one and is
+     * incremented after every move of black.
+     *
+     * @return the fullmove number.
+     */
+    default int fullmoveNumber() {
+        return 1;
+    }
+
+    /**
+     * Returns the tile of the king of the given color or {@code null} if
+     * there is none. Implementations should track the kings, so that the king
+     * is found without a search and without allocating. The default scans the
+     * tiles.
+     *
+     * @param color the color of the king.
+     * @return the tile of the king or {@code null}.
+     */
+    default Tile king(Color color) {
+        for (int i = 0; i < 64; i++) {
+            Tile tile = Bitboards.tile(i);
+            Piece piece = get(tile);
+            if (Piece.isKing(piece) && piece.color() == color) {
+                return tile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the bitboards of this board or {@code null} if the board is not
+     * backed by bitboards. Views of a board return the bitboards of the viewed
+     * board, unless they change its placement.
+     *
+     * @return the bitboards or {@code null}.
+     */
+    default BitboardView bitboards() {
+        return null;
+    }
 }
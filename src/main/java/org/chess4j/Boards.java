@@ -1,5 +1,8 @@
 package org.chess4j;
 
+import org.chess4j.bitboard.BitboardBoard;
+import org.chess4j.bitboard.BitboardView;
+import org.chess4j.bitboard.Zobrist;
 import org.chess4j.pieces.Bishop;
 import org.chess4j.pieces.King;
 import org.chess4j.pieces.Knight;
@@ -10,9 +13,14 @@ import org.chess4j.simple.EnumMapBoard;
 
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Utilities class for boards.
@@ -49,17 +57,99 @@ public class Boards {
      * @return an unmodifiable view.
      */
     public static Board unmodifiable(Board board) {
-        return new FilteredBoard(board, p -> true);
+        return new UnmodifiableBoard(board);
     }
 
     /**
-     * Returns an unmodifiable copy of the given board.
+     * Returns an unmodifiable view of the given board that reports the given
+     * state instead of the state of the board. The Zobrist key is computed
+     * once from scratch.
+     *
+     * @param board          the given board.
+     * @param sideToMove     the side to move.
+     * @param castlingRights the castling rights.
+     * @param enPassant      the en passant target or {@code null}.
+     * @return an unmodifiable view with the given state.
+     */
+    public static Board withState(Board board, Color sideToMove, int castlingRights, Tile enPassant) {
+        return withState(board, sideToMove, castlingRights, enPassant,
+                Zobrist.key(board, sideToMove, castlingRights, enPassant));
+    }
+
+    /**
+     * Returns an unmodifiable view of the given board that reports the given
+     * state and key. This method is used by moves, which update the key of the
+     * initial position incrementally. The given key must be the key of the
+     * board with the given state as computed by
+     * {@link Zobrist#key(java.util.Map, Color, int, Tile)}.
+     *
+     * @param board          the given board.
+     * @param sideToMove     the side to move.
+     * @param castlingRights the castling rights.
+     * @param enPassant      the en passant target or {@code null}.
+     * @param key            the Zobrist key of the position.
+     * @return an unmodifiable view with the given state.
+     */
+    public static Board withState(Board board, Color sideToMove, int castlingRights, Tile enPassant, long key) {
+        return new StateBoard(board, sideToMove, castlingRights, enPassant, key, 0, 1);
+    }
+
+    /**
+     * Returns an unmodifiable view of the given board that reports the given
+     * state, key and move counters.
+     *
+     * @param board          the given board.
+     * @param sideToMove     the side to move.
+     * @param castlingRights the castling rights.
+     * @param enPassant      the en passant target or {@code null}.
+     * @param key            the Zobrist key of the position.
+     * @param halfmoveClock  the half moves since the last capture or pawn move.
+     * @param fullmoveNumber the number of the full move.
+     * @return an unmodifiable view with the given state.
+     */
+    public static Board withState(Board board, Color sideToMove, int castlingRights, Tile enPassant, long key,
+                                  int halfmoveClock, int fullmoveNumber) {
+        return new StateBoard(board, sideToMove, castlingRights, enPassant, key, halfmoveClock, fullmoveNumber);
+    }
+
+    /**
+     * Returns an unmodifiable copy of the given board. The copy keeps the
+     * state, the key and the move counters of the given board and is backed
+     * by bitboards if the given board is.
      *
      * @param board the given board.
      * @return an unmodifiable copy of the given board.
      */
     public static Board copy(Board board) {
-        return unmodifiable(new EnumMapBoard(board));
+        return copy(board, Boards::modifiableCopy);
+    }
+
+    /**
+     * Returns a modifiable copy of the pieces of the given board without its
+     * state. The copy is a {@link BitboardBoard} if the given board is backed
+     * by bitboards and an {@link EnumMapBoard} otherwise, so that moves keep
+     * the representation of their initial position.
+     *
+     * @param board the given board.
+     * @return a modifiable copy of the pieces.
+     */
+    public static Board modifiableCopy(Board board) {
+        return board.bitboards() != null ? new BitboardBoard(board) : new EnumMapBoard(board);
+    }
+
+    /**
+     * Returns an unmodifiable copy of the given board, where the copy is
+     * created by the given factory. The copy keeps the state and the key of
+     * the given board. The factory is typically a copy constructor such as
+     * {@code BitboardBoard::new}.
+     *
+     * @param board   the given board.
+     * @param factory the factory that creates the board representation.
+     * @return an unmodifiable copy of the given board.
+     */
+    public static Board copy(Board board, Function<? super Board, ? extends Board> factory) {
+        return withState(factory.apply(board), board.sideToMove(), board.castlingRights(),
+                board.enPassant(), board.key(), board.halfmoveClock(), board.fullmoveNumber());
     }
 
     /**
@@ -68,7 +158,19 @@ public class Boards {
      * @return a new setup board.
      */
     public static Board newGame() {
-        EnumMapBoard position = new EnumMapBoard();
+        return newGame(EnumMapBoard::new);
+    }
+
+    /**
+     * Returns a new fully setup board in the representation created by the
+     * given factory, e.g. {@code BitboardBoard::new}. The factory must return
+     * an empty and modifiable board.
+     *
+     * @param factory the factory that creates an empty board.
+     * @return a new setup board.
+     */
+    public static Board newGame(Supplier<? extends Board> factory) {
+        Board position = factory.get();
 
         // Put white Pieces on Board
         // First Row
@@ -183,4 +285,187 @@ public class Boards {
         }
 
     }
+
+    /**
+     * A private implementation of an unmodifiable Board that forwards all
+     * queries to the given board, including its state.
+     */
+    private static class UnmodifiableBoard extends AbstractMap<Tile, Piece> implements Board {
+
+        /**
+         * The viewed board.
+         */
+        private final Board board;
+
+        /**
+         * The unmodifiable view of the mappings.
+         */
+        private final Map<Tile, Piece> pieces;
+
+        /**
+         * Private constructor
+         *
+         * @param board the viewed board.
+         */
+        private UnmodifiableBoard(Board board) {
+            this.board = board;
+            this.pieces = Collections.unmodifiableMap(board);
+        }
+
+        @Override
+        public Piece get(Object key) {
+            return pieces.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return pieces.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return pieces.size();
+        }
+
+        @Override
+        public Piece put(Tile key, Piece value) {
+            return pieces.put(key, value);
+        }
+
+        @Override
+        public Piece remove(Object key) {
+            return pieces.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            pieces.clear();
+        }
+
+        @Override
+        public Set<Entry<Tile, Piece>> entrySet() {
+            return pieces.entrySet();
+        }
+
+        @Override
+        public Color sideToMove() {
+            return board.sideToMove();
+        }
+
+        @Override
+        public int castlingRights() {
+            return board.castlingRights();
+        }
+
+        @Override
+        public Tile enPassant() {
+            return board.enPassant();
+        }
+
+        @Override
+        public long key() {
+            return board.key();
+        }
+
+        @Override
+        public int halfmoveClock() {
+            return board.halfmoveClock();
+        }
+
+        @Override
+        public int fullmoveNumber() {
+            return board.fullmoveNumber();
+        }
+
+        @Override
+        public Tile king(Color color) {
+            return board.king(color);
+        }
+
+        @Override
+        public BitboardView bitboards() {
+            return board.bitboards();
+        }
+    }
+
+    /**
+     * A private implementation of an unmodifiable Board that reports a fixed
+     * state and key instead of the state of the viewed board.
+     */
+    private static final class StateBoard extends UnmodifiableBoard {
+
+        /**
+         * The side to move.
+         */
+        private final Color sideToMove;
+
+        /**
+         * The castling rights.
+         */
+        private final int castlingRights;
+
+        /**
+         * The en passant target or {@code null}.
+         */
+        private final Tile enPassant;
+
+        /**
+         * The Zobrist key.
+         */
+        private final long key;
+
+        /**
+         * The half moves since the last capture or pawn move.
+         */
+        private final int halfmoveClock;
+
+        /**
+         * The number of the full move.
+         */
+        private final int fullmoveNumber;
+
+        /**
+         * Private constructor
+         */
+        private StateBoard(Board board, Color sideToMove, int castlingRights, Tile enPassant, long key,
+                           int halfmoveClock, int fullmoveNumber) {
+            super(board);
+            this.sideToMove = Objects.requireNonNull(sideToMove);
+            this.castlingRights = castlingRights;
+            this.enPassant = enPassant;
+            this.key = key;
+            this.halfmoveClock = halfmoveClock;
+            this.fullmoveNumber = fullmoveNumber;
+        }
+
+        @Override
+        public Color sideToMove() {
+            return sideToMove;
+        }
+
+        @Override
+        public int castlingRights() {
+            return castlingRights;
+        }
+
+        @Override
+        public Tile enPassant() {
+            return enPassant;
+        }
+
+        @Override
+        public long key() {
+            return key;
+        }
+
+        @Override
+        public int halfmoveClock() {
+            return halfmoveClock;
+        }
+
+        @Override
+        public int fullmoveNumber() {
+            return fullmoveNumber;
+        }
+    }
 }
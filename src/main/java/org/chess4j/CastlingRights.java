@@ -0,0 +1,141 @@
+package org.chess4j;
+
+/**
+ * Utilities class for castling rights. The castling rights of a position are
+ * a 4-bit mask with one bit for each corner of the board in which a rochade
+ * may still be performed. A right is lost as soon as the king or the rook of
+ * the corner is moved or the rook is captured. Note that the bits are named
+ * after the corner and not after the color of the involved pieces.
+ */
+public final class CastlingRights {
+
+    /**
+     * No rochade is possible.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Rochade with the king on {@link Tile#e1} and the rook on {@link Tile#h1}.
+     */
+    public static final int WHITE_KING_SIDE = 1;
+
+    /**
+     * Rochade with the king on {@link Tile#e1} and the rook on {@link Tile#a1}.
+     */
+    public static final int WHITE_QUEEN_SIDE = 2;
+
+    /**
+     * Rochade with the king on {@link Tile#e8} and the rook on {@link Tile#h8}.
+     */
+    public static final int BLACK_KING_SIDE = 4;
+
+    /**
+     * Rochade with the king on {@link Tile#e8} and the rook on {@link Tile#a8}.
+     */
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    /**
+     * All rochades are possible.
+     */
+    public static final int ALL = 15;
+
+    /*
+     * Ordinals of the start and end tiles of the kings.
+     */
+    private static final int E1 = Tile.e1.ordinal();
+    private static final int G1 = Tile.g1.ordinal();
+    private static final int C1 = Tile.c1.ordinal();
+    private static final int E8 = Tile.e8.ordinal();
+    private static final int G8 = Tile.g8.ordinal();
+    private static final int C8 = Tile.c8.ordinal();
+
+    /*
+     * For every tile the rights that remain if a piece moves from or to the
+     * tile, indexed by the ordinal of the tile.
+     */
+    private static final int[] REMAINING = new int[64];
+
+    static {
+        for (Tile tile : Tile.values()) {
+            REMAINING[tile.ordinal()] = ALL;
+        }
+        REMAINING[Tile.e1.ordinal()] = ALL & ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        REMAINING[Tile.h1.ordinal()] = ALL & ~WHITE_KING_SIDE;
+        REMAINING[Tile.a1.ordinal()] = ALL & ~WHITE_QUEEN_SIDE;
+        REMAINING[Tile.e8.ordinal()] = ALL & ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        REMAINING[Tile.h8.ordinal()] = ALL & ~BLACK_KING_SIDE;
+        REMAINING[Tile.a8.ordinal()] = ALL & ~BLACK_QUEEN_SIDE;
+    }
+
+    // Utility class
+    private CastlingRights() {
+    }
+
+    /**
+     * Returns the castling rights of a board on which no piece has been moved
+     * yet. A right is granted if a king stands on its start tile and a rook
+     * of the same color in the corresponding corner.
+     *
+     * @param board the given board.
+     * @return the castling rights derived from the placement of the pieces.
+     */
+    public static int of(Board board) {
+        return right(board, Tile.e1, Tile.h1, WHITE_KING_SIDE)
+                | right(board, Tile.e1, Tile.a1, WHITE_QUEEN_SIDE)
+                | right(board, Tile.e8, Tile.h8, BLACK_KING_SIDE)
+                | right(board, Tile.e8, Tile.a8, BLACK_QUEEN_SIDE);
+    }
+
+    /**
+     * Returns the castling rights that remain after a piece has been moved
+     * from start to end.
+     *
+     * @param rights the castling rights before the move.
+     * @param start  the start tile of the move.
+     * @param end    the end tile of the move.
+     * @return the remaining castling rights.
+     */
+    public static int remaining(int rights, Tile start, Tile end) {
+        return remaining(rights, start.ordinal(), end.ordinal());
+    }
+
+    /**
+     * Returns the castling rights that remain after a piece has been moved
+     * from the tile with the ordinal start to the tile with the ordinal end.
+     *
+     * @param rights the castling rights before the move.
+     * @param start  the ordinal of the start tile.
+     * @param end    the ordinal of the end tile.
+     * @return the remaining castling rights.
+     */
+    public static int remaining(int rights, int start, int end) {
+        return rights & REMAINING[start] & REMAINING[end];
+    }
+
+    /**
+     * Returns the right that a rochade of the king from start to end
+     * requires or {@link #NONE} if the tiles do not describe a rochade.
+     *
+     * @param start the ordinal of the start tile of the king.
+     * @param end   the ordinal of the end tile of the king.
+     * @return the required right or {@link #NONE}.
+     */
+    public static int rochade(int start, int end) {
+        if (start == E1) {
+            return end == G1 ? WHITE_KING_SIDE : end == C1 ? WHITE_QUEEN_SIDE : NONE;
+        }
+        if (start == E8) {
+            return end == G8 ? BLACK_KING_SIDE : end == C8 ? BLACK_QUEEN_SIDE : NONE;
+        }
+        return NONE;
+    }
+
+    /*
+     * Returns the given right if king and rook stand on the given tiles.
+     */
+    private static int right(Board board, Tile kingTile, Tile rookTile, int right) {
+        Piece king = board.get(kingTile);
+        Piece rook = board.get(rookTile);
+        return Piece.isKing(king) && Piece.isRook(rook) && king.color() == rook.color() ? right : NONE;
+    }
+}
@@ -120,6 +120,13 @@ public interface ChessGame {
          */
         DRAW_BY_FIFTY_MOVE_RULE,
 
+        /**
+         * This status indicates, that the game has ended in a draw as neither
+         * player has moved a pawn or captured a piece in the last seventy-five
+         * moves.
+         */
+        DRAW_BY_SEVENTY_FIVE_MOVE_RULE,
+
         /**
          * This status indicates, that  game has ended in a stalemate has one
          * player cannot make a valid move.
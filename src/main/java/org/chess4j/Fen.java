@@ -0,0 +1,352 @@
+package org.chess4j;
+
+import org.chess4j.bitboard.Zobrist;
+import org.chess4j.pieces.Bishop;
+import org.chess4j.pieces.King;
+import org.chess4j.pieces.Knight;
+import org.chess4j.pieces.Pawn;
+import org.chess4j.pieces.Queen;
+import org.chess4j.pieces.Rook;
+import org.chess4j.simple.EnumMapBoard;
+
+import java.util.function.Supplier;
+
+/**
+ * Utilities class that reads and writes the Forsyth-Edwards Notation (FEN). A
+ * FEN record describes a full game state in six fields separated by spaces:
+ * the placement of the pieces from row 8 to row 1, the side to move, the
+ * castling rights, the en passant target, the halfmove clock and the fullmove
+ * number. The last two fields may be omitted when reading, in which case they
+ * default to 0 and 1.
+ * <p>
+ * Records are parsed in a single pass over the characters without regular
+ * expressions or lookups of tiles by name.
+ */
+public final class Fen {
+
+    /**
+     * The FEN record of the start position.
+     */
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /*
+     * The letters of the piece types indexed by the ordinal of the type.
+     */
+    private static final char[] LETTERS = {'p', 'r', 'n', 'b', 'q', 'k'};
+
+    /*
+     * The castling letters in the order of the bits of CastlingRights.
+     */
+    private static final char[] CASTLING_LETTERS = {'K', 'Q', 'k', 'q'};
+
+    // Utility class
+    private Fen() {
+    }
+
+    /**
+     * Parses the given FEN record into an unmodifiable board that carries the
+     * full game state.
+     *
+     * @param fen the FEN record.
+     * @return the board of the record.
+     * @throws IllegalArgumentException if the record is malformed.
+     */
+    public static Board parse(String fen) {
+        return parse(fen, EnumMapBoard::new);
+    }
+
+    /**
+     * Parses the given FEN record into an unmodifiable board that carries the
+     * full game state. The pieces are put on a board created by the given
+     * factory, e.g. {@code BitboardBoard::new}, which must return an empty and
+     * modifiable board.
+     * <p>
+     * Castling rights are only kept if king and rook stand on their start
+     * tiles. The en passant target is only kept if a pawn of the side to move
+     * stands next to the leaped pawn, as it would be after the leap in a game.
+     *
+     * @param fen     the FEN record.
+     * @param factory the factory that creates an empty board.
+     * @return the board of the record.
+     * @throws IllegalArgumentException if the record is malformed.
+     */
+    public static Board parse(String fen, Supplier<? extends Board> factory) {
+        Board board = factory.get();
+        int length = fen.length();
+        int index = 0;
+        int row = 8;
+        int column = 1;
+        for (; index < length && fen.charAt(index) != ' '; index++) {
+            char c = fen.charAt(index);
+            if (c == '/') {
+                if (column != 9 || row == 1) {
+                    throw malformed(fen, "wrong row length");
+                }
+                row--;
+                column = 1;
+            } else if (c >= '1' && c <= '8') {
+                column += c - '0';
+            } else {
+                if (column > 8) {
+                    throw malformed(fen, "too many pieces in row " + row);
+                }
+                board.put(Tile.valueOf(column, row), piece(c, fen));
+                column++;
+            }
+            if (column > 9) {
+                throw malformed(fen, "too many tiles in row " + row);
+            }
+        }
+        if (row != 1 || column != 9) {
+            throw malformed(fen, "incomplete placement");
+        }
+
+        index = skipSpace(fen, index);
+        if (index >= length) {
+            throw malformed(fen, "missing side to move");
+        }
+        Color sideToMove;
+        char side = fen.charAt(index++);
+        if (side == 'w') {
+            sideToMove = Color.WHITE;
+        } else if (side == 'b') {
+            sideToMove = Color.BLACK;
+        } else {
+            throw malformed(fen, "unknown side to move " + side);
+        }
+
+        index = skipSpace(fen, index);
+        if (index >= length) {
+            throw malformed(fen, "missing castling rights");
+        }
+        int castlingRights = CastlingRights.NONE;
+        if (fen.charAt(index) == '-') {
+            index++;
+        } else {
+            for (; index < length && fen.charAt(index) != ' '; index++) {
+                castlingRights |= castlingRight(fen.charAt(index), fen);
+            }
+        }
+        castlingRights &= CastlingRights.of(board);
+
+        index = skipSpace(fen, index);
+        if (index >= length) {
+            throw malformed(fen, "missing en passant target");
+        }
+        Tile enPassant = null;
+        if (fen.charAt(index) == '-') {
+            index++;
+        } else {
+            if (index + 1 >= length) {
+                throw malformed(fen, "incomplete en passant target");
+            }
+            int epColumn = fen.charAt(index) - 'a' + 1;
+            int epRow = fen.charAt(index + 1) - '0';
+            if (epColumn < 1 || epColumn > 8 || epRow != (sideToMove == Color.WHITE ? 6 : 3)) {
+                throw malformed(fen, "invalid en passant target");
+            }
+            index += 2;
+            enPassant = canCaptureEnPassant(board, epColumn, epRow, sideToMove)
+                    ? Tile.valueOf(epColumn, epRow) : null;
+        }
+
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        index = skipSpace(fen, index);
+        if (index < length) {
+            int end = fieldEnd(fen, index);
+            halfmoveClock = number(fen, index, end);
+            index = skipSpace(fen, end);
+            if (index < length) {
+                end = fieldEnd(fen, index);
+                fullmoveNumber = Math.max(1, number(fen, index, end));
+                index = skipSpace(fen, end);
+            }
+        }
+        if (index < length) {
+            throw malformed(fen, "unexpected trailing fields");
+        }
+        return Boards.withState(board, sideToMove, castlingRights, enPassant,
+                Zobrist.key(board, sideToMove, castlingRights, enPassant),
+                halfmoveClock, fullmoveNumber);
+    }
+
+    /**
+     * Returns the FEN record of the given board with its state and move
+     * counters.
+     *
+     * @param board the given board.
+     * @return the FEN record.
+     */
+    public static String toFen(Board board) {
+        return toFen(board, board.halfmoveClock(), board.fullmoveNumber());
+    }
+
+    /**
+     * Returns the FEN record of the current position of the given game. The
+     * move counters are carried by the position, as every move advances them.
+     *
+     * @param game the given game.
+     * @return the FEN record.
+     */
+    public static String toFen(ChessGame game) {
+        return toFen(game.getBoardPosition());
+    }
+
+    /*
+     * Writes the record of the board with the given counters.
+     */
+    private static String toFen(Board board, int halfmoveClock, int fullmoveNumber) {
+        StringBuilder sb = new StringBuilder(90);
+        int empty = 0;
+        for (Tile tile : Tile.values()) {
+            Piece piece = board.get(tile);
+            if (piece == null) {
+                empty++;
+            } else {
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                char letter = LETTERS[piece.type().ordinal()];
+                sb.append(piece.color() == Color.WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (tile.column() == 8) {
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                if (tile.row() > 1) {
+                    sb.append('/');
+                }
+            }
+        }
+        sb.append(' ').append(board.sideToMove() == Color.WHITE ? 'w' : 'b').append(' ');
+        int castlingRights = board.castlingRights();
+        if (castlingRights == CastlingRights.NONE) {
+            sb.append('-');
+        } else {
+            for (int i = 0; i < CASTLING_LETTERS.length; i++) {
+                if ((castlingRights & 1 << i) != 0) {
+                    sb.append(CASTLING_LETTERS[i]);
+                }
+            }
+        }
+        Tile enPassant = board.enPassant();
+        sb.append(' ').append(enPassant == null ? "-" : enPassant.name());
+        sb.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber);
+        return sb.toString();
+    }
+
+    /*
+     * Returns a new piece for the given letter.
+     */
+    private static Piece piece(char c, String fen) {
+        switch (c) {
+            case 'P':
+                return Pawn.white();
+            case 'R':
+                return Rook.white();
+            case 'N':
+                return Knight.white();
+            case 'B':
+                return Bishop.white();
+            case 'Q':
+                return Queen.white();
+            case 'K':
+                return King.white();
+            case 'p':
+                return Pawn.black();
+            case 'r':
+                return Rook.black();
+            case 'n':
+                return Knight.black();
+            case 'b':
+                return Bishop.black();
+            case 'q':
+                return Queen.black();
+            case 'k':
+                return King.black();
+            default:
+                throw malformed(fen, "unknown piece " + c);
+        }
+    }
+
+    /*
+     * Returns the castling right of the given letter.
+     */
+    private static int castlingRight(char c, String fen) {
+        for (int i = 0; i < CASTLING_LETTERS.length; i++) {
+            if (CASTLING_LETTERS[i] == c) {
+                return 1 << i;
+            }
+        }
+        throw malformed(fen, "unknown castling right " + c);
+    }
+
+    /*
+     * Returns true if a pawn of the side to move stands next to the pawn that
+     * has leaped over the given tile.
+     */
+    private static boolean canCaptureEnPassant(Board board, int column, int row, Color sideToMove) {
+        int pawnRow = sideToMove == Color.WHITE ? row - 1 : row + 1;
+        Piece leaped = board.get(Tile.valueOf(column, pawnRow));
+        if (!Piece.isPawn(leaped) || leaped.color() == sideToMove) {
+            return false;
+        }
+        for (int dir = -1; dir <= 1; dir += 2) {
+            int c = column + dir;
+            if (c >= 1 && c <= 8) {
+                Piece neighbour = board.get(Tile.valueOf(c, pawnRow));
+                if (Piece.isPawn(neighbour) && neighbour.color() == sideToMove) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Parses the non negative decimal number between start and end.
+     */
+    private static int number(String fen, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9' || value > 100_000) {
+                throw malformed(fen, "invalid number");
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    /*
+     * Returns the index of the first space at or after the given index or the
+     * length of the record.
+     */
+    private static int fieldEnd(String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) != ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /*
+     * Returns the index of the first character that is not a space at or
+     * after the given index.
+     */
+    private static int skipSpace(String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /*
+     * Creates the exception for a malformed record.
+     */
+    private static IllegalArgumentException malformed(String fen, String reason) {
+        return new IllegalArgumentException(String.format("Malformed FEN \"%s\": %s", fen, reason));
+    }
+}
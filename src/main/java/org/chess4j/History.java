@@ -59,6 +59,18 @@ public interface History {
      */
     boolean hasBeenMoved(Piece piece);
 
+    /**
+     * Returns the castling rights of the current position as specified by
+     * {@link CastlingRights}. The rights are carried by every position and
+     * updated with each move, so the query takes constant time regardless of
+     * the length of the game, opposed to {@link #hasBeenMoved(Piece)}.
+     *
+     * @return the castling rights as a 4-bit mask.
+     */
+    default int castlingRights() {
+        return currentPosition().castlingRights();
+    }
+
     /**
      * Reverts the last move of the game. Returns the reverted Move or null if
      * none is present.
@@ -1,5 +1,7 @@
 package org.chess4j;
 
+import org.chess4j.bitboard.TileGeometry;
+
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.NoSuchElementException;
@@ -66,36 +68,25 @@ public enum Tile {
      *                                exists.
      */
     public static org.chess4j.Tile valueOf(int column, int row) {
-        String tileName = String.valueOf((char) (96 + column)) + row;
-        return org.chess4j.Tile.valueOf(tileName);
+        if (column < 1 || column > 8 || row < 1 || row > 8) {
+            throw new NoSuchElementException("No tile with column " + column + " and row " + row);
+        }
+        return Tiles.TILES[(8 - row) * 8 + column - 1];
     }
 
     /**
      * Returns a set of all coordinates that lie between the start and end
      * position under the condition that both form a straight or diagonal line
      * otherwise an empty set is returned. Start and end coordinates are from
-     * the set excluded.
+     * the set excluded. The returned set is unmodifiable and precomputed, use
+     * {@link TileGeometry#between(int, int)} for a bitboard of the path.
      *
      * @param start the start coordinate.
      * @param end   the end coordinate.
      * @return all the coordinates in between start and end.
      */
     public static Set<org.chess4j.Tile> path(org.chess4j.Tile start, org.chess4j.Tile end) {
-        int deltaColumn = end.column() - start.column();
-        int deltaRow = end.row() - start.row();
-        boolean isLine = Math.abs(deltaColumn) == Math.abs(deltaRow) || deltaColumn == 0 || deltaRow == 0;
-        if (isLine) {
-            int length = Math.max(Math.abs(deltaColumn), Math.abs(deltaRow));
-            int dirColumn = Integer.signum(deltaColumn);
-            int dirRow = Integer.signum(deltaRow);
-            Set<org.chess4j.Tile> path = EnumSet.noneOf(org.chess4j.Tile.class);
-            for (int i = 1; i < length; i++) {
-                path.add(org.chess4j.Tile.valueOf(start.column() + i * dirColumn, start.row() + i * dirRow));
-            }
-            return path;
-        } else {
-            return Collections.emptySet();
-        }
+        return Tiles.PATHS[start.ordinal() * 64 + end.ordinal()];
     }
 
     /**
@@ -125,4 +116,34 @@ public enum Tile {
     public int parity() {
         return row + column % 2;
     }
+
+    /*
+     * Lookup tables of the tiles, which cannot be initialized by the enum
+     * itself before its constants exist.
+     */
+    private static final class Tiles {
+
+        /*
+         * The tiles indexed by the ordinal.
+         */
+        private static final org.chess4j.Tile[] TILES = values();
+
+        /*
+         * The paths between two tiles indexed by start ordinal * 64 + end ordinal.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static final Set<org.chess4j.Tile>[] PATHS = new Set[64 * 64];
+
+        static {
+            for (int start = 0; start < 64; start++) {
+                for (int end = 0; end < 64; end++) {
+                    Set<org.chess4j.Tile> path = EnumSet.noneOf(org.chess4j.Tile.class);
+                    for (long b = TileGeometry.between(start, end); b != 0; b &= b - 1) {
+                        path.add(TILES[Long.numberOfTrailingZeros(b)]);
+                    }
+                    PATHS[start * 64 + end] = path.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(path);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,307 @@
+package org.chess4j.bitboard;
+
+import org.chess4j.Board;
+import org.chess4j.Color;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A Board implementation that is backed by bitboards. For every color and
+ * type of piece one {@code long} holds the occupied tiles, additionally one
+ * bitboard per color and one for all occupied tiles are kept up to date. As
+ * no two pieces are equal the pieces themselves are stored in an array indexed
+ * by the {@link Tile#ordinal()} such that the board behaves exactly like any
+ * other {@link Map} of tiles to pieces.
+ * <p>
+ * The type of a piece is read when the piece is put on the board. A
+ * {@link org.chess4j.pieces.Pawn} that is promoted in place after it has been
+ * put on the board must be put again in order to update the bitboards.
+ */
+public class BitboardBoard extends AbstractMap<Tile, Piece> implements Board, BitboardView {
+
+    /*
+     * Number of piece types.
+     */
+    private static final int TYPES = Piece.Type.values().length;
+
+    /**
+     * The pieces indexed by the ordinal of the tile they are placed on.
+     */
+    private final Piece[] squares = new Piece[64];
+
+    /**
+     * One bitboard for each combination of color and type.
+     */
+    private final long[] pieces = new long[2 * TYPES];
+
+    /**
+     * One bitboard for each color.
+     */
+    private final long[] colors = new long[2];
+
+    /**
+     * All occupied tiles.
+     */
+    private long occupied;
+
+    /**
+     * Number of structural modifications, used to detect concurrent
+     * modifications while iterating.
+     */
+    private int modCount;
+
+    /**
+     * Constructor instantiates an empty board.
+     */
+    public BitboardBoard() {
+    }
+
+    /**
+     * Creates a board with all the mappings as in the given board.
+     *
+     * @param board the board that is used as template.
+     */
+    public BitboardBoard(Map<Tile, Piece> board) {
+        this();
+        putAll(board);
+    }
+
+    /**
+     * Returns the bitboard of all occupied tiles.
+     *
+     * @return the bitboard of all occupied tiles.
+     */
+    @Override
+    public long occupied() {
+        return occupied;
+    }
+
+    /**
+     * Returns the bitboard of all tiles that are occupied by pieces of the
+     * given color.
+     *
+     * @param color the given color.
+     * @return the bitboard of all pieces of the given color.
+     */
+    @Override
+    public long pieces(Color color) {
+        return colors[color.ordinal()];
+    }
+
+    /**
+     * Returns the bitboard of all tiles that are occupied by pieces of the
+     * given type and color.
+     *
+     * @param type  the given type.
+     * @param color the given color.
+     * @return the bitboard of all pieces with the given type and color.
+     */
+    @Override
+    public long pieces(Piece.Type type, Color color) {
+        return pieces[index(type, color)];
+    }
+
+    /**
+     * Returns this board, which is its own bitboards.
+     *
+     * @return this board.
+     */
+    @Override
+    public BitboardView bitboards() {
+        return this;
+    }
+
+    /**
+     * Returns the tile of the king of the given color, which is read from its
+     * bitboard.
+     *
+     * @param color the color of the king.
+     * @return the tile of the king or {@code null}.
+     */
+    @Override
+    public Tile king(Color color) {
+        long king = pieces[index(Piece.Type.KING, color)];
+        return king == 0 ? null : Bitboards.tile(Bitboards.first(king));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return Long.bitCount(occupied);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Tile && squares[((Tile) key).ordinal()] != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Piece get(Object key) {
+        return key instanceof Tile ? squares[((Tile) key).ordinal()] : null;
+    }
+
+    /**
+     * Associates the given piece with the given tile. If there was previously a
+     * piece associated with the tile, then this piece is returned.
+     *
+     * @return the previously associated mapping or {@code null} if none is
+     * present.
+     * @throws NullPointerException if the key or value is {@code null}.
+     */
+    @Override
+    public Piece put(Tile key, Piece value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Piece previous = clearTile(key.ordinal());
+        long bit = 1L << key.ordinal();
+        squares[key.ordinal()] = value;
+        pieces[index(value.type(), value.color())] |= bit;
+        colors[value.color().ordinal()] |= bit;
+        occupied |= bit;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Piece remove(Object key) {
+        if (!(key instanceof Tile)) {
+            return null;
+        }
+        Piece previous = clearTile(((Tile) key).ordinal());
+        if (previous != null) {
+            modCount++;
+        }
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(squares, null);
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(colors, 0L);
+        occupied = 0L;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<Tile, Piece>> entrySet() {
+        return new AbstractSet<Entry<Tile, Piece>>() {
+
+            @Override
+            public Iterator<Entry<Tile, Piece>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return BitboardBoard.this.size();
+            }
+        };
+    }
+
+    /*
+     * Removes the piece on the tile with the given index from all bitboards
+     * and returns it.
+     */
+    private Piece clearTile(int index) {
+        Piece previous = squares[index];
+        if (previous != null) {
+            long mask = ~(1L << index);
+            squares[index] = null;
+            for (int i = 0; i < pieces.length; i++) {
+                pieces[i] &= mask;
+            }
+            colors[previous.color().ordinal()] &= mask;
+            occupied &= mask;
+        }
+        return previous;
+    }
+
+    /*
+     * Index of the bitboard for the given type and color.
+     */
+    private static int index(Piece.Type type, Color color) {
+        return color.ordinal() * TYPES + type.ordinal();
+    }
+
+    /**
+     * Iterates over the occupied tiles in the order of the tile ordinals which
+     * is the same order as in an {@link java.util.EnumMap}.
+     */
+    private class EntryIterator implements Iterator<Entry<Tile, Piece>> {
+
+        /**
+         * The tiles that remain to be returned.
+         */
+        private long remaining = occupied;
+
+        /**
+         * The index of the last returned tile or -1.
+         */
+        private int last = -1;
+
+        /**
+         * The expected modification count.
+         */
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override
+        public Entry<Tile, Piece> next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            last = Bitboards.first(remaining);
+            remaining = Bitboards.withoutFirst(remaining);
+            return new SimpleImmutableEntry<>(Bitboards.tile(last), squares[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            clearTile(last);
+            modCount++;
+            expectedModCount = modCount;
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.chess4j.bitboard;
+
+import org.chess4j.Board;
+import org.chess4j.Color;
+import org.chess4j.Piece;
+
+/**
+ * Read access to the bitboards of a board. A {@link Board} that is backed by
+ * bitboards returns them from {@link Board#bitboards()}, as do the views of
+ * such a board, so that the rules can replace walks over the tiles with a
+ * few bit operations.
+ */
+public interface BitboardView {
+
+    /**
+     * Returns the bitboard of all occupied tiles.
+     *
+     * @return the bitboard of all occupied tiles.
+     */
+    long occupied();
+
+    /**
+     * Returns the bitboard of all tiles that are occupied by pieces of the
+     * given color.
+     *
+     * @param color the given color.
+     * @return the bitboard of all pieces of the given color.
+     */
+    long pieces(Color color);
+
+    /**
+     * Returns the bitboard of all tiles that are occupied by pieces of the
+     * given type and color.
+     *
+     * @param type  the given type.
+     * @param color the given color.
+     * @return the bitboard of all pieces with the given type and color.
+     */
+    long pieces(Piece.Type type, Color color);
+}
@@ -0,0 +1,117 @@
+package org.chess4j.bitboard;
+
+import org.chess4j.Tile;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Utilities class for bitboards. A bitboard is a {@code long} in which every
+ * bit stands for one tile of the board. The bit index of a tile is its
+ * {@link Tile#ordinal()}, so bit 0 is {@link Tile#a8} and bit 63 is
+ * {@link Tile#h1}.
+ */
+public final class Bitboards {
+
+    /**
+     * The empty bitboard.
+     */
+    public static final long EMPTY = 0L;
+
+    /**
+     * All tiles of the A column.
+     */
+    public static final long COLUMN_A = 0x0101010101010101L;
+
+    /**
+     * All tiles of the H column.
+     */
+    public static final long COLUMN_H = COLUMN_A << 7;
+
+    /**
+     * All tiles of the eighth row.
+     */
+    public static final long ROW_8 = 0xFFL;
+
+    /**
+     * All tiles of the first row.
+     */
+    public static final long ROW_1 = ROW_8 << 56;
+
+    /*
+     * Cached values of the tile enum, indexed by the ordinal.
+     */
+    private static final Tile[] TILES = Tile.values();
+
+    // Utility class
+    private Bitboards() {
+    }
+
+    /**
+     * Returns the bitboard that only contains the given tile.
+     *
+     * @param tile the given tile.
+     * @return the bitboard with the single bit of the tile set.
+     */
+    public static long of(Tile tile) {
+        return 1L << tile.ordinal();
+    }
+
+    /**
+     * Returns the tile with the given bit index.
+     *
+     * @param index the bit index between 0 and 63.
+     * @return the tile with the given index.
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range.
+     */
+    public static Tile tile(int index) {
+        return TILES[index];
+    }
+
+    /**
+     * Returns the bit index of the lowest set bit in the given bitboard or 64
+     * if the bitboard is empty.
+     *
+     * @param bitboard the given bitboard.
+     * @return the index of the lowest set bit.
+     */
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /**
+     * Returns the given bitboard without its lowest set bit.
+     *
+     * @param bitboard the given bitboard.
+     * @return the bitboard without its lowest set bit.
+     */
+    public static long withoutFirst(long bitboard) {
+        return bitboard & (bitboard - 1);
+    }
+
+    /**
+     * Returns {@code true} if the given tile is part of the bitboard.
+     *
+     * @param bitboard the given bitboard.
+     * @param tile     the given tile.
+     * @return {@code true} if the bit of the tile is set.
+     */
+    public static boolean contains(long bitboard, Tile tile) {
+        return (bitboard & of(tile)) != 0;
+    }
+
+    /**
+     * Returns all tiles of the bitboard as a set. This method is meant for
+     * debugging and tests and should not be used in hot paths as it allocates.
+     *
+     * @param bitboard the given bitboard.
+     * @return all tiles whose bit is set.
+     */
+    public static Set<Tile> tiles(long bitboard) {
+        Set<Tile> tiles = EnumSet.noneOf(Tile.class);
+        for (long b = bitboard; b != 0; b = withoutFirst(b)) {
+            tiles.add(tile(first(b)));
+        }
+        return tiles;
+    }
+}
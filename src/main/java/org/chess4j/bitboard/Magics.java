@@ -0,0 +1,200 @@
+package org.chess4j.bitboard;
+
+/**
+ * Magic bitboard attack tables for rooks, bishops and queens. For every tile
+ * the relevant occupancy of a slider, which are the tiles of its rays without
+ * the edge of the board, is multiplied by a magic number. The upper bits of
+ * the product index a table that holds the attacked tiles for that
+ * occupancy, so that the attacks of a slider are a single table read.
+ * <p>
+ * The magic numbers are searched when the class is initialized with a fixed
+ * seed, so the tables are identical on every start. Every table entry is
+ * derived from {@link TileGeometry#rayAttacks(int, int, long)} during the
+ * search and {@link #selfCheck()} compares the tables against it again.
+ */
+public final class Magics {
+
+    /*
+     * The even directions are straight and the odd ones diagonal.
+     */
+    private static final int[] ROOK_DIRECTIONS =
+            {TileGeometry.NORTH, TileGeometry.EAST, TileGeometry.SOUTH, TileGeometry.WEST};
+    private static final int[] BISHOP_DIRECTIONS =
+            {TileGeometry.NORTH_EAST, TileGeometry.SOUTH_EAST, TileGeometry.SOUTH_WEST, TileGeometry.NORTH_WEST};
+
+    /*
+     * The seed of the magic number search.
+     */
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] ROOK_MAGICS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final long[][] ROOK_ATTACKS = new long[64][];
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] BISHOP_MAGICS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+    static {
+        long[] seed = {SEED};
+        for (int square = 0; square < 64; square++) {
+            init(square, ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_ATTACKS, seed);
+            init(square, BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_ATTACKS, seed);
+        }
+    }
+
+    // Utility class
+    private Magics() {
+    }
+
+    /**
+     * Returns the tiles a rook on the given tile attacks. The attacks end with
+     * the first occupied tile in every direction, which is attacked as well.
+     *
+     * @param square   the ordinal of the tile.
+     * @param occupied the occupied tiles.
+     * @return the attacked tiles.
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_ATTACKS[square][(int) ((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square] >>> ROOK_SHIFTS[square])];
+    }
+
+    /**
+     * Returns the tiles a bishop on the given tile attacks. The attacks end
+     * with the first occupied tile in every direction, which is attacked as
+     * well.
+     *
+     * @param square   the ordinal of the tile.
+     * @param occupied the occupied tiles.
+     * @return the attacked tiles.
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_ATTACKS[square][(int) ((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square] >>> BISHOP_SHIFTS[square])];
+    }
+
+    /**
+     * Returns the tiles a queen on the given tile attacks, which are the
+     * attacks of a rook and a bishop combined.
+     *
+     * @param square   the ordinal of the tile.
+     * @param occupied the occupied tiles.
+     * @return the attacked tiles.
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Compares every entry of the tables against the attacks computed by
+     * walking the rays. The check enumerates all relevant occupancies of every
+     * tile and is meant for tests and diagnostics.
+     *
+     * @return {@code true} if all table entries are correct.
+     */
+    public static boolean selfCheck() {
+        for (int square = 0; square < 64; square++) {
+            for (long occupied = 0; ; ) {
+                if (rookAttacks(square, occupied) != slowAttacks(square, occupied, ROOK_DIRECTIONS)) {
+                    return false;
+                }
+                occupied = (occupied - ROOK_MASKS[square]) & ROOK_MASKS[square];
+                if (occupied == 0) {
+                    break;
+                }
+            }
+            for (long occupied = 0; ; ) {
+                if (bishopAttacks(square, occupied) != slowAttacks(square, occupied, BISHOP_DIRECTIONS)) {
+                    return false;
+                }
+                occupied = (occupied - BISHOP_MASKS[square]) & BISHOP_MASKS[square];
+                if (occupied == 0) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Searches the magic number of the given tile and fills its table.
+     */
+    private static void init(int square, int[] directions, long[] masks, long[] magics, int[] shifts,
+                             long[][] attacks, long[] seed) {
+        long mask = 0;
+        for (int direction : directions) {
+            long ray = TileGeometry.ray(direction, square);
+            // The last tile of a ray never blocks anything behind it.
+            mask |= ray & ~lastTile(direction, ray);
+        }
+        int bits = Long.bitCount(mask);
+        int size = 1 << bits;
+        long[] occupancies = new long[size];
+        long[] reference = new long[size];
+        long occupied = 0;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = occupied;
+            reference[i] = slowAttacks(square, occupied, directions);
+            occupied = (occupied - mask) & mask;
+        }
+        long[] table = new long[size];
+        int[] used = new int[size];
+        for (int attempt = 1; ; attempt++) {
+            long magic = next(seed) & next(seed) & next(seed);
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                int index = (int) (occupancies[i] * magic >>> (64 - bits));
+                if (used[index] != attempt) {
+                    used[index] = attempt;
+                    table[index] = reference[i];
+                } else if (table[index] != reference[i]) {
+                    collision = true;
+                }
+            }
+            if (!collision) {
+                masks[square] = mask;
+                magics[square] = magic;
+                shifts[square] = 64 - bits;
+                attacks[square] = table;
+                return;
+            }
+        }
+    }
+
+    /*
+     * Returns the last tile of a non empty ray, which is the tile at the edge
+     * of the board.
+     */
+    private static long lastTile(int direction, long ray) {
+        if (ray == 0) {
+            return 0;
+        }
+        boolean ascending = direction >= TileGeometry.EAST && direction <= TileGeometry.SOUTH_WEST;
+        return ascending ? Long.highestOneBit(ray) : Long.lowestOneBit(ray);
+    }
+
+    /*
+     * Computes the attacks by walking the rays of the given directions.
+     */
+    private static long slowAttacks(int square, long occupied, int[] directions) {
+        long attacks = 0;
+        for (int direction : directions) {
+            attacks |= TileGeometry.rayAttacks(direction, square, occupied);
+        }
+        return attacks;
+    }
+
+    /*
+     * SplitMix64 step on the given one element state.
+     */
+    private static long next(long[] seed) {
+        long z = seed[0] += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
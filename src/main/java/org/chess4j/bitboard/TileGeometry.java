@@ -0,0 +1,213 @@
+package org.chess4j.bitboard;
+
+import org.chess4j.Color;
+import org.chess4j.Tile;
+
+/**
+ * Precomputed geometry of the board as bitboards. All tables are keyed by
+ * {@link Tile#ordinal()} and built once when the class is initialized, so
+ * that looking up attacks, lines and paths never allocates.
+ * <p>
+ * The eight directions of the rays are numbered clockwise starting with
+ * {@link #NORTH}, which points towards row 8.
+ */
+public final class TileGeometry {
+
+    /**
+     * The direction towards row 8.
+     */
+    public static final int NORTH = 0;
+
+    /**
+     * The direction towards row 8 and column h.
+     */
+    public static final int NORTH_EAST = 1;
+
+    /**
+     * The direction towards column h.
+     */
+    public static final int EAST = 2;
+
+    /**
+     * The direction towards row 1 and column h.
+     */
+    public static final int SOUTH_EAST = 3;
+
+    /**
+     * The direction towards row 1.
+     */
+    public static final int SOUTH = 4;
+
+    /**
+     * The direction towards row 1 and column a.
+     */
+    public static final int SOUTH_WEST = 5;
+
+    /**
+     * The direction towards column a.
+     */
+    public static final int WEST = 6;
+
+    /**
+     * The direction towards row 8 and column a.
+     */
+    public static final int NORTH_WEST = 7;
+
+    /*
+     * Column and row steps of the directions, where a positive row step moves
+     * up the board towards row 8.
+     */
+    private static final int[] COLUMN_STEPS = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] ROW_STEPS = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    /*
+     * Column and row steps of the knight.
+     */
+    private static final int[][] KNIGHT_STEPS =
+            {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] RAYS = new long[8][64];
+    private static final long[] BETWEEN = new long[64 * 64];
+    private static final long[] LINE = new long[64 * 64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int column = square & 7;
+            int row = 7 - (square >>> 3);
+            for (int[] step : KNIGHT_STEPS) {
+                KNIGHT_ATTACKS[square] |= bit(column + step[0], row + step[1]);
+            }
+            for (int direction = 0; direction < 8; direction++) {
+                KING_ATTACKS[square] |= bit(column + COLUMN_STEPS[direction], row + ROW_STEPS[direction]);
+                int c = column + COLUMN_STEPS[direction];
+                int r = row + ROW_STEPS[direction];
+                while (bit(c, r) != 0) {
+                    RAYS[direction][square] |= bit(c, r);
+                    c += COLUMN_STEPS[direction];
+                    r += ROW_STEPS[direction];
+                }
+            }
+            PAWN_ATTACKS[Color.WHITE.ordinal()][square] = bit(column - 1, row + 1) | bit(column + 1, row + 1);
+            PAWN_ATTACKS[Color.BLACK.ordinal()][square] = bit(column - 1, row - 1) | bit(column + 1, row - 1);
+        }
+        for (int start = 0; start < 64; start++) {
+            for (int direction = 0; direction < 8; direction++) {
+                long ray = RAYS[direction][start];
+                long line = ray | RAYS[(direction + 4) & 7][start] | 1L << start;
+                for (long targets = ray; targets != 0; targets &= targets - 1) {
+                    int end = Long.numberOfTrailingZeros(targets);
+                    BETWEEN[start * 64 + end] = ray & ~RAYS[direction][end] & ~(1L << end);
+                    LINE[start * 64 + end] = line;
+                }
+            }
+        }
+    }
+
+    // Utility class
+    private TileGeometry() {
+    }
+
+    /**
+     * Returns the tiles a knight on the given tile attacks.
+     *
+     * @param square the ordinal of the tile.
+     * @return the attacked tiles.
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Returns the tiles a king on the given tile attacks.
+     *
+     * @param square the ordinal of the tile.
+     * @return the attacked tiles.
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Returns the tiles a pawn of the given color on the given tile attacks.
+     *
+     * @param color  the color of the pawn.
+     * @param square the ordinal of the tile.
+     * @return the attacked tiles.
+     */
+    public static long pawnAttacks(Color color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * Returns the tiles from the given tile to the edge of the board in the
+     * given direction, excluding the tile itself.
+     *
+     * @param direction the direction between {@link #NORTH} and
+     *                  {@link #NORTH_WEST}.
+     * @param square    the ordinal of the tile.
+     * @return the tiles of the ray.
+     */
+    public static long ray(int direction, int square) {
+        return RAYS[direction][square];
+    }
+
+    /**
+     * Returns the tiles a sliding piece on the given tile attacks in the given
+     * direction. The ray ends with the first occupied tile, which is attacked
+     * as well.
+     *
+     * @param direction the direction between {@link #NORTH} and
+     *                  {@link #NORTH_WEST}.
+     * @param square    the ordinal of the tile.
+     * @param occupied  the occupied tiles.
+     * @return the attacked tiles in the direction.
+     */
+    public static long rayAttacks(int direction, int square, long occupied) {
+        long ray = RAYS[direction][square];
+        long blockers = ray & occupied;
+        if (blockers == 0) {
+            return ray;
+        }
+        // The rays from east to south west run towards higher ordinals.
+        int blocker = direction >= EAST && direction <= SOUTH_WEST
+                ? Long.numberOfTrailingZeros(blockers)
+                : 63 - Long.numberOfLeadingZeros(blockers);
+        return ray & ~RAYS[direction][blocker];
+    }
+
+    /**
+     * Returns the tiles strictly between start and end if both lie on a common
+     * straight or diagonal line and the empty bitboard otherwise.
+     *
+     * @param start the ordinal of the start tile.
+     * @param end   the ordinal of the end tile.
+     * @return the tiles between start and end.
+     */
+    public static long between(int start, int end) {
+        return BETWEEN[start * 64 + end];
+    }
+
+    /**
+     * Returns all tiles of the straight or diagonal line through start and end
+     * from edge to edge, or the empty bitboard if both do not lie on a common
+     * line.
+     *
+     * @param start the ordinal of the start tile.
+     * @param end   the ordinal of the end tile.
+     * @return the tiles of the line through start and end.
+     */
+    public static long line(int start, int end) {
+        return LINE[start * 64 + end];
+    }
+
+    /*
+     * Returns the bitboard of the given zero based column and row or the empty
+     * bitboard if they lie outside the board.
+     */
+    private static long bit(int column, int row) {
+        return column >= 0 && column < 8 && row >= 0 && row < 8 ? 1L << ((7 - row) * 8 + column) : 0L;
+    }
+}
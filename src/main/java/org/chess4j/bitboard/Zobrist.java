@@ -0,0 +1,206 @@
+package org.chess4j.bitboard;
+
+import org.chess4j.Board;
+import org.chess4j.Color;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+
+import java.util.Map;
+
+/**
+ * Zobrist hashing of chess positions. The key of a position is the XOR of one
+ * random number for every piece on its tile, one for the side to move if black
+ * has to move, one for the castling rights and one for the column of a
+ * possible en passant capture. As XOR is its own inverse a move updates the
+ * key incrementally by XORing the numbers of everything that has changed.
+ * <p>
+ * The random numbers are generated from a fixed seed, so keys are stable
+ * across runs and can be stored.
+ */
+public final class Zobrist {
+
+    /*
+     * Number of piece types.
+     */
+    private static final int TYPES = Piece.Type.values().length;
+
+    /*
+     * One key for every piece on every tile, indexed by piece index and tile
+     * ordinal.
+     */
+    private static final long[][] PIECES = new long[2 * TYPES][64];
+
+    /*
+     * One key for each combination of castling rights.
+     */
+    private static final long[] CASTLING = new long[16];
+
+    /*
+     * One key for every column of an en passant target, indexed by column - 1.
+     */
+    private static final long[] EN_PASSANT = new long[8];
+
+    /*
+     * The key for black to move.
+     */
+    private static final long BLACK_TO_MOVE;
+
+    /*
+     * The state of the random number generator.
+     */
+    private static long seed = 0x2545F4914F6CDD1DL;
+
+    static {
+        for (long[] piece : PIECES) {
+            for (int i = 0; i < piece.length; i++) {
+                piece[i] = next();
+            }
+        }
+        // The key of a combination is the XOR of its single rights, such that
+        // removing a right always flips the same bits.
+        long[] rights = {next(), next(), next(), next()};
+        for (int i = 0; i < CASTLING.length; i++) {
+            for (int bit = 0; bit < rights.length; bit++) {
+                if ((i & (1 << bit)) != 0) {
+                    CASTLING[i] ^= rights[bit];
+                }
+            }
+        }
+        for (int i = 0; i < EN_PASSANT.length; i++) {
+            EN_PASSANT[i] = next();
+        }
+        BLACK_TO_MOVE = next();
+    }
+
+    // Utility class
+    private Zobrist() {
+    }
+
+    /**
+     * Computes the key of the given board from scratch.
+     *
+     * @param board the given board.
+     * @return the Zobrist key of the board.
+     */
+    public static long key(Board board) {
+        return key(board, board.sideToMove(), board.castlingRights(), board.enPassant());
+    }
+
+    /**
+     * Computes the key of the given placement of pieces with the given state
+     * from scratch.
+     *
+     * @param pieces     the placement of the pieces.
+     * @param sideToMove the side to move.
+     * @param rights     the castling rights.
+     * @param enPassant  the en passant target or {@code null}.
+     * @return the Zobrist key of the position.
+     */
+    public static long key(Map<Tile, Piece> pieces, Color sideToMove, int rights, Tile enPassant) {
+        long key = state(sideToMove, rights, enPassant);
+        for (Map.Entry<Tile, Piece> entry : pieces.entrySet()) {
+            key ^= piece(entry.getValue(), entry.getKey());
+        }
+        return key;
+    }
+
+    /**
+     * Returns the key of the given piece on the given tile.
+     *
+     * @param piece the given piece.
+     * @param tile  the tile the piece is placed on.
+     * @return the key of the piece on the tile.
+     */
+    public static long piece(Piece piece, Tile tile) {
+        return piece(piece.color().ordinal() * TYPES + piece.type().ordinal(), tile.ordinal());
+    }
+
+    /**
+     * Returns the key of the piece with the given index on the tile with the
+     * given ordinal. The index of a piece is {@code color.ordinal() * 6 +
+     * type.ordinal()}.
+     *
+     * @param piece the index of the piece.
+     * @param tile  the ordinal of the tile.
+     * @return the key of the piece on the tile.
+     */
+    public static long piece(int piece, int tile) {
+        return PIECES[piece][tile];
+    }
+
+    /**
+     * Returns the key of the given side to move.
+     *
+     * @param color the side to move.
+     * @return the key of the side to move.
+     */
+    public static long side(Color color) {
+        return color == Color.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+
+    /**
+     * Returns the key of the given castling rights.
+     *
+     * @param rights the castling rights as specified by
+     *               {@link org.chess4j.CastlingRights}.
+     * @return the key of the castling rights.
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * Returns the key of the given en passant target or zero if there is none.
+     *
+     * @param enPassant the en passant target or {@code null}.
+     * @return the key of the en passant column.
+     */
+    public static long enPassant(Tile enPassant) {
+        return enPassant == null ? 0L : EN_PASSANT[enPassant.column() - 1];
+    }
+
+    /**
+     * Returns the key of the en passant target with the given ordinal or zero
+     * if the ordinal is negative.
+     *
+     * @param enPassant the ordinal of the en passant target or -1.
+     * @return the key of the en passant column.
+     */
+    public static long enPassant(int enPassant) {
+        return enPassant < 0 ? 0L : EN_PASSANT[enPassant & 7];
+    }
+
+    /**
+     * Returns the part of the key that does not depend on the placement of
+     * the pieces.
+     *
+     * @param sideToMove the side to move.
+     * @param rights     the castling rights.
+     * @param enPassant  the en passant target or {@code null}.
+     * @return the key of the given state.
+     */
+    public static long state(Color sideToMove, int rights, Tile enPassant) {
+        return side(sideToMove) ^ castling(rights) ^ enPassant(enPassant);
+    }
+
+    /**
+     * Returns the part of the key of the given board that does not depend on
+     * the placement of the pieces.
+     *
+     * @param board the given board.
+     * @return the key of the state of the board.
+     */
+    public static long state(Board board) {
+        return state(board.sideToMove(), board.castlingRights(), board.enPassant());
+    }
+
+    /*
+     * SplitMix64 generator.
+     */
+    private static long next() {
+        long z = (seed += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
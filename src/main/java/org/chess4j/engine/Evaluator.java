@@ -0,0 +1,20 @@
+package org.chess4j.engine;
+
+import org.chess4j.position.Position;
+
+/**
+ * Evaluates positions for the {@link Searcher}. Scores are given in
+ * centipawns from the view of the side to move, so a positive score is good
+ * for the player who is about to move.
+ */
+public interface Evaluator {
+
+    /**
+     * Returns the static score of the given position from the view of the
+     * side to move. The position is unchanged after the call.
+     *
+     * @param position the given position.
+     * @return the score in centipawns.
+     */
+    int evaluate(Position position);
+}
@@ -0,0 +1,207 @@
+package org.chess4j.engine;
+
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+import java.util.Arrays;
+
+/**
+ * The statistics a {@link Searcher} gathers about quiet moves that caused a
+ * beta cutoff, which order the quiet moves of later nodes:
+ * <ul>
+ * <li>two killer moves per ply, which refuted a sibling node,</li>
+ * <li>the butterfly history indexed by color, start and end tile,</li>
+ * <li>the countermove of every move, indexed by the moved piece and its end
+ * tile, and</li>
+ * <li>the continuation history, which scores a move by the move one and two
+ * plies before it, both indexed by piece and end tile.</li>
+ * </ul>
+ * All statistics are kept in flat primitive arrays, so updating and reading
+ * them does not allocate. A move that cuts off gains a bonus and the quiet
+ * moves searched before it lose as much. Every update moves a score towards
+ * {@link #MAX_HISTORY} or its negative by a fraction of the remaining
+ * distance, so scores stay bounded and recent results weigh more. The scores
+ * are halved between searches.
+ */
+public final class HistoryTables {
+
+    /**
+     * The bound of the absolute value of all history scores.
+     */
+    public static final int MAX_HISTORY = 16384;
+
+    /**
+     * The index of a missing move in the continuation history.
+     */
+    public static final int NO_MOVE = -1;
+
+    /*
+     * The number of piece and tile pairs.
+     */
+    private static final int PIECE_SQUARES = 12 * 64;
+
+    /*
+     * The largest bonus of a single cutoff.
+     */
+    private static final int MAX_BONUS = 2048;
+
+    private final int[] killers = new int[2 * (Searcher.MAX_PLY + 1)];
+    private final int[] butterfly = new int[2 * 64 * 64];
+    private final int[] counterMoves = new int[PIECE_SQUARES];
+    private final int[] continuation = new int[PIECE_SQUARES * PIECE_SQUARES];
+
+    /**
+     * Returns the index of the given move in the countermove and the
+     * continuation history, which combines the moved piece and the end tile.
+     *
+     * @param position the position before the move.
+     * @param move     the encoded move.
+     * @return the index of the move.
+     */
+    public static int index(Position position, int move) {
+        return position.pieceAt(Moves.start(move)) << 6 | Moves.end(move);
+    }
+
+    /**
+     * Returns {@code true} if the given move is quiet, that is it neither
+     * captures nor promotes.
+     *
+     * @param position the position before the move.
+     * @param move     the encoded move.
+     * @return {@code true} if the move is quiet.
+     */
+    public static boolean isQuiet(Position position, int move) {
+        return position.pieceAt(Moves.end(move)) == Position.EMPTY
+                && Moves.kind(move) != Moves.EN_PASSANTE && !Moves.isPromotion(move);
+    }
+
+    /**
+     * Returns the killer move of the given slot of the given ply or
+     * {@link Moves#NONE}.
+     *
+     * @param ply  the distance from the root.
+     * @param slot the slot, 0 for the latest and 1 for the former killer.
+     * @return the killer move.
+     */
+    public int killer(int ply, int slot) {
+        return killers[2 * ply + slot];
+    }
+
+    /**
+     * Returns the countermove of the move with the given index or
+     * {@link Moves#NONE}.
+     *
+     * @param previous the index of the previous move or {@link #NO_MOVE}.
+     * @return the countermove.
+     */
+    public int counterMove(int previous) {
+        return previous == NO_MOVE ? Moves.NONE : counterMoves[previous];
+    }
+
+    /**
+     * Returns the history score of the given quiet move, which is the sum of
+     * its butterfly history and its continuation history for the previous
+     * two moves.
+     *
+     * @param position the position before the move.
+     * @param move     the encoded move.
+     * @param previous the index of the previous move or {@link #NO_MOVE}.
+     * @param former   the index of the move before it or {@link #NO_MOVE}.
+     * @return the history score.
+     */
+    public int score(Position position, int move, int previous, int former) {
+        int index = index(position, move);
+        int score = butterfly[butterflyIndex(position, move)];
+        if (previous != NO_MOVE) {
+            score += continuation[previous * PIECE_SQUARES + index];
+        }
+        if (former != NO_MOVE) {
+            score += continuation[former * PIECE_SQUARES + index];
+        }
+        return score;
+    }
+
+    /**
+     * Records that the given quiet move caused a beta cutoff after the given
+     * quiet moves failed to.
+     *
+     * @param position the position before the move.
+     * @param ply      the distance from the root.
+     * @param move     the move that cut off.
+     * @param depth    the remaining depth of the node.
+     * @param previous the index of the previous move or {@link #NO_MOVE}.
+     * @param former   the index of the move before it or {@link #NO_MOVE}.
+     * @param quiets   the quiet moves searched before the move.
+     * @param count    the number of these quiet moves.
+     */
+    public void update(Position position, int ply, int move, int depth, int previous, int former,
+                       int[] quiets, int count) {
+        if (killers[2 * ply] != move) {
+            killers[2 * ply + 1] = killers[2 * ply];
+            killers[2 * ply] = move;
+        }
+        if (previous != NO_MOVE) {
+            counterMoves[previous] = move;
+        }
+        int bonus = Math.min(32 * depth * depth, MAX_BONUS);
+        reward(position, move, bonus, previous, former);
+        for (int i = 0; i < count; i++) {
+            reward(position, quiets[i], -bonus, previous, former);
+        }
+    }
+
+    /**
+     * Halves all history scores and forgets the killer moves, which belong
+     * to the plies of the last search.
+     */
+    public void age() {
+        Arrays.fill(killers, Moves.NONE);
+        for (int i = 0; i < butterfly.length; i++) {
+            butterfly[i] /= 2;
+        }
+        for (int i = 0; i < continuation.length; i++) {
+            continuation[i] /= 2;
+        }
+    }
+
+    /**
+     * Forgets all statistics.
+     */
+    public void clear() {
+        Arrays.fill(killers, Moves.NONE);
+        Arrays.fill(butterfly, 0);
+        Arrays.fill(counterMoves, Moves.NONE);
+        Arrays.fill(continuation, 0);
+    }
+
+    /*
+     * Adds the given bonus to all scores of the move.
+     */
+    private void reward(Position position, int move, int bonus, int previous, int former) {
+        int index = index(position, move);
+        int i = butterflyIndex(position, move);
+        butterfly[i] = gravity(butterfly[i], bonus);
+        if (previous != NO_MOVE) {
+            int j = previous * PIECE_SQUARES + index;
+            continuation[j] = gravity(continuation[j], bonus);
+        }
+        if (former != NO_MOVE) {
+            int j = former * PIECE_SQUARES + index;
+            continuation[j] = gravity(continuation[j], bonus);
+        }
+    }
+
+    /*
+     * Moves the score by the bonus, less the closer it is to the bound.
+     */
+    private static int gravity(int score, int bonus) {
+        return score + bonus - score * Math.abs(bonus) / MAX_HISTORY;
+    }
+
+    /*
+     * Returns the index of the move in the butterfly history.
+     */
+    private static int butterflyIndex(Position position, int move) {
+        return position.sideToMove().ordinal() << 12 | Moves.start(move) << 6 | Moves.end(move);
+    }
+}
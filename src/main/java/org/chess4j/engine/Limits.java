@@ -0,0 +1,226 @@
+package org.chess4j.engine;
+
+/**
+ * The budget of a search, which is a maximal depth, a maximal time and a
+ * maximal number of nodes. The search ends as soon as either is exhausted.
+ * Limits are immutable and created by the static factories.
+ * <p>
+ * The time is either fixed or derived from a game clock by
+ * {@link #clock(long, long, int, long)}. A clock gives a soft time, after
+ * which no new iteration is started and which the {@link TimeManager} adapts
+ * during the search, and a hard time, which is never exceeded.
+ */
+public final class Limits {
+
+    /**
+     * The deepest iteration a search runs.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth;
+    private final long millis;
+    private final long softMillis;
+    private final boolean clock;
+    private final long origin;
+    private final long nodes;
+
+    // Private constructor, use the static factories.
+    private Limits(int depth, long millis, long softMillis, boolean clock, long origin, long nodes) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1 but is " + depth);
+        }
+        this.depth = Math.min(depth, MAX_DEPTH);
+        this.millis = millis;
+        this.softMillis = softMillis;
+        this.clock = clock;
+        this.origin = origin;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Returns limits that search to the given depth without a time limit.
+     *
+     * @param depth the depth in plies, at least one.
+     * @return the limits.
+     * @throws IllegalArgumentException if the depth is less than one.
+     */
+    public static Limits depth(int depth) {
+        return new Limits(depth, 0, 0, false, 0, 0);
+    }
+
+    /**
+     * Returns limits that search for the given time. The first iteration is
+     * always completed, so a move is found even for a tiny budget.
+     *
+     * @param millis the time in milliseconds, at least one.
+     * @return the limits.
+     * @throws IllegalArgumentException if the time is not positive.
+     */
+    public static Limits time(long millis) {
+        return of(MAX_DEPTH, millis);
+    }
+
+    /**
+     * Returns limits that search to the given depth or for the given time,
+     * whichever is exhausted first.
+     *
+     * @param depth  the depth in plies, at least one.
+     * @param millis the time in milliseconds, at least one.
+     * @return the limits.
+     * @throws IllegalArgumentException if the depth is less than one or the
+     *                                  time is not positive.
+     */
+    public static Limits of(int depth, long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException("Time must be positive but is " + millis);
+        }
+        return new Limits(depth, millis, millis, false, 0, 0);
+    }
+
+    /**
+     * Returns limits for a move of a game with the given clock. The time of
+     * the clock is split into the soft and the hard time of the move by the
+     * {@link TimeManager}. The clock starts running when the limits are
+     * created, so the time until the search starts counts, too.
+     *
+     * @param time      the remaining time of the side to move in
+     *                  milliseconds, which is one if it is not positive.
+     * @param increment the increment per move in milliseconds.
+     * @param movesToGo the number of moves to the next time control or zero
+     *                  if the remaining time is for the rest of the game.
+     * @param overhead  the time in milliseconds that is lost per move, e.g.
+     *                  by the communication with the GUI.
+     * @return the limits.
+     * @throws IllegalArgumentException if the increment, the moves or the
+     *                                  overhead are negative.
+     */
+    public static Limits clock(long time, long increment, int movesToGo, long overhead) {
+        if (increment < 0 || movesToGo < 0 || overhead < 0) {
+            throw new IllegalArgumentException("Negative clock: increment " + increment
+                    + ", moves to go " + movesToGo + ", overhead " + overhead);
+        }
+        long origin = System.nanoTime();
+        long available = Math.max(1, time - overhead);
+        long soft = TimeManager.softMillis(available, increment, movesToGo);
+        long hard = TimeManager.hardMillis(available, soft);
+        return new Limits(MAX_DEPTH, hard, soft, true, origin, 0);
+    }
+
+    /**
+     * Returns limits that search until the given number of nodes is searched.
+     * Like the time the number of nodes never interrupts the first iteration.
+     *
+     * @param nodes the number of nodes, at least one.
+     * @return the limits.
+     * @throws IllegalArgumentException if the number of nodes is not
+     *                                  positive.
+     */
+    public static Limits nodes(long nodes) {
+        return depth(MAX_DEPTH).withNodes(nodes);
+    }
+
+    /**
+     * Returns a copy of these limits that additionally ends the search when
+     * the given number of nodes is searched.
+     *
+     * @param nodes the number of nodes, at least one.
+     * @return the limits.
+     * @throws IllegalArgumentException if the number of nodes is not
+     *                                  positive.
+     */
+    public Limits withNodes(long nodes) {
+        if (nodes < 1) {
+            throw new IllegalArgumentException("Nodes must be positive but is " + nodes);
+        }
+        return new Limits(depth, millis, softMillis, clock, origin, nodes);
+    }
+
+    /**
+     * Returns a copy of these limits that searches at most to the given
+     * depth.
+     *
+     * @param depth the depth in plies, at least one.
+     * @return the limits.
+     * @throws IllegalArgumentException if the depth is less than one.
+     */
+    public Limits withDepth(int depth) {
+        return new Limits(depth, millis, softMillis, clock, origin, nodes);
+    }
+
+    /**
+     * Returns the maximal depth in plies.
+     *
+     * @return the maximal depth.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the maximal time in milliseconds or zero if the time is not
+     * limited. For a clock this is the hard time.
+     *
+     * @return the maximal time or zero.
+     */
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * Returns the time in milliseconds after which no new iteration should be
+     * started or zero if the time is not limited. Only a clock has a soft
+     * time below the maximal time.
+     *
+     * @return the soft time or zero.
+     */
+    public long softMillis() {
+        return softMillis;
+    }
+
+    /**
+     * Returns {@code true} if the limits were derived from a game clock.
+     *
+     * @return {@code true} for the limits of a clock.
+     */
+    public boolean isClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the value of {@link System#nanoTime()} at which the clock
+     * started. Only limits derived from a clock have a start.
+     *
+     * @return the start of the clock.
+     */
+    long origin() {
+        return origin;
+    }
+
+    /**
+     * Returns {@code true} if the time of the search is limited.
+     *
+     * @return {@code true} if the time is limited.
+     */
+    public boolean isTimed() {
+        return millis > 0;
+    }
+
+    /**
+     * Returns the maximal number of nodes or zero if the number of nodes is
+     * not limited.
+     *
+     * @return the maximal number of nodes or zero.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        String s = isTimed() ? "depth " + depth + ", " + millis + " ms" : "depth " + depth;
+        if (isClock()) {
+            s += " (soft " + softMillis + " ms)";
+        }
+        return nodes > 0 ? s + ", " + nodes + " nodes" : s;
+    }
+}
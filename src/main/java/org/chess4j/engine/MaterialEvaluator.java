@@ -0,0 +1,42 @@
+package org.chess4j.engine;
+
+import org.chess4j.Color;
+import org.chess4j.Piece;
+import org.chess4j.position.Position;
+
+/**
+ * An evaluator that only counts the material of both sides. The pieces of
+ * every type are counted with a single population count of their bitboard.
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    /*
+     * The values of the piece types in centipawns indexed by the ordinal of
+     * the type. The king is never captured and has no value.
+     */
+    private static final int[] VALUES = {100, 500, 320, 330, 900, 0};
+
+    /**
+     * Returns the value of the given piece type in centipawns.
+     *
+     * @param type the given type.
+     * @return the value of the type.
+     */
+    public static int value(Piece.Type type) {
+        return VALUES[type.ordinal()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int evaluate(Position position) {
+        int score = 0;
+        for (Piece.Type type : Piece.Type.values()) {
+            int white = Long.bitCount(position.pieces(Position.piece(Color.WHITE, type)));
+            int black = Long.bitCount(position.pieces(Position.piece(Color.BLACK, type)));
+            score += (white - black) * VALUES[type.ordinal()];
+        }
+        return position.sideToMove() == Color.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,245 @@
+package org.chess4j.engine;
+
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+/**
+ * Yields the pseudo legal moves of a node one at a time in the order in which
+ * they most likely cause a cutoff. The moves are produced in stages:
+ * <ol>
+ * <li>the move of the transposition table,</li>
+ * <li>the captures and queen promotions that do not lose material by
+ * {@link Position#see(int)} in MVV-LVA order,</li>
+ * <li>the two killer moves and the countermove of the previous move,</li>
+ * <li>the remaining quiet moves ordered by their {@link HistoryTables}
+ * score and</li>
+ * <li>the captures that lose material.</li>
+ * </ol>
+ * A stage only generates its moves when the former stages are exhausted and
+ * picks the best remaining move instead of sorting all of them, so a node
+ * that cuts off early generates and orders few moves. The moves of the table,
+ * the killers and the countermove are only checked to be pseudo legal and
+ * are skipped in the later stages. The caller must skip the moves that leave
+ * the own king in check.
+ * <p>
+ * A quiescence picker only yields the captures that do not lose material. A
+ * picker is reused for every node of its ply and does not allocate.
+ */
+public final class MovePicker {
+
+    /*
+     * The stages in their order.
+     */
+    private static final int TABLE = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int GOOD_CAPTURES = 2;
+    private static final int KILLER = 3;
+    private static final int FORMER_KILLER = 4;
+    private static final int COUNTER_MOVE = 5;
+    private static final int GENERATE_QUIETS = 6;
+    private static final int QUIETS = 7;
+    private static final int BAD_CAPTURES = 8;
+    private static final int DONE = 9;
+
+    /*
+     * The ranks of the piece types as victims and attackers of MVV-LVA
+     * indexed by the type ordinal.
+     */
+    private static final int[] MVV_LVA_RANKS = {1, 4, 2, 3, 5, 6};
+
+    private final HistoryTables tables;
+    private final MoveList moves = new MoveList();
+    private final int[] scores = new int[MoveList.CAPACITY];
+    private final MoveList badCaptures = new MoveList();
+
+    private Position position;
+    private boolean quiescence;
+    private int stage;
+    private int index;
+    private int tableMove;
+    private int killer;
+    private int formerKiller;
+    private int counterMove;
+    private int previous;
+    private int former;
+
+    /**
+     * Creates a picker that orders the quiet moves with the given tables.
+     *
+     * @param tables the history tables of the search.
+     */
+    public MovePicker(HistoryTables tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Prepares the picker for the moves of the given position.
+     *
+     * @param position  the position, which must not change between the calls
+     *                  of {@link #next()} apart from moves that are unmade.
+     * @param tableMove the move of the table or {@link Moves#NONE}.
+     * @param ply       the distance from the root.
+     * @param previous  the history index of the previous move or
+     *                  {@link HistoryTables#NO_MOVE}.
+     * @param former    the history index of the move before it or
+     *                  {@link HistoryTables#NO_MOVE}.
+     */
+    public void init(Position position, int tableMove, int ply, int previous, int former) {
+        this.position = position;
+        this.quiescence = false;
+        this.stage = TABLE;
+        this.tableMove = tableMove;
+        this.killer = tables.killer(ply, 0);
+        this.formerKiller = tables.killer(ply, 1);
+        this.counterMove = tables.counterMove(previous);
+        this.previous = previous;
+        this.former = former;
+        badCaptures.clear();
+    }
+
+    /**
+     * Prepares the picker for the captures of a quiescence search of the
+     * given position.
+     *
+     * @param position the position, which must not change between the calls
+     *                 of {@link #next()} apart from moves that are unmade.
+     */
+    public void initQuiescence(Position position) {
+        this.position = position;
+        this.quiescence = true;
+        this.stage = GENERATE_CAPTURES;
+        this.tableMove = Moves.NONE;
+        badCaptures.clear();
+    }
+
+    /**
+     * Returns the next move or {@link Moves#NONE} if all moves were picked.
+     *
+     * @return the next pseudo legal move.
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case TABLE:
+                    stage++;
+                    if (tableMove != Moves.NONE && position.isPseudoLegal(tableMove)) {
+                        return tableMove;
+                    }
+                    break;
+                case GENERATE_CAPTURES:
+                    MoveGenerator.generateCaptures(position, moves);
+                    for (int i = 0; i < moves.size(); i++) {
+                        scores[i] = mvvLva(moves.get(i));
+                    }
+                    index = 0;
+                    stage++;
+                    break;
+                case GOOD_CAPTURES:
+                    while (index < moves.size()) {
+                        int move = pickBest(index++);
+                        if (move == tableMove) {
+                            continue;
+                        }
+                        if (Moves.isPromotion(move) || position.see(move) >= 0) {
+                            return move;
+                        }
+                        if (!quiescence) {
+                            badCaptures.add(move);
+                        }
+                    }
+                    stage = quiescence ? DONE : KILLER;
+                    break;
+                case KILLER:
+                    stage++;
+                    if (isQuietCandidate(killer)) {
+                        return killer;
+                    }
+                    break;
+                case FORMER_KILLER:
+                    stage++;
+                    if (formerKiller != killer && isQuietCandidate(formerKiller)) {
+                        return formerKiller;
+                    }
+                    break;
+                case COUNTER_MOVE:
+                    stage++;
+                    if (counterMove != killer && counterMove != formerKiller && isQuietCandidate(counterMove)) {
+                        return counterMove;
+                    }
+                    break;
+                case GENERATE_QUIETS:
+                    MoveGenerator.generateQuiets(position, moves);
+                    for (int i = 0; i < moves.size(); i++) {
+                        scores[i] = tables.score(position, moves.get(i), previous, former);
+                    }
+                    index = 0;
+                    stage++;
+                    break;
+                case QUIETS:
+                    while (index < moves.size()) {
+                        int move = pickBest(index++);
+                        if (move != tableMove && move != killer && move != formerKiller && move != counterMove) {
+                            return move;
+                        }
+                    }
+                    index = 0;
+                    stage++;
+                    break;
+                case BAD_CAPTURES:
+                    if (index < badCaptures.size()) {
+                        return badCaptures.get(index++);
+                    }
+                    stage++;
+                    break;
+                default:
+                    return Moves.NONE;
+            }
+        }
+    }
+
+    /*
+     * Returns true if the move is a quiet pseudo legal move other than the
+     * move of the table.
+     */
+    private boolean isQuietCandidate(int move) {
+        return move != Moves.NONE && move != tableMove && HistoryTables.isQuiet(position, move)
+                && position.isPseudoLegal(move);
+    }
+
+    /*
+     * Returns the MVV-LVA score of a capture or promotion, which is higher
+     * for more valuable victims and among equal victims for less valuable
+     * attackers.
+     */
+    private int mvvLva(int move) {
+        int victim = position.pieceAt(Moves.end(move));
+        int score = victim == Position.EMPTY ? Moves.kind(move) == Moves.EN_PASSANTE ? MVV_LVA_RANKS[0] * 8 : 0
+                : MVV_LVA_RANKS[Position.type(victim)] * 8;
+        if (Moves.isPromotion(move)) {
+            score += MVV_LVA_RANKS[Moves.promotion(move)] * 8;
+        }
+        return score - MVV_LVA_RANKS[Position.type(position.pieceAt(Moves.start(move)))];
+    }
+
+    /*
+     * Swaps the move with the highest score from the given index on to the
+     * index and returns it.
+     */
+    private int pickBest(int index) {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        int score = scores[best];
+        moves.set(best, moves.get(index));
+        scores[best] = scores[index];
+        moves.set(index, move);
+        scores[index] = score;
+        return move;
+    }
+}
@@ -0,0 +1,264 @@
+package org.chess4j.engine;
+
+import org.chess4j.position.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A Lazy SMP search, in which several threads search the same root
+ * independently and only share a {@link TranspositionTable}. The calling
+ * thread runs the main {@link Searcher}, whose limits decide when the search
+ * ends and whose result is returned. Every helper runs in its own thread
+ * without limits until the main searcher has finished and the helpers with
+ * an odd number start one ply deeper, so that the helpers fill the table with
+ * results the main searcher needs next.
+ * <p>
+ * Every search waits for all helpers to stop before it returns, so the
+ * per-thread node counters of {@link #nodes()} are exact afterwards. The
+ * helpers of a search with a time limit are stopped at the deadline together
+ * with the main searcher, so that waiting for them does not take the time of
+ * the move. A parallel searcher must be closed to stop its threads.
+ */
+public class ParallelSearcher implements AutoCloseable {
+
+    /*
+     * The helpers search until they are stopped.
+     */
+    private static final Limits HELPER_LIMITS = Limits.depth(Limits.MAX_DEPTH);
+
+    /*
+     * The main searcher followed by the helpers.
+     */
+    private final Searcher[] searchers;
+
+    /*
+     * The threads of the helpers or null if there are none.
+     */
+    private final ExecutorService pool;
+
+    /*
+     * The shared transposition table.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * Creates a parallel searcher with the given number of threads that only
+     * counts material and shares a table of {@value Searcher#DEFAULT_HASH_MB}
+     * megabytes.
+     *
+     * @param threads the number of threads including the calling thread, at
+     *                least one.
+     * @throws IllegalArgumentException if the number of threads is less than
+     *                                  one.
+     */
+    public ParallelSearcher(int threads) {
+        this(threads, MaterialEvaluator::new, new TranspositionTable(Searcher.DEFAULT_HASH_MB));
+    }
+
+    /**
+     * Creates a parallel searcher with the given number of threads, where
+     * every thread gets its own evaluator of the given factory.
+     *
+     * @param threads    the number of threads including the calling thread,
+     *                   at least one.
+     * @param evaluators the factory of the evaluators.
+     * @param table      the shared transposition table.
+     * @throws IllegalArgumentException if the number of threads is less than
+     *                                  one.
+     */
+    public ParallelSearcher(int threads, Supplier<? extends Evaluator> evaluators, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1 but is " + threads);
+        }
+        this.table = table;
+        this.searchers = new Searcher[threads];
+        for (int i = 0; i < threads; i++) {
+            searchers[i] = new Searcher(evaluators.get(), table);
+        }
+        this.pool = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "chess4j-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches the given position within the given limits on all threads and
+     * returns the result of the main searcher.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param limits   the limits of the search.
+     * @return the result of the deepest completed iteration of the main
+     * searcher.
+     * @see Searcher#search(Position, Limits)
+     */
+    public SearchResult search(Position position, Limits limits) {
+        return search(position, limits, Searcher.SILENT);
+    }
+
+    /**
+     * Searches the given position within the given limits on all threads and
+     * passes the result of every completed iteration of the main searcher to
+     * the given listener, which is called by the calling thread. A search
+     * that has been stopped before it starts returns the first legal move,
+     * see {@link #prepare()}.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param limits   the limits of the search.
+     * @param listener the listener of the completed iterations.
+     * @return the result of the deepest completed iteration of the main
+     * searcher.
+     * @see Searcher#search(Position, Limits, Consumer)
+     */
+    public SearchResult search(Position position, Limits limits, Consumer<? super SearchResult> listener) {
+        Searcher main = searchers[0];
+        table.newSearch();
+        List<Future<SearchResult>> helpers = new ArrayList<>(searchers.length - 1);
+        for (int i = 1; i < searchers.length; i++) {
+            Searcher helper = searchers[i];
+            Position copy = new Position(position);
+            int depthOffset = i % 2;
+            helpers.add(pool.submit(() -> helper.searchShared(copy, HELPER_LIMITS, depthOffset, Searcher.SILENT)));
+        }
+        ScheduledFuture<?> alarm = null;
+        if (limits.isTimed() && !helpers.isEmpty()) {
+            alarm = Searcher.schedule(this::stopHelpers, new TimeManager(limits, System.nanoTime()).deadline());
+        }
+        try {
+            return main.searchShared(position, limits, 0, listener);
+        } finally {
+            if (alarm != null) {
+                alarm.cancel(false);
+            }
+            stopHelpers();
+            for (Future<SearchResult> helper : helpers) {
+                await(helper);
+            }
+            // The stops of this search must not end the next one.
+            prepare();
+        }
+    }
+
+    /**
+     * Clears a stop that arrived after the last search had ended, such as a
+     * late stop of a GUI. The search itself never clears a stop before it
+     * ends, so a stop that arrives between this call and the start of the
+     * next search ends that search at once.
+     */
+    public void prepare() {
+        for (Searcher searcher : searchers) {
+            searcher.reset();
+        }
+    }
+
+    /*
+     * Stops the helpers of a running search.
+     */
+    private void stopHelpers() {
+        for (int i = 1; i < searchers.length; i++) {
+            searchers[i].stop();
+        }
+    }
+
+    /**
+     * Stops a running search, which returns the result of the last completed
+     * iteration of the main searcher. Without a running search the next
+     * search is stopped, unless {@link #prepare()} is called before it.
+     */
+    public void stop() {
+        for (Searcher searcher : searchers) {
+            searcher.stop();
+        }
+    }
+
+    /**
+     * Sets the selective techniques and their parameters of all threads,
+     * which apply from the next search on.
+     *
+     * @param selectivity the selectivity.
+     * @see Searcher#setSelectivity(Selectivity)
+     */
+    public void setSelectivity(Selectivity selectivity) {
+        for (Searcher searcher : searchers) {
+            searcher.setSelectivity(selectivity);
+        }
+    }
+
+    /**
+     * Returns the number of threads including the calling thread.
+     *
+     * @return the number of threads.
+     */
+    public int threads() {
+        return searchers.length;
+    }
+
+    /**
+     * Returns the number of nodes every thread has searched in the running or
+     * the last search, starting with the main searcher.
+     *
+     * @return the nodes per thread.
+     */
+    public long[] nodes() {
+        long[] nodes = new long[searchers.length];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = searchers[i].nodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns the number of nodes all threads have searched in the running or
+     * the last search.
+     *
+     * @return the total number of nodes.
+     */
+    public long totalNodes() {
+        long total = 0;
+        for (Searcher searcher : searchers) {
+            total += searcher.nodes();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the shared transposition table.
+     *
+     * @return the transposition table.
+     */
+    public TranspositionTable table() {
+        return table;
+    }
+
+    /**
+     * Stops the helper threads.
+     */
+    @Override
+    public void close() {
+        stop();
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /*
+     * Waits for the given helper to finish.
+     */
+    private static void await(Future<SearchResult> helper) {
+        try {
+            helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A helper of the search failed", e.getCause());
+        }
+    }
+}
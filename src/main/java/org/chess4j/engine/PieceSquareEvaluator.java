@@ -0,0 +1,27 @@
+package org.chess4j.engine;
+
+import org.chess4j.Color;
+import org.chess4j.position.PieceSquareTables;
+import org.chess4j.position.Position;
+
+/**
+ * An evaluator that counts material and the placement of the pieces with the
+ * {@link PieceSquareTables}. The middlegame and endgame scores are blended by
+ * the game phase, so the evaluation tapers from the middlegame to the endgame
+ * as pieces leave the board. The position keeps both scores and the phase up
+ * to date while moves are made and unmade, so an evaluation takes constant
+ * time.
+ */
+public class PieceSquareEvaluator implements Evaluator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int evaluate(Position position) {
+        int phase = Math.min(position.phase(), PieceSquareTables.MAX_PHASE);
+        int score = (position.middlegameScore() * phase
+                + position.endgameScore() * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        return position.sideToMove() == Color.WHITE ? score : -score;
+    }
+}
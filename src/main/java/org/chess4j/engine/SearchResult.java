@@ -0,0 +1,126 @@
+package org.chess4j.engine;
+
+import org.chess4j.position.Moves;
+
+import java.util.Arrays;
+
+/**
+ * The result of a completed iteration of a search: the best move, its score,
+ * the depth of the iteration, the number of searched nodes and the principal
+ * variation, which is the line both sides are expected to play. Moves are
+ * encoded as specified by {@link Moves}.
+ */
+public final class SearchResult {
+
+    private final int[] pv;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+
+    /**
+     * Creates a result with the given principal variation, whose first move
+     * is the best move. An empty variation means the position has no legal
+     * move.
+     *
+     * @param pv    the principal variation, which is copied.
+     * @param score the score from the view of the side to move.
+     * @param depth the depth of the iteration.
+     * @param nodes the number of searched nodes.
+     */
+    public SearchResult(int[] pv, int score, int depth, long nodes) {
+        this.pv = pv.clone();
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Returns the best move or {@link Moves#NONE} if the position has no
+     * legal move.
+     *
+     * @return the best move.
+     */
+    public int move() {
+        return pv.length == 0 ? Moves.NONE : pv[0];
+    }
+
+    /**
+     * Returns the score in centipawns from the view of the side to move. Mate
+     * scores are given by {@link Searcher#MATE} minus the plies to the mate.
+     *
+     * @return the score.
+     */
+    public int score() {
+        return score;
+    }
+
+    /**
+     * Returns the depth of the iteration in plies.
+     *
+     * @return the depth.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of nodes searched until the end of the iteration.
+     *
+     * @return the number of nodes.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the principal variation starting with the best move.
+     *
+     * @return a copy of the principal variation.
+     */
+    public int[] pv() {
+        return pv.clone();
+    }
+
+    /**
+     * Returns the score in the UCI format, that is {@code cp} followed by the
+     * centipawns or {@code mate} followed by the moves to the mate, which are
+     * negative if the side to move is mated.
+     *
+     * @return the score in the UCI format.
+     */
+    public String scoreToString() {
+        if (Searcher.isMate(score)) {
+            int plies = Searcher.MATE - Math.abs(score);
+            return "mate " + (score > 0 ? (plies + 1) / 2 : -(plies / 2));
+        }
+        return "cp " + score;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("depth ").append(depth).append(" score ").append(scoreToString());
+        sb.append(" nodes ").append(nodes).append(" pv");
+        for (int move : pv) {
+            sb.append(' ').append(Moves.toString(move));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchResult)) {
+            return false;
+        }
+        SearchResult that = (SearchResult) o;
+        return score == that.score && depth == that.depth && nodes == that.nodes && Arrays.equals(pv, that.pv);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(pv) + score;
+    }
+}
@@ -0,0 +1,842 @@
+package org.chess4j.engine;
+
+import org.chess4j.Color;
+import org.chess4j.Fen;
+import org.chess4j.Piece;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A negamax alpha-beta search with iterative deepening. Every iteration
+ * searches the root one ply deeper than the last one and starts with the
+ * principal variation of the last iteration. The first move of every node is
+ * searched with the full window and all other moves with a null window, which
+ * is widened only if a move turns out to be better (principal variation
+ * search). From the fourth iteration on the root is searched with an
+ * aspiration window around the score of the last iteration that is widened
+ * whenever the score falls outside of it. The results of all nodes are
+ * stored in a {@link TranspositionTable}, whose move is searched first and
+ * whose score ends the search of a node outside the principal variation if
+ * it was searched deep enough.
+ * <p>
+ * The other moves of a node are yielded by a {@link MovePicker}: first the
+ * captures that do not lose material, then the killer moves and the
+ * countermove and then the other quiet moves ordered by the
+ * {@link HistoryTables}, which learn from the quiet moves that caused a beta
+ * cutoff. Losing captures are searched last.
+ * <p>
+ * Outside the principal variation the search is selective: reverse futility
+ * pruning, razoring and null moves cut off nodes whose static evaluation is
+ * far from the window, futility pruning skips hopeless quiet moves near the
+ * horizon and late quiet moves are searched with reduced depth. Nodes in
+ * check are extended by one ply. Every technique can be switched off by the
+ * {@link Selectivity} of the searcher.
+ * <p>
+ * At the horizon a quiescence search resolves the pending captures, so that
+ * a position is not evaluated in the middle of an exchange. It searches the
+ * captures in MVV-LVA order, the most valuable victim first and among equal
+ * victims the least valuable attacker first, and skips captures that lose
+ * material by the static exchange evaluation of {@link Position#see(int)}.
+ * <p>
+ * The search runs on a {@link Position} with the legal {@link MoveGenerator},
+ * so it does not allocate while searching. Draws by repetition and by the
+ * fifty move rule are detected with the made moves of the position, which
+ * should therefore include the moves of the game that led to it. A searcher
+ * is not thread safe, but a running search can be stopped from another
+ * thread with {@link #stop()}.
+ * <p>
+ * A search with a time limit is stopped at the deadline of its
+ * {@link TimeManager} by a timer thread, which all searchers share, so that
+ * a slow node or a busy processor cannot delay the stop. The tables of the
+ * move generator are built on their first use, which takes a noticeable
+ * time, so an engine should call {@link #warmUp()} before its first search.
+ */
+public class Searcher {
+
+    /**
+     * The score of a mate in zero plies. Mates in n plies are scored
+     * {@code MATE - n} for the winning side.
+     */
+    public static final int MATE = 32000;
+
+    /**
+     * A score above every possible score.
+     */
+    public static final int INFINITE = MATE + 1;
+
+    /**
+     * The score of a draw.
+     */
+    public static final int DRAW = 0;
+
+    /**
+     * The maximal distance of a node from the root.
+     */
+    public static final int MAX_PLY = 128;
+
+    /**
+     * The size of the transposition table of a searcher that creates its own
+     * table in megabytes.
+     */
+    public static final int DEFAULT_HASH_MB = 16;
+
+    /*
+     * The initial half width of the aspiration window in centipawns.
+     */
+    private static final int ASPIRATION_WINDOW = 25;
+
+    /*
+     * The first iteration with an aspiration window.
+     */
+    private static final int ASPIRATION_DEPTH = 4;
+
+    /*
+     * The largest depths of reverse futility pruning, razoring and futility
+     * pruning and the smallest depths of null moves and late move reductions.
+     */
+    private static final int REVERSE_FUTILITY_DEPTH = 6;
+    private static final int RAZORING_DEPTH = 3;
+    private static final int FUTILITY_DEPTH = 3;
+    private static final int NULL_MOVE_DEPTH = 2;
+    private static final int REDUCTION_DEPTH = 3;
+
+    /*
+     * The number of nodes between two checks of the clock minus one.
+     */
+    private static final int CLOCK_MASK = 2047;
+
+    /*
+     * The positions and the depth of the warm up.
+     */
+    private static final String[] WARM_UP_FENS = {Fen.START,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"};
+    private static final int WARM_UP_DEPTH = 3;
+
+    /*
+     * Stops the searches at their deadlines.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chess4j-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The listener of a search that does not report its iterations.
+     */
+    static final Consumer<SearchResult> SILENT = result -> {
+    };
+
+    /**
+     * The evaluator of the leaves.
+     */
+    private final Evaluator evaluator;
+
+    /**
+     * The transposition table, which may be shared with other searchers.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The statistics of the quiet moves that caused cutoffs.
+     */
+    private final HistoryTables history = new HistoryTables();
+
+    /**
+     * The move picker of every ply.
+     */
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+
+    /**
+     * The legal moves of every ply of the quiescence search in check.
+     */
+    private final MoveList[] evasions = new MoveList[MAX_PLY + 1];
+
+    /**
+     * The history index of the move that led to the node of every ply.
+     */
+    private final int[] playedMoves = new int[MAX_PLY + 2];
+
+    /**
+     * The quiet moves searched at every ply before the current one.
+     */
+    private final int[][] quietMoves = new int[MAX_PLY + 1][MoveList.CAPACITY];
+
+    /**
+     * The selectivity of the next search.
+     */
+    private volatile Selectivity selectivity = Selectivity.DEFAULT;
+
+    /**
+     * The selectivity of the running search.
+     */
+    private Selectivity options = Selectivity.DEFAULT;
+
+    /**
+     * The principal variation of every ply, where the variation of a ply
+     * starts at the index of the ply.
+     */
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+
+    /**
+     * The end of the principal variation of every ply.
+     */
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    /**
+     * The principal variation of the last iteration.
+     */
+    private int[] lastPv = new int[0];
+
+    /**
+     * {@code true} as long as the search follows the last principal variation.
+     */
+    private boolean followPv;
+
+    /**
+     * The number of searched nodes.
+     */
+    private long nodes;
+
+    /**
+     * The time at which the search stops or zero.
+     */
+    private long deadline;
+
+    /**
+     * The number of nodes at which the search stops.
+     */
+    private long nodeLimit;
+
+    /**
+     * Set when the search must stop, possibly by another thread.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * The number of the running or the last search, so that the timer of a
+     * finished search cannot stop the next one.
+     */
+    private volatile long searchNumber;
+
+    /**
+     * The scheduled stop of the running search or null.
+     */
+    private ScheduledFuture<?> alarm;
+
+    /**
+     * Creates a searcher that only counts material.
+     */
+    public Searcher() {
+        this(new MaterialEvaluator());
+    }
+
+    /**
+     * Creates a searcher with the given evaluator and its own transposition
+     * table of {@value #DEFAULT_HASH_MB} megabytes.
+     *
+     * @param evaluator the evaluator of the leaves.
+     */
+    public Searcher(Evaluator evaluator) {
+        this(evaluator, new TranspositionTable(DEFAULT_HASH_MB));
+    }
+
+    /**
+     * Creates a searcher with the given evaluator and transposition table.
+     *
+     * @param evaluator the evaluator of the leaves.
+     * @param table     the transposition table.
+     */
+    public Searcher(Evaluator evaluator, TranspositionTable table) {
+        this.evaluator = evaluator;
+        this.table = table;
+        for (int i = 0; i < pickers.length; i++) {
+            pickers[i] = new MovePicker(history);
+            evasions[i] = new MoveList();
+        }
+        playedMoves[0] = HistoryTables.NO_MOVE;
+    }
+
+    /**
+     * Returns the transposition table of the searcher.
+     *
+     * @return the transposition table.
+     */
+    public TranspositionTable table() {
+        return table;
+    }
+
+    /**
+     * Builds the tables of the move generator and the evaluation, which takes
+     * a noticeable time on their first use, and compiles the search by
+     * searching a few positions to a small depth.
+     */
+    public static void warmUp() {
+        Searcher searcher = new Searcher(new PieceSquareEvaluator(), new TranspositionTable(1));
+        for (String fen : WARM_UP_FENS) {
+            searcher.search(new Position(Fen.parse(fen)), Limits.depth(WARM_UP_DEPTH));
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given score announces a mate.
+     *
+     * @param score the given score.
+     * @return {@code true} if the score is a mate score.
+     */
+    public static boolean isMate(int score) {
+        return Math.abs(score) >= MATE - MAX_PLY;
+    }
+
+    /**
+     * Searches the given position within the given limits and returns the
+     * result of the last completed iteration. Neither a fixed time nor the
+     * node limit interrupts the first iteration, but the hard time of a clock
+     * does. A timed search of a position with a single legal move ends after
+     * the first iteration. If the position has no legal move, the result has
+     * no move and scores a mate or a stalemate.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param limits   the limits of the search.
+     * @return the result of the deepest completed iteration.
+     */
+    public SearchResult search(Position position, Limits limits) {
+        return search(position, limits, SILENT);
+    }
+
+    /**
+     * Searches the given position within the given limits like
+     * {@link #search(Position, Limits)} and passes the result of every
+     * completed iteration to the given listener, which is called by the
+     * searching thread.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param limits   the limits of the search.
+     * @param listener the listener of the completed iterations.
+     * @return the result of the deepest completed iteration.
+     */
+    public SearchResult search(Position position, Limits limits, Consumer<? super SearchResult> listener) {
+        stopped = false;
+        table.newSearch();
+        return iterate(position, limits, 0, listener);
+    }
+
+    /**
+     * Searches the given position as one of the threads of a parallel search,
+     * whose transposition table generation has already been advanced. The
+     * first iteration searches the given number of plies deeper than one, so
+     * that the threads of a search spread over several depths. Opposed to
+     * {@link #search(Position, Limits)} the stop flag is not reset, so a stop
+     * that arrives before the thread starts is not lost.
+     *
+     * @param position    the position, which is unchanged after the call.
+     * @param limits      the limits of the search.
+     * @param depthOffset the depth of the first iteration minus one.
+     * @param listener    the listener of the completed iterations.
+     * @return the result of the deepest completed iteration.
+     */
+    SearchResult searchShared(Position position, Limits limits, int depthOffset,
+                              Consumer<? super SearchResult> listener) {
+        return iterate(position, limits, depthOffset, listener);
+    }
+
+    /**
+     * Prepares the searcher for a call of
+     * {@link #searchShared(Position, Limits, int, Consumer)}.
+     */
+    void reset() {
+        stopped = false;
+    }
+
+    /**
+     * Returns the selective techniques and their parameters.
+     *
+     * @return the selectivity.
+     */
+    public Selectivity selectivity() {
+        return selectivity;
+    }
+
+    /**
+     * Sets the selective techniques and their parameters, which apply from
+     * the next search on.
+     *
+     * @param selectivity the selectivity.
+     */
+    public void setSelectivity(Selectivity selectivity) {
+        this.selectivity = selectivity;
+    }
+
+    /**
+     * Returns the number of nodes of the running or the last search. While a
+     * search is running on another thread the count is approximate.
+     *
+     * @return the number of searched nodes.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    /*
+     * Deepens the search iteratively, starting at one plus the given offset.
+     */
+    private SearchResult iterate(Position position, Limits limits, int depthOffset,
+                                 Consumer<? super SearchResult> listener) {
+        searchNumber++;
+        alarm = null;
+        nodes = 0;
+        deadline = 0;
+        options = selectivity;
+        history.age();
+        nodeLimit = Long.MAX_VALUE;
+        TimeManager clock = new TimeManager(limits, System.nanoTime());
+
+        MoveList rootMoves = new MoveList();
+        MoveGenerator.generateLegal(position, rootMoves);
+        if (rootMoves.isEmpty()) {
+            return new SearchResult(new int[0], position.inCheck() ? -MATE : DRAW, 0, 0);
+        }
+        if (limits.isClock()) {
+            // The hard time of a clock interrupts even the first iteration.
+            arm(clock.deadline());
+        }
+
+        lastPv = new int[0];
+        SearchResult result = null;
+        int score = 0;
+        for (int depth = 1 + depthOffset; depth <= limits.depth(); depth++) {
+            int delta = ASPIRATION_WINDOW;
+            int alpha = -INFINITE;
+            int beta = INFINITE;
+            if (depth >= ASPIRATION_DEPTH) {
+                alpha = Math.max(score - delta, -INFINITE);
+                beta = Math.min(score + delta, INFINITE);
+            }
+            while (true) {
+                int value = searchRoot(position, rootMoves, depth, alpha, beta);
+                if (stopped) {
+                    break;
+                }
+                if (value <= alpha) {
+                    alpha = Math.max(value - delta, -INFINITE);
+                } else if (value >= beta) {
+                    beta = Math.min(value + delta, INFINITE);
+                } else {
+                    score = value;
+                    break;
+                }
+                delta *= 2;
+            }
+            if (stopped) {
+                break;
+            }
+            lastPv = Arrays.copyOf(pv[0], pvLength[0]);
+            result = new SearchResult(lastPv, score, depth, nodes);
+            listener.accept(result);
+            if (isMate(score) && MATE - Math.abs(score) <= depth) {
+                // A deeper search cannot find a shorter mate.
+                break;
+            }
+            if (limits.isTimed()) {
+                // From now on an iteration may be interrupted.
+                arm(clock.deadline());
+                clock.update(result.move(), score);
+                if (rootMoves.size() == 1 || clock.shouldStop(System.nanoTime())) {
+                    // A forced move is not searched any deeper.
+                    break;
+                }
+            }
+            if (limits.nodes() > 0) {
+                nodeLimit = limits.nodes();
+                if (nodes >= nodeLimit) {
+                    break;
+                }
+            }
+        }
+        if (alarm != null) {
+            alarm.cancel(false);
+        }
+        // A search stopped during the first iteration plays the first move.
+        return result != null ? result : new SearchResult(new int[]{rootMoves.get(0)}, DRAW, 0, nodes);
+    }
+
+    /*
+     * Sets the deadline of the search and lets the timer stop the search at
+     * the deadline, unless it already does.
+     */
+    private void arm(long deadline) {
+        this.deadline = deadline;
+        if (alarm == null) {
+            long number = searchNumber;
+            alarm = schedule(() -> {
+                if (searchNumber == number) {
+                    stopped = true;
+                }
+            }, deadline);
+        }
+    }
+
+    /**
+     * Runs the given task on the timer of the searches at the given value of
+     * {@link System#nanoTime()}.
+     *
+     * @param task     the task.
+     * @param deadline the time of the task.
+     * @return the scheduled task.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long deadline) {
+        return TIMER.schedule(task, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops a running search, which returns the result of the last completed
+     * iteration.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /*
+     * Searches the legal root moves and moves the best one to the front.
+     */
+    private int searchRoot(Position position, MoveList moves, int depth, int alpha, int beta) {
+        pvLength[0] = 0;
+        followPv = lastPv.length > 0;
+        int alpha0 = alpha;
+        int best = -INFINITE;
+        int bestIndex = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            playedMoves[1] = HistoryTables.index(position, move);
+            position.make(move);
+            int score;
+            if (i == 0) {
+                score = -search(position, depth - 1, -beta, -alpha, 1);
+            } else {
+                score = -search(position, depth - 1, -alpha - 1, -alpha, 1);
+                if (score > alpha && score < beta) {
+                    score = -search(position, depth - 1, -beta, -alpha, 1);
+                }
+            }
+            position.unmake();
+            followPv = false;
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestIndex = i;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(0, move);
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        // The best move is searched first in the next iteration.
+        int bestMove = moves.get(bestIndex);
+        for (int i = bestIndex; i > 0; i--) {
+            moves.set(i, moves.get(i - 1));
+        }
+        moves.set(0, bestMove);
+        table.store(position.key(), bestMove, toTable(best, 0), depth, bound(best, alpha0, beta));
+        return best;
+    }
+
+    /*
+     * The principal variation search of an inner node.
+     */
+    private int search(Position position, int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        boolean inCheck = position.inCheck();
+        if (inCheck && options.isEnabled(Selectivity.Technique.CHECK_EXTENSIONS)) {
+            depth++;
+        }
+        // Without the extension a node in check may reach the horizon, where
+        // the quiescence search searches all of its evasions.
+        if (depth <= 0) {
+            return quiesce(position, alpha, beta, ply);
+        }
+        countNode();
+        if (stopped) {
+            return 0;
+        }
+        if (position.isRepetition() || position.halfmoveClock() >= 100) {
+            return DRAW;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(position);
+        }
+
+        long entry = table.probe(position.key());
+        int hashMove = Moves.NONE;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.move(entry);
+            // Nodes of the principal variation are searched to keep it intact.
+            if (beta - alpha == 1 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER && score >= beta
+                        || bound == TranspositionTable.UPPER && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+
+        // Only nodes outside the principal variation are pruned.
+        boolean pvNode = beta - alpha > 1;
+        boolean futile = false;
+        if (!pvNode && !inCheck && !isMate(beta)) {
+            int eval = evaluator.evaluate(position);
+            if (depth <= REVERSE_FUTILITY_DEPTH && options.isEnabled(Selectivity.Technique.REVERSE_FUTILITY)
+                    && eval - options.value(Selectivity.Parameter.REVERSE_FUTILITY_MARGIN) * depth >= beta) {
+                return eval;
+            }
+            if (depth <= RAZORING_DEPTH && options.isEnabled(Selectivity.Technique.RAZORING)
+                    && eval + options.value(Selectivity.Parameter.RAZORING_MARGIN) * depth <= alpha) {
+                int score = quiesce(position, alpha, alpha + 1, ply);
+                if (score <= alpha) {
+                    return score;
+                }
+            }
+            // The null move is not tried after another one, which is marked as no move.
+            if (depth >= NULL_MOVE_DEPTH && eval >= beta && playedMoves[ply] != HistoryTables.NO_MOVE
+                    && options.isEnabled(Selectivity.Technique.NULL_MOVE) && hasPieces(position)) {
+                int reduction = options.value(Selectivity.Parameter.NULL_MOVE_REDUCTION) + depth / 4;
+                playedMoves[ply + 1] = HistoryTables.NO_MOVE;
+                position.makeNull();
+                int score = -search(position, depth - 1 - reduction, -beta, -beta + 1, ply + 1);
+                position.unmake();
+                if (stopped) {
+                    return 0;
+                }
+                if (score >= beta) {
+                    // A mate found after passing is not proven.
+                    return isMate(score) ? beta : score;
+                }
+            }
+            futile = depth <= FUTILITY_DEPTH && options.isEnabled(Selectivity.Technique.FUTILITY)
+                    && eval + options.value(Selectivity.Parameter.FUTILITY_MARGIN) * depth <= alpha;
+        }
+
+        // The move of the last principal variation goes first while the search follows it.
+        int first = followPv && ply < lastPv.length ? lastPv[ply] : hashMove;
+        int previous = playedMoves[ply];
+        int former = playedMoves[ply - 1];
+        MovePicker picker = pickers[ply];
+        picker.init(position, first, ply, previous, former);
+        int[] quiets = quietMoves[ply];
+        int quietCount = 0;
+
+        Color mover = position.sideToMove();
+        int alpha0 = alpha;
+        int bestMove = Moves.NONE;
+        int best = -INFINITE;
+        int legalMoves = 0;
+        for (int move = picker.next(); move != Moves.NONE; move = picker.next()) {
+            boolean quiet = HistoryTables.isQuiet(position, move);
+            playedMoves[ply + 1] = HistoryTables.index(position, move);
+            position.make(move);
+            if (position.inCheck(mover)) {
+                position.unmake();
+                continue;
+            }
+            boolean check = position.inCheck();
+            if (futile && quiet && legalMoves > 0 && !check) {
+                position.unmake();
+                continue;
+            }
+            int score;
+            if (legalMoves++ == 0) {
+                score = -search(position, depth - 1, -beta, -alpha, ply + 1);
+            } else {
+                int reduction = 0;
+                if (quiet && !inCheck && !check && depth >= REDUCTION_DEPTH
+                        && options.isEnabled(Selectivity.Technique.LATE_MOVE_REDUCTIONS)) {
+                    reduction = options.reduction(depth, legalMoves) - (pvNode ? 1 : 0);
+                    reduction = Math.max(0, Math.min(reduction, depth - 2));
+                }
+                score = -search(position, depth - 1 - reduction, -alpha - 1, -alpha, ply + 1);
+                if (reduction > 0 && score > alpha) {
+                    score = -search(position, depth - 1, -alpha - 1, -alpha, ply + 1);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(position, depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            position.unmake();
+            followPv = false;
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        if (quiet) {
+                            history.update(position, ply, move, depth, previous, former, quiets, quietCount);
+                        }
+                        break;
+                    }
+                }
+            }
+            if (quiet) {
+                quiets[quietCount++] = move;
+            }
+        }
+        if (legalMoves == 0) {
+            return inCheck ? -MATE + ply : DRAW;
+        }
+        table.store(position.key(), bestMove, toTable(best, ply), depth, bound(best, alpha0, beta));
+        return best;
+    }
+
+    /*
+     * Searches the captures until the position is quiet. The side to move may
+     * stand pat, that is take the static evaluation instead of capturing,
+     * unless it is in check, where every evasion is searched.
+     */
+    private int quiesce(Position position, int alpha, int beta, int ply) {
+        pvLength[ply] = ply;
+        countNode();
+        if (stopped) {
+            return 0;
+        }
+        if (position.isRepetition() || position.halfmoveClock() >= 100) {
+            return DRAW;
+        }
+        if (position.inCheck() && ply < MAX_PLY) {
+            return quiesceEvasions(position, alpha, beta, ply);
+        }
+        int best = evaluator.evaluate(position);
+        if (best >= beta || ply >= MAX_PLY) {
+            return best;
+        }
+        alpha = Math.max(alpha, best);
+
+        MovePicker picker = pickers[ply];
+        picker.initQuiescence(position);
+        Color mover = position.sideToMove();
+        for (int move = picker.next(); move != Moves.NONE; move = picker.next()) {
+            position.make(move);
+            if (position.inCheck(mover)) {
+                position.unmake();
+                continue;
+            }
+            int score = -quiesce(position, -beta, -alpha, ply + 1);
+            position.unmake();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score >= beta) {
+                    break;
+                }
+                alpha = Math.max(alpha, score);
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Searches all legal moves of a node of the quiescence search in check,
+     * as the static evaluation is no bound of a position in check. A node
+     * without evasions is a mate.
+     */
+    private int quiesceEvasions(Position position, int alpha, int beta, int ply) {
+        MoveList moves = evasions[ply];
+        MoveGenerator.generateLegal(position, moves);
+        if (moves.isEmpty()) {
+            return -MATE + ply;
+        }
+        int best = -INFINITE;
+        for (int i = 0; i < moves.size(); i++) {
+            position.make(moves.get(i));
+            int score = -quiesce(position, -beta, -alpha, ply + 1);
+            position.unmake();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score >= beta) {
+                    break;
+                }
+                alpha = Math.max(alpha, score);
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Counts a node and stops the search if the time or the nodes are used
+     * up. The clock is only read every few thousand nodes, between the reads
+     * the timer stops the search.
+     */
+    private void countNode() {
+        if ((++nodes & CLOCK_MASK) == 0 && deadline != 0 && System.nanoTime() > deadline || nodes >= nodeLimit) {
+            stopped = true;
+        }
+    }
+
+    /*
+     * Returns the bound of a score searched with the given window.
+     */
+    private static int bound(int score, int alpha, int beta) {
+        return score >= beta ? TranspositionTable.LOWER
+                : score > alpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+    }
+
+    /*
+     * Converts a mate score relative to the root into a score relative to the
+     * node at the given ply, as the same node may be found at another ply.
+     */
+    private static int toTable(int score, int ply) {
+        return isMate(score) ? score + (score > 0 ? ply : -ply) : score;
+    }
+
+    /*
+     * Converts a mate score of the table into a score relative to the root.
+     */
+    private static int fromTable(int score, int ply) {
+        return isMate(score) ? score - (score > 0 ? ply : -ply) : score;
+    }
+
+    /*
+     * Returns true if the side to move has a piece other than pawns and its
+     * king, without which a null move may hide a zugzwang.
+     */
+    private static boolean hasPieces(Position position) {
+        Color side = position.sideToMove();
+        return (position.pieces(side) ^ position.pieces(Position.piece(side, Piece.Type.PAWN))
+                ^ position.pieces(Position.piece(side, Piece.Type.KING))) != 0;
+    }
+
+    /*
+     * Makes the given move followed by the variation of the next ply the
+     * variation of the given ply.
+     */
+    private void updatePv(int ply, int move) {
+        int[] line = pv[ply];
+        line[ply] = move;
+        int length = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], ply + 1, line, ply + 1, length - ply - 1);
+        pvLength[ply] = Math.max(length, ply + 1);
+    }
+}
@@ -0,0 +1,274 @@
+package org.chess4j.engine;
+
+import java.util.Arrays;
+
+/**
+ * The selective techniques of a {@link Searcher}, which are each switched on
+ * or off, and their tunable parameters. Selectivity is immutable: the
+ * {@code with} methods return modified copies, so a searcher can read it
+ * while another thread prepares the settings of the next search.
+ * <p>
+ * The reductions of late moves are precomputed for every pair of depth and
+ * move number as {@code 0.75 + ln(depth) * ln(moveNumber) / divisor}, where
+ * the divisor is given in hundredths by
+ * {@link Parameter#LATE_MOVE_REDUCTION_DIVISOR}.
+ */
+public final class Selectivity {
+
+    /**
+     * The techniques that can be switched on and off.
+     */
+    public enum Technique {
+
+        /**
+         * Passes the move and cuts off if a reduced search still fails high.
+         * Skipped in check, after another null move and without pieces other
+         * than pawns, where passing may be better than any move (zugzwang).
+         */
+        NULL_MOVE("Null Move Pruning"),
+
+        /**
+         * Searches the late quiet moves with less depth and only searches
+         * them again if they raise alpha.
+         */
+        LATE_MOVE_REDUCTIONS("Late Move Reductions"),
+
+        /**
+         * Skips the quiet moves near the horizon if the static evaluation
+         * plus a margin cannot reach alpha.
+         */
+        FUTILITY("Futility Pruning"),
+
+        /**
+         * Cuts off near the horizon if the static evaluation minus a margin
+         * still exceeds beta.
+         */
+        REVERSE_FUTILITY("Reverse Futility Pruning"),
+
+        /**
+         * Drops into the quiescence search near the horizon if the static
+         * evaluation plus a margin is below alpha.
+         */
+        RAZORING("Razoring"),
+
+        /**
+         * Searches the nodes in check one ply deeper.
+         */
+        CHECK_EXTENSIONS("Check Extensions");
+
+        private final String optionName;
+
+        Technique(String optionName) {
+            this.optionName = optionName;
+        }
+
+        /**
+         * Returns the name of the UCI option that switches the technique.
+         *
+         * @return the option name.
+         */
+        public String optionName() {
+            return optionName;
+        }
+    }
+
+    /**
+     * The tunable parameters of the techniques.
+     */
+    public enum Parameter {
+
+        /**
+         * The plies a null move search is reduced by in addition to one
+         * quarter of the depth.
+         */
+        NULL_MOVE_REDUCTION("Null Move Reduction", 3, 1, 6),
+
+        /**
+         * The divisor of the late move reductions in hundredths, smaller
+         * values reduce more.
+         */
+        LATE_MOVE_REDUCTION_DIVISOR("Late Move Reduction Divisor", 225, 100, 1000),
+
+        /**
+         * The futility margin per ply in centipawns.
+         */
+        FUTILITY_MARGIN("Futility Margin", 100, 0, 1000),
+
+        /**
+         * The reverse futility margin per ply in centipawns.
+         */
+        REVERSE_FUTILITY_MARGIN("Reverse Futility Margin", 80, 0, 1000),
+
+        /**
+         * The razoring margin per ply in centipawns.
+         */
+        RAZORING_MARGIN("Razoring Margin", 250, 0, 1000);
+
+        private final String optionName;
+        private final int defaultValue;
+        private final int min;
+        private final int max;
+
+        Parameter(String optionName, int defaultValue, int min, int max) {
+            this.optionName = optionName;
+            this.defaultValue = defaultValue;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Returns the name of the UCI option that sets the parameter.
+         *
+         * @return the option name.
+         */
+        public String optionName() {
+            return optionName;
+        }
+
+        /**
+         * Returns the default value of the parameter.
+         *
+         * @return the default value.
+         */
+        public int defaultValue() {
+            return defaultValue;
+        }
+
+        /**
+         * Returns the smallest value of the parameter.
+         *
+         * @return the smallest value.
+         */
+        public int min() {
+            return min;
+        }
+
+        /**
+         * Returns the largest value of the parameter.
+         *
+         * @return the largest value.
+         */
+        public int max() {
+            return max;
+        }
+    }
+
+    /**
+     * All techniques with the default parameters.
+     */
+    public static final Selectivity DEFAULT = new Selectivity(
+            (1 << Technique.values().length) - 1, defaultValues());
+
+    /**
+     * A full width search without any selective technique.
+     */
+    public static final Selectivity NONE = new Selectivity(0, defaultValues());
+
+    /*
+     * The largest depth and move number of the reduction table.
+     */
+    private static final int MAX_INDEX = 63;
+
+    private final int techniques;
+    private final int[] values;
+    private final byte[] reductions = new byte[(MAX_INDEX + 1) * (MAX_INDEX + 1)];
+
+    // Private constructor, use the constants and the with methods.
+    private Selectivity(int techniques, int[] values) {
+        this.techniques = techniques;
+        this.values = values;
+        double divisor = values[Parameter.LATE_MOVE_REDUCTION_DIVISOR.ordinal()] / 100.0;
+        for (int depth = 1; depth <= MAX_INDEX; depth++) {
+            for (int moveNumber = 1; moveNumber <= MAX_INDEX; moveNumber++) {
+                reductions[depth * (MAX_INDEX + 1) + moveNumber] =
+                        (byte) (0.75 + Math.log(depth) * Math.log(moveNumber) / divisor);
+            }
+        }
+    }
+
+    private static int[] defaultValues() {
+        int[] values = new int[Parameter.values().length];
+        for (Parameter parameter : Parameter.values()) {
+            values[parameter.ordinal()] = parameter.defaultValue();
+        }
+        return values;
+    }
+
+    /**
+     * Returns {@code true} if the given technique is switched on.
+     *
+     * @param technique the given technique.
+     * @return {@code true} if the technique is used.
+     */
+    public boolean isEnabled(Technique technique) {
+        return (techniques & 1 << technique.ordinal()) != 0;
+    }
+
+    /**
+     * Returns the value of the given parameter.
+     *
+     * @param parameter the given parameter.
+     * @return the value of the parameter.
+     */
+    public int value(Parameter parameter) {
+        return values[parameter.ordinal()];
+    }
+
+    /**
+     * Returns the reduction of a late move in plies.
+     *
+     * @param depth      the remaining depth of the node.
+     * @param moveNumber the number of the move among the legal moves of the
+     *                   node, starting with one.
+     * @return the reduction, which may exceed the depth.
+     */
+    public int reduction(int depth, int moveNumber) {
+        return reductions[Math.min(depth, MAX_INDEX) * (MAX_INDEX + 1) + Math.min(moveNumber, MAX_INDEX)];
+    }
+
+    /**
+     * Returns a copy with the given technique switched on or off.
+     *
+     * @param technique the given technique.
+     * @param enabled   {@code true} to use the technique.
+     * @return the modified copy.
+     */
+    public Selectivity with(Technique technique, boolean enabled) {
+        int bit = 1 << technique.ordinal();
+        return new Selectivity(enabled ? techniques | bit : techniques & ~bit, values);
+    }
+
+    /**
+     * Returns a copy with the given value of the given parameter.
+     *
+     * @param parameter the given parameter.
+     * @param value     the new value.
+     * @return the modified copy.
+     * @throws IllegalArgumentException if the value is out of the range of
+     *                                  the parameter.
+     */
+    public Selectivity with(Parameter parameter, int value) {
+        if (value < parameter.min() || value > parameter.max()) {
+            throw new IllegalArgumentException(parameter.optionName() + " must be between " + parameter.min()
+                    + " and " + parameter.max() + " but is " + value);
+        }
+        int[] copy = Arrays.copyOf(values, values.length);
+        copy[parameter.ordinal()] = value;
+        return new Selectivity(techniques, copy);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Selectivity[");
+        for (Technique technique : Technique.values()) {
+            if (isEnabled(technique)) {
+                builder.append(technique.optionName()).append(", ");
+            }
+        }
+        for (Parameter parameter : Parameter.values()) {
+            builder.append(parameter.optionName()).append('=').append(value(parameter)).append(", ");
+        }
+        builder.setLength(builder.length() - 2);
+        return builder.append(']').toString();
+    }
+}
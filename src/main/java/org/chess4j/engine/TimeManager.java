@@ -0,0 +1,186 @@
+package org.chess4j.engine;
+
+/**
+ * Decides when an iterative deepening search with a time limit ends. The
+ * search is interrupted at the deadline, which lies a safety margin before
+ * the hard time, so that the search can unwind, wait for its helper threads
+ * and send its result before the hard time is up. After every completed
+ * iteration the
+ * manager decides whether another iteration is started: for a fixed time the
+ * search goes on until the deadline, for a clock it ends as soon as the
+ * elapsed time reaches the soft time.
+ * <p>
+ * The soft time of a clock is scaled by the course of the search. It grows
+ * when the best move changes between iterations or the score drops, as the
+ * search has not settled yet, and it shrinks when the best move has been
+ * stable for several iterations. The scaled soft time never exceeds the hard
+ * time. A time manager serves a single search.
+ */
+public final class TimeManager {
+
+    /*
+     * The number of moves the remaining time is split into if the remaining
+     * time is for the rest of the game.
+     */
+    private static final int MOVES_TO_GO = 30;
+
+    /*
+     * The hard time is at most this multiple of the soft time.
+     */
+    private static final int HARD_FACTOR = 4;
+
+    /*
+     * The iterations with the same best move after which the soft time
+     * shrinks.
+     */
+    private static final int STABLE_ITERATIONS = 4;
+
+    /*
+     * A drop of the score by this many centipawns doubles the soft time.
+     */
+    private static final int SCORE_DROP = 100;
+
+    /*
+     * The safety margin is this part of the hard time, but at most
+     * MAX_MARGIN nanoseconds.
+     */
+    private static final int MARGIN_DIVISOR = 5;
+    private static final long MAX_MARGIN = 50_000_000L;
+
+    private final long start;
+    private final long soft;
+    private final long hard;
+    private final long margin;
+    private final boolean clock;
+
+    /*
+     * The number of changes of the best move, halved with every iteration.
+     */
+    private double changes;
+
+    /*
+     * The number of iterations since the best move changed.
+     */
+    private int stable;
+
+    private int iterations;
+    private int lastMove;
+    private int lastScore;
+    private double scale = 1;
+
+    /**
+     * Creates the time manager of a search with the given limits. The time
+     * of a clock runs since the limits were created, a fixed time since the
+     * given start.
+     *
+     * @param limits the limits of the search.
+     * @param start  the value of {@link System#nanoTime()} at the start of
+     *               the search.
+     */
+    public TimeManager(Limits limits, long start) {
+        this.clock = limits.isClock();
+        this.start = clock ? limits.origin() : start;
+        this.soft = limits.softMillis() * 1_000_000L;
+        this.hard = limits.millis() * 1_000_000L;
+        this.margin = Math.min(hard / MARGIN_DIVISOR, MAX_MARGIN);
+    }
+
+    /**
+     * Returns the soft time of a move of a clock, which is an equal share of
+     * the remaining time plus most of the increment, but at most the time
+     * that remains for the hard time.
+     *
+     * @param available the remaining time without the overhead, at least one.
+     * @param increment the increment per move.
+     * @param movesToGo the number of moves to the next time control or zero.
+     * @return the soft time in milliseconds, at least one.
+     */
+    static long softMillis(long available, long increment, int movesToGo) {
+        long share = available / (movesToGo > 0 ? movesToGo : MOVES_TO_GO) + increment * 3 / 4;
+        return Math.max(1, Math.min(share, maxMillis(available, movesToGo)));
+    }
+
+    /**
+     * Returns the hard time of a move of a clock, which is a multiple of the
+     * soft time, but at most a part of the remaining time, so that a
+     * single move cannot lose the game on time.
+     *
+     * @param available the remaining time without the overhead, at least one.
+     * @param soft      the soft time.
+     * @return the hard time in milliseconds, at least the soft time.
+     */
+    static long hardMillis(long available, long soft) {
+        return Math.max(soft, Math.min(soft * HARD_FACTOR, maxMillis(available, 0)));
+    }
+
+    /*
+     * Returns the largest time a single move may take. The last move before
+     * the time control may use nearly all of the time.
+     */
+    private static long maxMillis(long available, int movesToGo) {
+        return movesToGo == 1 ? available * 9 / 10 : available / 4;
+    }
+
+    /**
+     * Returns the value of {@link System#nanoTime()} at which the search must
+     * stop or zero if the time is not limited. The deadline is the hard time
+     * minus the safety margin.
+     *
+     * @return the deadline or zero.
+     */
+    public long deadline() {
+        return hard == 0 ? 0 : start + hard - margin;
+    }
+
+    /**
+     * Returns the current soft time in milliseconds, which is scaled by the
+     * course of the search.
+     *
+     * @return the scaled soft time.
+     */
+    public long softMillis() {
+        return Math.min((long) (soft * scale), hard) / 1_000_000L;
+    }
+
+    /**
+     * Records the best move and score of a completed iteration.
+     *
+     * @param move  the best move.
+     * @param score the score of the iteration.
+     */
+    public void update(int move, int score) {
+        changes /= 2;
+        double dropFactor = 1;
+        if (iterations > 0) {
+            if (move != lastMove) {
+                changes++;
+                stable = 0;
+            } else {
+                stable++;
+            }
+            if (!Searcher.isMate(score) && !Searcher.isMate(lastScore) && score < lastScore) {
+                dropFactor += (double) Math.min(lastScore - score, SCORE_DROP) / SCORE_DROP;
+            }
+        }
+        iterations++;
+        lastMove = move;
+        lastScore = score;
+        double stability = stable >= STABLE_ITERATIONS ? 0.75 : 1;
+        scale = (1 + changes / 2) * dropFactor * stability;
+    }
+
+    /**
+     * Returns {@code true} if no new iteration should be started at the given
+     * time.
+     *
+     * @param now the value of {@link System#nanoTime()}.
+     * @return {@code true} if the search should stop.
+     */
+    public boolean shouldStop(long now) {
+        if (hard == 0) {
+            return false;
+        }
+        long elapsed = now - start;
+        return elapsed >= (clock ? Math.min((long) (soft * scale), hard - margin) : hard - margin);
+    }
+}
@@ -0,0 +1,271 @@
+package org.chess4j.engine;
+
+import org.chess4j.position.Moves;
+
+import java.util.Arrays;
+
+/**
+ * A lock-free transposition table that stores the results of searched
+ * positions by their Zobrist key. The table is a flat {@code long} array of
+ * clusters of {@value #CLUSTER_SIZE} entries, so that all entries of a key
+ * share one cache line and the table consists of a single object.
+ * <p>
+ * An entry consists of two {@code long} values: the packed data and the key
+ * XOR the data. Threads read and write entries without synchronization. A
+ * torn entry, whose halves were written by different threads, fails the XOR
+ * check and is treated as missing, so a probe never returns the data of
+ * another position unless two keys collide.
+ * <p>
+ * The data holds the best move, the score, the depth, the bound and the
+ * generation of the search that stored it, and is decoded by the static
+ * methods of this class, so probing does not allocate. Within a cluster an
+ * entry of the same key is replaced, otherwise the entry that is shallowest
+ * and oldest.
+ */
+public final class TranspositionTable {
+
+    /**
+     * The number of entries of a cluster.
+     */
+    public static final int CLUSTER_SIZE = 4;
+
+    /**
+     * The result of a probe that finds no entry.
+     */
+    public static final long MISS = 0L;
+
+    /**
+     * The bound of a score that is at most the true score, as all moves
+     * failed low.
+     */
+    public static final int UPPER = 1;
+
+    /**
+     * The bound of a score that is at least the true score, as a move failed
+     * high.
+     */
+    public static final int LOWER = 2;
+
+    /**
+     * The bound of an exact score.
+     */
+    public static final int EXACT = 3;
+
+    /*
+     * Number of bytes of one entry.
+     */
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    /*
+     * Layout of the data: the move in bits 0 - 16, the score plus 2^15 in
+     * bits 17 - 32, the depth in bits 33 - 40, the bound in bits 41 - 42 and
+     * the generation in bits 43 - 50.
+     */
+    private static final int SCORE_SHIFT = 17;
+    private static final int DEPTH_SHIFT = 33;
+    private static final int BOUND_SHIFT = 41;
+    private static final int GENERATION_SHIFT = 43;
+    private static final int SCORE_OFFSET = 1 << 15;
+    private static final int MAX_DEPTH = 255;
+    private static final int GENERATIONS = 256;
+
+    /*
+     * The entries, two longs each.
+     */
+    private long[] table;
+
+    /*
+     * The generation of the current search.
+     */
+    private int generation;
+
+    /**
+     * Creates a table of at most the given size in megabytes. The number of
+     * clusters is the largest power of two that fits.
+     *
+     * @param megabytes the size of the table, at least one.
+     * @throws IllegalArgumentException if the size is less than one.
+     */
+    public TranspositionTable(int megabytes) {
+        resize(megabytes);
+    }
+
+    /**
+     * Replaces the table by an empty table of at most the given size in
+     * megabytes. The table must not be resized during a search.
+     *
+     * @param megabytes the size of the table, at least one.
+     * @throws IllegalArgumentException if the size is less than one.
+     */
+    public void resize(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Size must be at least 1 MB but is " + megabytes);
+        }
+        long clusters = Long.highestOneBit((long) megabytes * 1024 * 1024 / (ENTRY_BYTES * CLUSTER_SIZE));
+        clusters = Math.min(clusters, 1L << 27);
+        this.table = new long[(int) clusters * CLUSTER_SIZE * 2];
+        this.generation = 0;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    /**
+     * Starts a new search, so that the entries of former searches are
+     * replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    /**
+     * Returns the data of the entry with the given key or {@link #MISS}.
+     *
+     * @param key the Zobrist key of the position.
+     * @return the packed data or {@link #MISS}.
+     */
+    public long probe(long key) {
+        long[] table = this.table;
+        int index = index(key, table);
+        for (int i = 0; i < CLUSTER_SIZE; i++, index += 2) {
+            long data = table[index + 1];
+            if (data != MISS && (table[index] ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of the position with the given key. If the given move
+     * is {@link Moves#NONE} the move of a former entry of the same key is
+     * kept.
+     *
+     * @param key   the Zobrist key of the position.
+     * @param move  the best move or {@link Moves#NONE}.
+     * @param score the score, whose absolute value must be less than 2^15.
+     * @param depth the depth of the search, which is clamped to 0 - 255.
+     * @param bound the bound of the score, one of {@link #UPPER},
+     *              {@link #LOWER} and {@link #EXACT}.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        long[] table = this.table;
+        int first = index(key, table);
+        int replace = first;
+        int worst = Integer.MAX_VALUE;
+        for (int i = 0, index = first; i < CLUSTER_SIZE; i++, index += 2) {
+            long data = table[index + 1];
+            if (data == MISS || (table[index] ^ data) == key) {
+                replace = index;
+                if (data != MISS && move == Moves.NONE) {
+                    move = move(data);
+                }
+                break;
+            }
+            // Every generation of age costs as much as eight plies of depth.
+            int age = (generation - generation(data) + GENERATIONS) % GENERATIONS;
+            int value = depth(data) - 8 * age;
+            if (value < worst) {
+                worst = value;
+                replace = index;
+            }
+        }
+        long data = move
+                | (long) (score + SCORE_OFFSET) << SCORE_SHIFT
+                | (long) Math.max(0, Math.min(depth, MAX_DEPTH)) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT;
+        table[replace] = key ^ data;
+        table[replace + 1] = data;
+    }
+
+    /**
+     * Returns the number of entries per thousand that were stored by the
+     * current search, which is estimated from the first thousand entries.
+     *
+     * @return the permille of used entries.
+     */
+    public int hashfull() {
+        long[] table = this.table;
+        int entries = Math.min(1000, table.length / 2);
+        int used = 0;
+        for (int i = 0; i < entries; i++) {
+            long data = table[2 * i + 1];
+            if (data != MISS && generation(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / entries;
+    }
+
+    /**
+     * Returns the number of entries of the table.
+     *
+     * @return the number of entries.
+     */
+    public int capacity() {
+        return table.length / 2;
+    }
+
+    /**
+     * Returns the best move of the given data or {@link Moves#NONE}.
+     *
+     * @param data the data of an entry.
+     * @return the best move.
+     */
+    public static int move(long data) {
+        return (int) data & (1 << SCORE_SHIFT) - 1;
+    }
+
+    /**
+     * Returns the score of the given data.
+     *
+     * @param data the data of an entry.
+     * @return the score.
+     */
+    public static int score(long data) {
+        return (int) (data >>> SCORE_SHIFT & 0xFFFF) - SCORE_OFFSET;
+    }
+
+    /**
+     * Returns the depth of the given data.
+     *
+     * @param data the data of an entry.
+     * @return the depth.
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT & 0xFF);
+    }
+
+    /**
+     * Returns the bound of the given data.
+     *
+     * @param data the data of an entry.
+     * @return the bound, one of {@link #UPPER}, {@link #LOWER} and
+     * {@link #EXACT}.
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT & 3);
+    }
+
+    /*
+     * Returns the generation of the given data.
+     */
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT & 0xFF);
+    }
+
+    /*
+     * Returns the array index of the first long of the cluster of the key.
+     * The mask is derived from the given table, as the table may be resized.
+     */
+    private static int index(long key, long[] table) {
+        int mask = table.length / (2 * CLUSTER_SIZE) - 1;
+        return ((int) (key ^ key >>> 32) & mask) * 2 * CLUSTER_SIZE;
+    }
+}
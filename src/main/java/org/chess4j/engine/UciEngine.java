@@ -0,0 +1,640 @@
+package org.chess4j.engine;
+
+import org.chess4j.Fen;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A chess engine that speaks the Universal Chess Interface (UCI), so that it
+ * can be used by chess GUIs and tournament managers. The engine reads the
+ * commands line by line and searches with a {@link ParallelSearcher} on its
+ * own thread, so that {@code stop} and {@code ponderhit} are processed while
+ * the search is running.
+ * <p>
+ * The engine keeps the position of the last {@code position} command. If
+ * the next command starts from the same position and repeats the moves of
+ * the last one, only the new moves are checked and made, so a game does not
+ * replay all of its moves for every search.
+ */
+public class UciEngine {
+
+    /**
+     * The name the engine reports.
+     */
+    public static final String NAME = "chess4j";
+
+    /**
+     * The largest transposition table in megabytes.
+     */
+    public static final int MAX_HASH_MB = 32768;
+
+    /**
+     * The largest number of search threads.
+     */
+    public static final int MAX_THREADS = 256;
+
+    /*
+     * Moves in the UCI format, e.g. e7e8q.
+     */
+    private static final Pattern MOVE = Pattern.compile("([a-h][1-8])([a-h][1-8])([nbrq])?");
+
+    /**
+     * The default time in milliseconds that is kept per move for the
+     * communication with the GUI.
+     */
+    public static final int DEFAULT_MOVE_OVERHEAD = 30;
+
+    /*
+     * Marks a clock or a move time the go command did not give.
+     */
+    private static final long NO_CLOCK = Long.MIN_VALUE;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /*
+     * The factory of the evaluators of the search threads.
+     */
+    private final Supplier<? extends Evaluator> evaluators;
+
+    /*
+     * The table of all searchers, which keeps its entries between searches.
+     */
+    private final TranspositionTable table = new TranspositionTable(Searcher.DEFAULT_HASH_MB);
+
+    /*
+     * The thread that runs the searches.
+     */
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(daemon("chess4j-search"));
+
+    /*
+     * The thread that stops a search after a ponder hit.
+     */
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemon("chess4j-timer"));
+
+    /*
+     * Guards the state of a running search that is shared with the command
+     * thread.
+     */
+    private final Object lock = new Object();
+
+    private ParallelSearcher searcher;
+
+    private long moveOverhead = DEFAULT_MOVE_OVERHEAD;
+
+    private Selectivity selectivity = Selectivity.DEFAULT;
+
+    /*
+     * The position of the last position command and the record and moves it
+     * was reached by.
+     */
+    private Position position = new Position(Fen.parse(Fen.START));
+    private String fen = Fen.START;
+    private final List<String> moves = new ArrayList<>();
+
+    /*
+     * The running or the last search.
+     */
+    private Future<?> search;
+
+    /*
+     * Set by a stop command. Checked after every iteration in addition to
+     * the stop of the searcher.
+     */
+    private volatile boolean stopRequested;
+
+    /*
+     * Set while a finished search must wait for stop or ponderhit before it
+     * sends its best move.
+     */
+    private boolean waiting;
+
+    /*
+     * The search is infinite and waits for stop even after a ponder hit.
+     */
+    private boolean infinite;
+
+    /*
+     * The time of a pondering search after a ponder hit or zero.
+     */
+    private long ponderMillis;
+
+    /*
+     * Stops the search after a ponder hit.
+     */
+    private ScheduledFuture<?> alarm;
+
+    /**
+     * Creates an engine that reads the commands of the given reader and
+     * writes its answers to the given stream.
+     *
+     * @param in  the reader of the commands.
+     * @param out the stream of the answers.
+     */
+    public UciEngine(BufferedReader in, PrintStream out) {
+        this(in, out, PieceSquareEvaluator::new);
+    }
+
+    /**
+     * Creates an engine that reads the commands of the given reader, writes
+     * its answers to the given stream and evaluates with the evaluators of
+     * the given factory, one per search thread.
+     *
+     * @param in         the reader of the commands.
+     * @param out        the stream of the answers.
+     * @param evaluators the factory of the evaluators.
+     */
+    public UciEngine(BufferedReader in, PrintStream out, Supplier<? extends Evaluator> evaluators) {
+        this.in = in;
+        this.out = out;
+        this.evaluators = evaluators;
+        this.searcher = new ParallelSearcher(1, evaluators, table);
+    }
+
+    /**
+     * Runs an engine on the standard input and output.
+     *
+     * @param args ignored.
+     * @throws IOException if the standard input cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        new UciEngine(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), System.out).run();
+    }
+
+    /**
+     * Processes commands until {@code quit} is received or the input ends.
+     * The tables of the search are built before the first command, so that
+     * they do not take the time of the first move. All threads of the engine
+     * are stopped afterwards.
+     *
+     * @throws IOException if the input cannot be read.
+     */
+    public void run() throws IOException {
+        Searcher.warmUp();
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] tokens = line.trim().split("\\s+");
+                if (tokens[0].equals("quit")) {
+                    break;
+                }
+                try {
+                    execute(tokens);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // The engine keeps running after a bad command or a failed search.
+                    send("info string " + e.getMessage());
+                }
+            }
+        } finally {
+            try {
+                finishSearch();
+            } catch (IllegalStateException e) {
+                send("info string " + e.getMessage());
+            }
+            searcher.close();
+            worker.shutdownNow();
+            timer.shutdownNow();
+        }
+    }
+
+    /*
+     * Executes a command other than quit.
+     */
+    private void execute(String[] tokens) {
+        switch (tokens[0]) {
+            case "":
+                break;
+            case "uci":
+                send("id name " + NAME);
+                send("id author chess4j");
+                send("option name Hash type spin default " + Searcher.DEFAULT_HASH_MB + " min 1 max " + MAX_HASH_MB);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name Move Overhead type spin default " + DEFAULT_MOVE_OVERHEAD + " min 0 max 5000");
+                send("option name Ponder type check default false");
+                for (Selectivity.Technique technique : Selectivity.Technique.values()) {
+                    send("option name " + technique.optionName() + " type check default true");
+                }
+                for (Selectivity.Parameter parameter : Selectivity.Parameter.values()) {
+                    send("option name " + parameter.optionName() + " type spin default " + parameter.defaultValue()
+                            + " min " + parameter.min() + " max " + parameter.max());
+                }
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "ucinewgame":
+                finishSearch();
+                table.clear();
+                break;
+            case "setoption":
+                finishSearch();
+                setOption(tokens);
+                break;
+            case "position":
+                position(tokens);
+                break;
+            case "go":
+                finishSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stop();
+                break;
+            case "ponderhit":
+                ponderhit();
+                break;
+            default:
+                send("info string Unknown command " + tokens[0]);
+        }
+    }
+
+    /*
+     * Sets the hash size, the number of threads, the move overhead or the
+     * selectivity of the search.
+     */
+    private void setOption(String[] tokens) {
+        int value = indexOf(tokens, "value");
+        String name = String.join(" ", Arrays.copyOfRange(tokens, 2, value < 0 ? tokens.length : value));
+        if (name.equalsIgnoreCase("Ponder")) {
+            return;
+        }
+        if (value < 0 || value + 1 >= tokens.length) {
+            throw new IllegalArgumentException("Missing value of option " + name);
+        }
+        for (Selectivity.Technique technique : Selectivity.Technique.values()) {
+            if (name.equalsIgnoreCase(technique.optionName())) {
+                selectivity = selectivity.with(technique, Boolean.parseBoolean(tokens[value + 1]));
+                searcher.setSelectivity(selectivity);
+                return;
+            }
+        }
+        for (Selectivity.Parameter parameter : Selectivity.Parameter.values()) {
+            if (name.equalsIgnoreCase(parameter.optionName())) {
+                selectivity = selectivity.with(parameter, Integer.parseInt(tokens[value + 1]));
+                searcher.setSelectivity(selectivity);
+                return;
+            }
+        }
+        int number = Integer.parseInt(tokens[value + 1]);
+        if (name.equalsIgnoreCase("Hash")) {
+            table.resize(Math.min(number, MAX_HASH_MB));
+        } else if (name.equalsIgnoreCase("Threads")) {
+            if (number < 1 || number > MAX_THREADS) {
+                throw new IllegalArgumentException("Threads must be between 1 and " + MAX_THREADS + " but is " + number);
+            }
+            if (number != searcher.threads()) {
+                searcher.close();
+                searcher = new ParallelSearcher(number, evaluators, table);
+                searcher.setSelectivity(selectivity);
+            }
+        } else if (name.equalsIgnoreCase("Move Overhead")) {
+            if (number < 0) {
+                throw new IllegalArgumentException("Move overhead must not be negative but is " + number);
+            }
+            moveOverhead = number;
+        } else {
+            throw new IllegalArgumentException("Unknown option " + name);
+        }
+    }
+
+    /*
+     * Sets up the position of the command. If it continues the last position,
+     * only the new moves are made.
+     */
+    private void position(String[] tokens) {
+        int movesIndex = indexOf(tokens, "moves");
+        int end = movesIndex < 0 ? tokens.length : movesIndex;
+        String fen;
+        if (tokens.length > 1 && tokens[1].equals("startpos")) {
+            fen = Fen.START;
+        } else if (tokens.length > 2 && tokens[1].equals("fen")) {
+            fen = String.join(" ", Arrays.copyOfRange(tokens, 2, end));
+        } else {
+            throw new IllegalArgumentException("Expected startpos or fen");
+        }
+        List<String> next = movesIndex < 0
+                ? List.of() : Arrays.asList(tokens).subList(movesIndex + 1, tokens.length);
+        if (!fen.equals(this.fen) || next.size() < moves.size() || !next.subList(0, moves.size()).equals(moves)) {
+            this.position = new Position(Fen.parse(fen));
+            this.fen = fen;
+            moves.clear();
+        }
+        for (int i = moves.size(); i < next.size(); i++) {
+            int move = parseMove(next.get(i));
+            if (move == Moves.NONE) {
+                throw new IllegalArgumentException("Illegal move " + next.get(i));
+            }
+            position.make(move);
+            moves.add(next.get(i));
+        }
+    }
+
+    /*
+     * Returns the given legal move in the UCI format or Moves.NONE.
+     */
+    private int parseMove(String uci) {
+        Matcher matcher = MOVE.matcher(uci);
+        if (!matcher.matches()) {
+            return Moves.NONE;
+        }
+        int start = Tile.valueOf(matcher.group(1)).ordinal();
+        int end = Tile.valueOf(matcher.group(2)).ordinal();
+        int move = position.move(start, end);
+        if (matcher.group(3) != null) {
+            if (!Moves.isPromotion(move)) {
+                return Moves.NONE;
+            }
+            move = Moves.promotion(start, end, promotionType(matcher.group(3).charAt(0)));
+        } else if (Moves.isPromotion(move)) {
+            return Moves.NONE;
+        }
+        return position.isLegal(move) ? move : Moves.NONE;
+    }
+
+    /*
+     * Returns the type of the given promotion letter.
+     */
+    private static Piece.Type promotionType(char letter) {
+        switch (letter) {
+            case 'n':
+                return Piece.Type.KNIGHT;
+            case 'b':
+                return Piece.Type.BISHOP;
+            case 'r':
+                return Piece.Type.ROOK;
+            default:
+                return Piece.Type.QUEEN;
+        }
+    }
+
+    /*
+     * Starts a search of the current position with the limits of the command.
+     */
+    private void go(String[] tokens) {
+        int depth = Limits.MAX_DEPTH;
+        long nodes = 0;
+        long moveTime = NO_CLOCK;
+        long[] time = {NO_CLOCK, NO_CLOCK};
+        long[] increment = new long[2];
+        int movesToGo = 0;
+        boolean infinite = false;
+        boolean ponder = false;
+        for (int i = 1; i < tokens.length; i++) {
+            switch (tokens[i]) {
+                case "depth":
+                    depth = Integer.parseInt(value(tokens, ++i));
+                    break;
+                case "nodes":
+                    nodes = Long.parseLong(value(tokens, ++i));
+                    break;
+                case "movetime":
+                    moveTime = Long.parseLong(value(tokens, ++i));
+                    break;
+                case "wtime":
+                    time[0] = Long.parseLong(value(tokens, ++i));
+                    break;
+                case "btime":
+                    time[1] = Long.parseLong(value(tokens, ++i));
+                    break;
+                case "winc":
+                    increment[0] = Long.parseLong(value(tokens, ++i));
+                    break;
+                case "binc":
+                    increment[1] = Long.parseLong(value(tokens, ++i));
+                    break;
+                case "movestogo":
+                    movesToGo = Integer.parseInt(value(tokens, ++i));
+                    break;
+                case "infinite":
+                    infinite = true;
+                    break;
+                case "ponder":
+                    ponder = true;
+                    break;
+                default:
+                    // Ignores unsupported parameters like searchmoves and mate.
+            }
+        }
+        if (moveTime != NO_CLOCK && moveTime < 0) {
+            throw new IllegalArgumentException("Move time must not be negative but is " + moveTime);
+        }
+        int side = position.sideToMove().ordinal();
+        Limits clock = time[side] == NO_CLOCK ? null
+                : Limits.clock(time[side], increment[side], movesToGo, moveOverhead).withDepth(depth);
+        Limits limits = Limits.depth(depth);
+        long ponderMillis = 0;
+        if (ponder) {
+            // The clock of a pondering search starts with the ponder hit.
+            ponderMillis = moveTime != NO_CLOCK ? Math.max(1, moveTime - moveOverhead)
+                    : clock != null ? clock.softMillis() : 0;
+        } else if (!infinite && moveTime != NO_CLOCK) {
+            // A move time of zero still searches the first iteration.
+            limits = Limits.of(depth, Math.max(1, moveTime - moveOverhead));
+        } else if (!infinite && clock != null) {
+            limits = clock;
+        }
+        if (nodes > 0) {
+            limits = limits.withNodes(nodes);
+        }
+        synchronized (lock) {
+            this.infinite = infinite;
+            this.waiting = infinite || ponder;
+            this.ponderMillis = infinite ? 0 : ponderMillis;
+        }
+        // A stop that arrives from now on ends the search, even before the
+        // worker has started it.
+        searcher.prepare();
+        stopRequested = false;
+        Position root = new Position(position);
+        ParallelSearcher searcher = this.searcher;
+        Limits searchLimits = limits;
+        SearchResult fallback = firstMove(root);
+        search = worker.submit(() -> think(searcher, root, searchLimits, fallback));
+    }
+
+    /*
+     * Returns the value token of the parameter before the given index.
+     */
+    private static String value(String[] tokens, int index) {
+        if (index >= tokens.length) {
+            throw new IllegalArgumentException("Missing value of " + tokens[index - 1]);
+        }
+        return tokens[index];
+    }
+
+    /*
+     * Returns the result that plays the first legal move of the given
+     * position, which is sent if the search fails.
+     */
+    private static SearchResult firstMove(Position position) {
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegal(position, legal);
+        return new SearchResult(legal.isEmpty() ? new int[0] : new int[]{legal.get(0)}, Searcher.DRAW, 0, 0);
+    }
+
+    /*
+     * Searches the given position on the worker thread and sends the best
+     * move once the GUI may receive it. A failed search is reported and
+     * sends the given fallback, so that the GUI still gets a move.
+     */
+    private void think(ParallelSearcher searcher, Position root, Limits limits, SearchResult fallback) {
+        long start = System.nanoTime();
+        SearchResult result = fallback;
+        try {
+            result = searcher.search(root, limits, iteration -> {
+                if (stopRequested) {
+                    searcher.stop();
+                }
+                info(searcher, iteration, start);
+            });
+        } catch (RuntimeException e) {
+            send("info string The search failed: " + e);
+        } finally {
+            bestMove(result);
+        }
+    }
+
+    /*
+     * Sends the best move of the given result once the GUI may receive it.
+     */
+    private void bestMove(SearchResult result) {
+        synchronized (lock) {
+            try {
+                while (waiting) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (alarm != null) {
+                alarm.cancel(false);
+                alarm = null;
+            }
+        }
+        int[] pv = result.pv();
+        String bestMove = "bestmove " + Moves.toString(result.move());
+        send(pv.length > 1 ? bestMove + " ponder " + Moves.toString(pv[1]) : bestMove);
+    }
+
+    /*
+     * Sends the information about a completed iteration.
+     */
+    private void info(ParallelSearcher searcher, SearchResult result, long start) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long nodes = searcher.totalNodes();
+        StringBuilder sb = new StringBuilder("info depth ").append(result.depth())
+                .append(" score ").append(result.scoreToString())
+                .append(" nodes ").append(nodes)
+                .append(" nps ").append(nodes * 1000 / Math.max(1, millis))
+                .append(" time ").append(millis)
+                .append(" hashfull ").append(table.hashfull())
+                .append(" pv");
+        for (int move : result.pv()) {
+            sb.append(' ').append(Moves.toString(move));
+        }
+        send(sb.toString());
+    }
+
+    /*
+     * Stops the running search, which sends its best move.
+     */
+    private void stop() {
+        stopRequested = true;
+        searcher.stop();
+        synchronized (lock) {
+            waiting = false;
+            lock.notifyAll();
+        }
+    }
+
+    /*
+     * Turns a pondering search into a normal search, which ends after the
+     * time of the go command.
+     */
+    private void ponderhit() {
+        synchronized (lock) {
+            waiting = infinite;
+            lock.notifyAll();
+            if (ponderMillis > 0 && search != null && !search.isDone()) {
+                alarm = timer.schedule(searcher::stop, ponderMillis, TimeUnit.MILLISECONDS);
+            }
+            ponderMillis = 0;
+        }
+    }
+
+    /*
+     * Stops the running search and waits until it has sent its best move.
+     */
+    private void finishSearch() {
+        if (search == null) {
+            return;
+        }
+        stop();
+        try {
+            search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search failed", e.getCause());
+        }
+        search = null;
+    }
+
+    /*
+     * Sends the given line to the GUI.
+     */
+    private void send(String line) {
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    /*
+     * Returns the index of the given token or -1.
+     */
+    private static int indexOf(String[] tokens, String token) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(token)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Returns a factory of daemon threads with the given name.
+     */
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,9 +2,12 @@ package org.chess4j.moves;
 
 import org.chess4j.Board;
 import org.chess4j.Boards;
+import org.chess4j.CastlingRights;
+import org.chess4j.Color;
 import org.chess4j.Move;
+import org.chess4j.Piece;
 import org.chess4j.Tile;
-import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.bitboard.Zobrist;
 
 public class AbstractMove implements Move {
 
@@ -37,12 +40,42 @@ public class AbstractMove implements Move {
      * @param initial the initial position of the board.
      */
     protected AbstractMove(Tile start, Tile end, Board initial) {
+        this(start, end, initial, initial.get(start), null);
+    }
+
+    /**
+     * Creates a new move, where the piece on start is removed and the given
+     * piece is put on end. The key of the result is updated incrementally from
+     * the key of the initial position and the move counters are advanced.
+     *
+     * @param start     the start tile of the move.
+     * @param end       the end tile.
+     * @param initial   the initial position of the board.
+     * @param placed    the piece that is put on end, which is the moved piece
+     *                  unless a pawn is promoted.
+     * @param enPassant the en passant target of the result or {@code null}.
+     */
+    protected AbstractMove(Tile start, Tile end, Board initial, Piece placed, Tile enPassant) {
         this.start = start;
         this.end = end;
         this.initial = Boards.copy(initial);
-        Board result = new EnumMapBoard(initial);
-        result.put(end, result.remove(start));
-        this.result = Boards.unmodifiable(result);
+        Board result = Boards.modifiableCopy(initial);
+        Piece moved = result.remove(start);
+        Piece captured = result.put(end, placed);
+        // The opponent of the moved piece is to move next.
+        Color sideToMove = moved.color().opposite();
+        int castlingRights = CastlingRights.remaining(this.initial.castlingRights(), start, end);
+        long key = this.initial.key() ^ Zobrist.state(this.initial)
+                ^ Zobrist.piece(moved, start) ^ Zobrist.piece(placed, end)
+                ^ Zobrist.state(sideToMove, castlingRights, enPassant);
+        if (captured != null) {
+            key ^= Zobrist.piece(captured, end);
+        }
+        // Pawn moves and captures cannot be undone and reset the clock.
+        int halfmoveClock = Piece.isPawn(moved) || captured != null ? 0 : this.initial.halfmoveClock() + 1;
+        int fullmoveNumber = this.initial.fullmoveNumber() + (sideToMove == Color.WHITE ? 1 : 0);
+        this.result = Boards.withState(result, sideToMove, castlingRights, enPassant, key,
+                halfmoveClock, fullmoveNumber);
     }
 
     @Override
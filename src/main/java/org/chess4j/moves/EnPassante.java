@@ -7,7 +7,7 @@ import org.chess4j.History;
 import org.chess4j.Move;
 import org.chess4j.Piece;
 import org.chess4j.Tile;
-import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.bitboard.Zobrist;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -48,15 +48,27 @@ public final class EnPassante implements Move {
     private final Optional<Piece> captured;
 
     // Private constructor
-    private EnPassante(Tile start, Tile end, History chronical) {
+    private EnPassante(Tile start, Tile end, Board board) {
         this.start = Objects.requireNonNull(start);
         this.end = Objects.requireNonNull(end);
-        Board initial = chronical.currentPosition();
-        this.initial = Objects.requireNonNull(new EnumMapBoard(initial));
-        Board board = setUpBoard(chronical.get(chronical.turnNumber() - 1));
-        this.captured = Optional.of(board.get(end));
-        board.put(end, board.remove(start));
-        this.result = Objects.requireNonNull(board);
+        this.initial = Boards.unmodifiable(board);
+        // The leaped pawn stands beside the start tile of the capturing pawn.
+        Tile leaped = Tile.valueOf(end.column(), start.row());
+        Board result = Boards.modifiableCopy(initial);
+        Piece pawn = result.remove(start);
+        Piece capturedPawn = result.remove(leaped);
+        result.put(end, pawn);
+        this.captured = Optional.of(capturedPawn);
+
+        Color sideToMove = pawn.color().opposite();
+        long key = initial.key() ^ Zobrist.state(initial)
+                ^ Zobrist.piece(pawn, start) ^ Zobrist.piece(pawn, end)
+                ^ Zobrist.piece(capturedPawn, leaped)
+                ^ Zobrist.state(sideToMove, initial.castlingRights(), null);
+        int fullmoveNumber = initial.fullmoveNumber() + (sideToMove == Color.WHITE ? 1 : 0);
+        // A capture resets the halfmove clock.
+        this.result = Boards.withState(result, sideToMove, initial.castlingRights(), null, key,
+                0, fullmoveNumber);
     }
 
     /**
@@ -70,14 +82,30 @@ public final class EnPassante implements Move {
      * @return a valid move or {@link Move#INVALID_MOVE}
      */
     public static Move perform(Tile start, Tile end, History chronicle) {
-        return isValid(start, end, chronicle) ?
-                new EnPassante(start, end, chronicle) : INVALID_MOVE;
+        return perform(start, end, chronicle.currentPosition());
+    }
+
+    /**
+     * Static factory that returns a valid EnPassante move or
+     * {@link Move#INVALID_MOVE} if none can be constructed on the given board.
+     * The leaped pawn is found by the en passant target of the board.
+     *
+     * @param start the start tile of the move.
+     * @param end   the end tile of the move.
+     * @param board the current position of the game.
+     * @return a valid move or {@link Move#INVALID_MOVE}
+     */
+    public static Move perform(Tile start, Tile end, Board board) {
+        return isValid(start, end, board) ?
+                new EnPassante(start, end, board) : INVALID_MOVE;
     }
 
     /**
      * Checks if the EnPassante move with the given position is valid. A
-     * EnPassante can only occur directly after a PawnLeap of an enemy piece. If
-     * th
+     * EnPassante can only occur directly after a PawnLeap of an enemy piece,
+     * which leaves the leaped tile as en passant target of the current
+     * position as specified by {@link Board#enPassant()}. The move is valid if
+     * a pawn of the side to move captures diagonally onto that target.
      *
      * @param chronicle the current gaming position.
      * @param start     the start coordinate.
@@ -85,25 +113,28 @@ public final class EnPassante implements Move {
      * @return {@code true} if the move is valid.
      */
     public static boolean isValid(Tile start, Tile end, History chronicle) {
-        if (chronicle.isEmpty()) {
+        return isValid(start, end, chronicle.currentPosition());
+    }
+
+    /**
+     * Checks if the EnPassante move is valid on the given board.
+     *
+     * @param start the start coordinate.
+     * @param end   the end coordinate.
+     * @param board the current position of the game.
+     * @return {@code true} if the move is valid.
+     * @see #isValid(Tile, Tile, History)
+     */
+    public static boolean isValid(Tile start, Tile end, Board board) {
+        if (end != board.enPassant()) {
             return false;
         }
-        Move lastMove = chronicle.get(chronicle.turnNumber() - 1);
-        if (lastMove instanceof PawnLeap) {
-            Board board = setUpBoard(lastMove);
-            return PawnCapture.isValid(start, end, board);
+        Piece pawn = board.get(start);
+        if (!Piece.isPawn(pawn) || pawn.color() != board.sideToMove()) {
+            return false;
         }
-        return false;
-    }
-
-    private static Board setUpBoard(Move lastMove) {
-        int dir = lastMove.moved().color() == Color.WHITE ? 1 : -1;
-        int column = lastMove.end().column();
-        int row = lastMove.end().row() - dir;
-        Tile pawnLoc = Tile.valueOf(column, row);
-        Board board = new EnumMapBoard(lastMove.result());
-        board.put(pawnLoc, board.remove(lastMove.end()));
-        return board;
+        int dir = pawn.color() == Color.WHITE ? 1 : -1;
+        return Math.abs(end.column() - start.column()) == 1 && end.row() - start.row() == dir;
     }
 
     /**
@@ -127,7 +158,7 @@ public final class EnPassante implements Move {
      */
     @Override
     public Board initial() {
-        return Boards.unmodifiable(initial);
+        return initial;
     }
 
     /**
@@ -135,7 +166,7 @@ public final class EnPassante implements Move {
      */
     @Override
     public Board result() {
-        return Boards.unmodifiable(result);
+        return result;
     }
 
     /**
@@ -4,6 +4,10 @@ import org.chess4j.Board;
 import org.chess4j.Move;
 import org.chess4j.Piece;
 import org.chess4j.Tile;
+import org.chess4j.bitboard.BitboardView;
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.bitboard.Magics;
+import org.chess4j.bitboard.TileGeometry;
 
 import java.util.Objects;
 
@@ -58,14 +62,23 @@ public class NormalMove extends AbstractMove {
         }
         Piece startPiece = initial.get(start);
 
-        // Check if the move in principle is possible
-        if (!startPiece.isValid(start, end)) {
-            return false;
-        }
+        BitboardView bitboards = initial.bitboards();
+        if (bitboards != null && isSlider(startPiece)) {
+            // A single table lookup covers the geometry and the path.
+            long occupied = bitboards.occupied();
+            if ((sliderAttacks(startPiece, start.ordinal(), occupied) & Bitboards.of(end)) == 0) {
+                return false;
+            }
+        } else {
+            // Check if the move in principle is possible
+            if (!startPiece.isValid(start, end)) {
+                return false;
+            }
 
-        // The path of the piece must be completely clear
-        if (Tile.path(start, end).stream().anyMatch(initial::containsKey)) {
-            return false;
+            // The path of the piece must be completely clear
+            if (!isPathClear(start, end, initial)) {
+                return false;
+            }
         }
 
         // The piece placed on the end Position must have a different color
@@ -75,4 +88,48 @@ public class NormalMove extends AbstractMove {
         return Objects.isNull(endPiece) ||
                 Piece.isOpposite(startPiece, endPiece);
     }
+
+    /**
+     * Returns {@code true} if no piece stands between start and end as
+     * specified by {@link Tile#path(Tile, Tile)}. The path is looked up as a
+     * bitboard, so the check does not allocate.
+     *
+     * @param start   the start coordinate.
+     * @param end     the end coordinate.
+     * @param initial the given board.
+     * @return {@code true} if the path is clear.
+     */
+    public static boolean isPathClear(Tile start, Tile end, Board initial) {
+        long path = TileGeometry.between(start.ordinal(), end.ordinal());
+        BitboardView bitboards = initial.bitboards();
+        if (bitboards != null) {
+            return (path & bitboards.occupied()) == 0;
+        }
+        for (; path != 0; path = Bitboards.withoutFirst(path)) {
+            if (initial.containsKey(Bitboards.tile(Bitboards.first(path)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Returns true if the piece is a rook, bishop or queen.
+     */
+    private static boolean isSlider(Piece piece) {
+        return Piece.isRook(piece) || Piece.isBishop(piece) || Piece.isQueen(piece);
+    }
+
+    /*
+     * Returns the tiles the given rook, bishop or queen attacks from start.
+     */
+    private static long sliderAttacks(Piece piece, int start, long occupied) {
+        if (Piece.isRook(piece)) {
+            return Magics.rookAttacks(start, occupied);
+        }
+        if (Piece.isBishop(piece)) {
+            return Magics.bishopAttacks(start, occupied);
+        }
+        return Magics.queenAttacks(start, occupied);
+    }
 }
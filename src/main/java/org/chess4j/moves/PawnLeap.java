@@ -17,7 +17,7 @@ public class PawnLeap extends AbstractMove {
 
     // Private constructor is only invoked after a validity check.
     public PawnLeap(Tile start, Tile end, Board initial) {
-        super(start, end, initial);
+        super(start, end, initial, initial.get(start), enPassant(start, end, initial));
     }
 
     /**
@@ -37,7 +37,8 @@ public class PawnLeap extends AbstractMove {
      * Checks if the pawn move with the given board position is valid. In order
      * to determine if the given pawn on start has moved or not the row of the
      * start tile is checked. If that is the case then it is checked if the pawn
-     * leaps two row in its direction. If not the move is {@code false}.
+     * leaps two row in its direction over an empty tile. If not the move is
+     * {@code false}.
      *
      * @param board the initial board position.
      * @param start the start coordinate.
@@ -61,9 +62,28 @@ public class PawnLeap extends AbstractMove {
             boolean isOnStart = pawnColor == Color.WHITE ? start.row() == 2 :
                     start.row() == 7;
 
-            return isOnStart && deltaRow * dir == 2 && deltaColumn == 0;
+            return isOnStart && deltaRow * dir == 2 && deltaColumn == 0 &&
+                    !board.containsKey(Tile.valueOf(start.column(), start.row() + dir));
         } else {
             return false;
         }
     }
+
+    /*
+     * Returns the leaped tile if an enemy pawn stands next to the end tile and
+     * could therefore capture en passant, otherwise null.
+     */
+    private static Tile enPassant(Tile start, Tile end, Board board) {
+        Piece pawn = board.get(start);
+        for (int dir = -1; dir <= 1; dir += 2) {
+            int column = end.column() + dir;
+            if (column >= 1 && column <= 8) {
+                Piece neighbour = board.get(Tile.valueOf(column, end.row()));
+                if (Piece.isPawn(neighbour) && Piece.isOpposite(pawn, neighbour)) {
+                    return Tile.valueOf(end.column(), (start.row() + end.row()) / 2);
+                }
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,88 @@
+package org.chess4j.moves;
+
+import org.chess4j.Board;
+import org.chess4j.Color;
+import org.chess4j.Move;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.pieces.Pawn;
+
+/**
+ * A promotion is a pawn move or a pawn capture onto the last row of the enemy
+ * camp. As a result of the move the pawn is replaced by a new pawn of the same
+ * color, which is promoted to the chosen type as described by
+ * {@link Pawn#promote(Piece.Type)}. Thus the pawn of the initial position is
+ * left untouched. As with all moves a static factory method
+ * {@link #perform(Tile, Tile, Board, Piece.Type)} is offered which performs a
+ * validity check before creation. If the move is invalid then
+ * {@link Move#INVALID_MOVE} is returned.
+ */
+public class Promotion extends AbstractMove {
+
+    /**
+     * The type the pawn is promoted to.
+     */
+    private final Piece.Type type;
+
+    // Private constructor is only invoked after a validity check.
+    private Promotion(Tile start, Tile end, Board initial, Piece.Type type) {
+        super(start, end, initial, promoted(initial.get(start).color(), type), null);
+        this.type = type;
+    }
+
+    /**
+     * Returns a promotion or {@link Move#INVALID_MOVE} if the move would be
+     * invalid.
+     *
+     * @param start the start coordinate.
+     * @param end   the end coordinate.
+     * @param board the given board position.
+     * @param type  the type the pawn is promoted to.
+     * @return a valid move or {@link Move#INVALID_MOVE} if the move would be
+     * invalid.
+     * @throws IllegalArgumentException if the pawn cannot be promoted to the
+     *                                  given type.
+     */
+    public static Move perform(Tile start, Tile end, Board board, Piece.Type type) {
+        return isValid(start, end, board) ? new Promotion(start, end, board, type) :
+                INVALID_MOVE;
+    }
+
+    /**
+     * Checks if the promotion with the given game position is valid. The move
+     * must be a valid {@link PawnMove} or {@link PawnCapture} that ends on the
+     * last row of the enemy camp.
+     *
+     * @param start the start coordinate.
+     * @param end   the end coordinate.
+     * @param board the initial position.
+     * @return {@code true} if the move is valid.
+     */
+    public static boolean isValid(Tile start, Tile end, Board board) {
+        Piece pawn = board.get(start);
+        if (!Piece.isPawn(pawn)) {
+            return false;
+        }
+        int lastRow = pawn.color() == Color.WHITE ? 8 : 1;
+        return end.row() == lastRow &&
+                (PawnMove.isValid(start, end, board) || PawnCapture.isValid(start, end, board));
+    }
+
+    /**
+     * Returns the type the pawn is promoted to.
+     *
+     * @return the type the pawn is promoted to.
+     */
+    public Piece.Type type() {
+        return type;
+    }
+
+    /*
+     * Creates the promoted pawn.
+     */
+    private static Piece promoted(Color color, Piece.Type type) {
+        Pawn pawn = color == Color.WHITE ? Pawn.white() : Pawn.black();
+        pawn.promote(type);
+        return pawn;
+    }
+}
@@ -2,12 +2,13 @@ package org.chess4j.moves;
 
 import org.chess4j.Board;
 import org.chess4j.Boards;
+import org.chess4j.CastlingRights;
 import org.chess4j.Color;
 import org.chess4j.History;
 import org.chess4j.Move;
 import org.chess4j.Piece;
 import org.chess4j.Tile;
-import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.bitboard.Zobrist;
 import org.chess4j.simple.Player;
 
 /**
@@ -16,7 +17,8 @@ import org.chess4j.simple.Player;
  * changes sides with the king. In order to perform a successful Rochade
  * multiple Conditions must be meet.
  * <ol>
- * <li>The involved king and rook must be unmoved.</li>
+ * <li>The involved king and rook must be unmoved, which is tracked by the
+ * {@link CastlingRights} of the position.</li>
  * <li>The player cannot be in check at the beginning of the Rochade</li>
  * <li>The king cannot move over a tile which is in reach of an enemy
  * piece.</li>
@@ -48,16 +50,28 @@ public class Rochade implements Move {
     private final Board result;
 
     // Private constructor is only invoked after validity check.
-    private Rochade(Tile start, Tile end, History chronicle) {
+    private Rochade(Tile start, Tile end, Board board) {
         this.start = start;
         this.end = end;
-        this.initial = chronicle.currentPosition();
-        Board result = new EnumMapBoard(initial);
-        Piece rook = result.remove(getRookPosition(start, end));
-        Tile inBeetween = Tile.path(start, end).stream().findFirst().get();
+        this.initial = Boards.unmodifiable(board);
+        Board result = Boards.modifiableCopy(initial);
+        Tile rookPosition = getRookPosition(start, end);
+        Piece rook = result.remove(rookPosition);
+        Tile inBeetween = Tile.valueOf((start.column() + end.column()) / 2, start.row());
         result.put(inBeetween, rook);
-        result.put(end, result.remove(start));
-        this.result = result;
+        Piece king = result.remove(start);
+        result.put(end, king);
+
+        // Both rights of the player are lost, as the king has moved.
+        Color sideToMove = king.color().opposite();
+        int castlingRights = CastlingRights.remaining(initial.castlingRights(), start, rookPosition);
+        long key = initial.key() ^ Zobrist.state(initial)
+                ^ Zobrist.piece(king, start) ^ Zobrist.piece(king, end)
+                ^ Zobrist.piece(rook, rookPosition) ^ Zobrist.piece(rook, inBeetween)
+                ^ Zobrist.state(sideToMove, castlingRights, null);
+        int fullmoveNumber = initial.fullmoveNumber() + (sideToMove == Color.WHITE ? 1 : 0);
+        this.result = Boards.withState(result, sideToMove, castlingRights, null, key,
+                initial.halfmoveClock() + 1, fullmoveNumber);
     }
 
     /**
@@ -70,7 +84,21 @@ public class Rochade implements Move {
      * @return a valid constructed move or {@code null}.
      */
     public static Move perform(Tile start, Tile end, History game) {
-        return isValid(start, end, game) ? new Rochade(start, end, game) :
+        return perform(start, end, game.currentPosition());
+    }
+
+    /**
+     * Static factory that returns a valid Rochade move or
+     * {@link Move#INVALID_MOVE} if none can be constructed on the given board.
+     * The castling rights are read from the board.
+     *
+     * @param start the start tile of the move.
+     * @param end   the end tile of the move.
+     * @param board the current position of the game.
+     * @return a valid constructed move or {@link Move#INVALID_MOVE}.
+     */
+    public static Move perform(Tile start, Tile end, Board board) {
+        return isValid(start, end, board) ? new Rochade(start, end, board) :
                 INVALID_MOVE;
     }
 
@@ -79,7 +107,8 @@ public class Rochade implements Move {
      * The rook changes sides with the king. In order to perform a successful
      * Rochade multiple Conditions must be meet.
      * <ol>
-     * <li>The involved king and rook must be unmoved.</li>
+     * <li>The involved king and rook must be unmoved, that is the castling
+     * right of the corner remains.</li>
      * <li>The player cannot be in check at the beginning of the Rochade</li>
      * <li>The king cannot move over a tile which is in reach of an enemy
      * piece.</li>
@@ -92,13 +121,26 @@ public class Rochade implements Move {
      * @return {@code true} if the Rochade is valid and {@code false} otherwise.
      */
     public static boolean isValid(Tile start, Tile end, History chronicle) {
+        return isValid(start, end, chronicle.currentPosition());
+    }
+
+    /**
+     * Checks if the Rochade is valid on the given board, whose castling rights
+     * tell if king and rook are unmoved.
+     *
+     * @param start the start tile of the move
+     * @param end   the end tile of the move
+     * @param board the current position of the game
+     * @return {@code true} if the Rochade is valid and {@code false} otherwise.
+     * @see #isValid(Tile, Tile, History)
+     */
+    public static boolean isValid(Tile start, Tile end, Board board) {
         // Validity check for coordinates
         if (!validCoordinates(start, end)) {
             return false;
         }
 
-        // Get the board and relevant pieces.
-        Board board = chronicle.currentPosition();
+        // Get the relevant pieces.
         Piece king = board.get(start);
         Tile rookPosition = getRookPosition(start, end);
         Piece rook = board.get(rookPosition);
@@ -110,13 +152,12 @@ public class Rochade implements Move {
         }
 
         // Check if the path is clear
-        if (Tile.path(start, rookPosition).stream()
-                .anyMatch(board::containsKey)) {
+        if (!NormalMove.isPathClear(start, rookPosition, board)) {
             return false;
         }
 
-        // Check if neither piece has been moved.
-        if (chronicle.hasBeenMoved(king) || chronicle.hasBeenMoved(rook)) {
+        // The right is lost as soon as the king or the rook has been moved.
+        if ((board.castlingRights() & CastlingRights.rochade(start.ordinal(), end.ordinal())) == 0) {
             return false;
         }
 
@@ -126,20 +167,10 @@ public class Rochade implements Move {
             return false;
         }
 
-        // Create a move where the king moves one tile to the end destination.
-        Tile inBeetween = Tile.path(start, end).stream().findFirst().get();
-        Move move = NormalMove.perform(start, inBeetween, board);
-        if (move == null) {
-            return false;
-        }
-        // If the king is in check on the inBetween tile then the rochade
-        // cannot be
-        // performed.
-        if (Player.inCheck(move.result(), color)) {
-            return false;
-        }
-
-        return true;
+        // The king must not pass an attacked tile. An attack through the start
+        // tile would already give check, so the king may stay for the test.
+        Tile inBetween = Tile.valueOf((start.column() + end.column()) / 2, start.row());
+        return !Player.isSquareAttacked(board, inBetween, color.opposite());
     }
 
     /*
@@ -180,7 +211,7 @@ public class Rochade implements Move {
      */
     @Override
     public Board initial() {
-        return Boards.unmodifiable(initial);
+        return initial;
     }
 
     /**
@@ -188,7 +219,7 @@ public class Rochade implements Move {
      */
     @Override
     public Board result() {
-        return Boards.unmodifiable(result);
+        return result;
     }
 
     /**
@@ -0,0 +1,297 @@
+package org.chess4j.perft;
+
+import org.chess4j.Fen;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A perft that splits the subtrees of the first plies into tasks of a
+ * {@link ForkJoinPool}. Below the split plies every task counts its subtree
+ * with a sequential {@link Perft} of the worker thread. All workers share one
+ * {@link PerftHash}, so a transposition counted by one worker is reused by
+ * all others.
+ * <p>
+ * The pool records per worker how many tasks and nodes it counted and how
+ * long it was busy, which can be queried with {@link #workers()} after a
+ * count. A parallel perft must be closed to stop its threads.
+ */
+public class ParallelPerft implements AutoCloseable {
+
+    /**
+     * The number of plies whose subtrees are split into tasks.
+     */
+    public static final int SPLIT_PLIES = 2;
+
+    /*
+     * The pool that runs the tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /*
+     * The sequential perft of every worker thread.
+     */
+    private final ThreadLocal<Perft> perfts;
+
+    /*
+     * The statistics of every worker thread by thread name.
+     */
+    private final Map<String, Worker> workers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a parallel perft with the given number of threads and a shared
+     * hash.
+     *
+     * @param threads the number of worker threads, at least one.
+     * @param hash    the shared hash or {@code null}.
+     */
+    public ParallelPerft(int threads, PerftHash hash) {
+        this.pool = new ForkJoinPool(threads);
+        this.perfts = ThreadLocal.withInitial(() -> new Perft(hash));
+    }
+
+    /**
+     * Returns the number of leaf nodes of the given depth.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param depth    the depth, which must not be negative.
+     * @return the number of leaf nodes.
+     * @throws IllegalArgumentException if the depth is negative.
+     */
+    public long count(Position position, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Negative depth " + depth);
+        }
+        return pool.invoke(new CountTask(new Position(position), depth, SPLIT_PLIES));
+    }
+
+    /**
+     * Returns the number of leaf nodes below every legal move of the position
+     * in the order the moves are generated. The moves are given in UCI
+     * format.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param depth    the depth including the root move, at least one.
+     * @return the number of leaf nodes of every root move.
+     * @throws IllegalArgumentException if the depth is less than one.
+     */
+    public Map<String, Long> divide(Position position, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1 but is " + depth);
+        }
+        MoveList roots = new MoveList();
+        MoveGenerator.generateLegal(position, roots);
+        List<CountTask> tasks = new ArrayList<>(roots.size());
+        for (int i = 0; i < roots.size(); i++) {
+            tasks.add(new CountTask(child(position, roots.get(i)), depth - 1, SPLIT_PLIES - 1));
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        pool.invoke(new SumTask(tasks));
+        for (int i = 0; i < roots.size(); i++) {
+            counts.put(Moves.toString(roots.get(i)), tasks.get(i).join());
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the statistics of every worker that counted at least one task
+     * since the creation or the last reset.
+     *
+     * @return the statistics of the workers.
+     */
+    public List<Worker> workers() {
+        return new ArrayList<>(workers.values());
+    }
+
+    /**
+     * Resets the statistics of all workers.
+     */
+    public void resetStatistics() {
+        workers.clear();
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /*
+     * Returns a copy of the position with the given move made.
+     */
+    private static Position child(Position position, int move) {
+        Position child = new Position(position);
+        child.make(move);
+        return child;
+    }
+
+    /*
+     * Counts the subtree of a position, splitting it into tasks for the given
+     * number of plies.
+     */
+    private final class CountTask extends RecursiveTask<Long> {
+
+        private final Position position;
+        private final int depth;
+        private final int split;
+
+        CountTask(Position position, int depth, int split) {
+            this.position = position;
+            this.depth = depth;
+            this.split = split;
+        }
+
+        @Override
+        protected Long compute() {
+            if (split > 0 && depth > 2) {
+                MoveList moves = new MoveList();
+                MoveGenerator.generateLegal(position, moves);
+                List<CountTask> tasks = new ArrayList<>(moves.size());
+                for (int i = 0; i < moves.size(); i++) {
+                    tasks.add(new CountTask(child(position, moves.get(i)), depth - 1, split - 1));
+                }
+                invokeAll(tasks);
+                long nodes = 0;
+                for (CountTask task : tasks) {
+                    nodes += task.join();
+                }
+                return nodes;
+            }
+            long start = System.nanoTime();
+            long nodes = perfts.get().count(position, depth);
+            workers.computeIfAbsent(Thread.currentThread().getName(), Worker::new)
+                    .record(nodes, System.nanoTime() - start);
+            return nodes;
+        }
+    }
+
+    /*
+     * Runs the given tasks in parallel.
+     */
+    private static final class SumTask extends RecursiveTask<Long> {
+
+        private final List<CountTask> tasks;
+
+        SumTask(List<CountTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected Long compute() {
+            invokeAll(tasks);
+            long nodes = 0;
+            for (CountTask task : tasks) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * The statistics of a worker thread. A worker is only updated by its own
+     * thread and should be read after the count has finished.
+     */
+    public static final class Worker {
+
+        private final String name;
+        private long tasks;
+        private long nodes;
+        private long nanos;
+
+        private Worker(String name) {
+            this.name = name;
+        }
+
+        private void record(long nodes, long nanos) {
+            this.tasks++;
+            this.nodes += nodes;
+            this.nanos += nanos;
+        }
+
+        /**
+         * Returns the name of the worker thread.
+         *
+         * @return the thread name.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of tasks the worker counted.
+         *
+         * @return the number of tasks.
+         */
+        public long tasks() {
+            return tasks;
+        }
+
+        /**
+         * Returns the number of leaf nodes the worker counted.
+         *
+         * @return the number of nodes.
+         */
+        public long nodes() {
+            return nodes;
+        }
+
+        /**
+         * Returns the time the worker spent counting in nanoseconds.
+         *
+         * @return the busy time.
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + tasks + " tasks, " + nodes + " nodes, " + nanos / 1_000_000 + " ms";
+        }
+    }
+
+    /**
+     * Runs a parallel perft and prints the node count, the time, the nodes per
+     * second and the statistics of every worker. Usage:
+     * {@code ParallelPerft <depth> [threads] [hash MB] [fen]}. The number of
+     * threads defaults to the available processors, the hash to 256 MB and the
+     * FEN record to the start position.
+     *
+     * @param args the depth, the optional number of threads, hash size and FEN
+     *             record.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: ParallelPerft <depth> [threads] [hash MB] [fen]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        String fen = args.length > 3 ? String.join(" ", Arrays.copyOfRange(args, 3, args.length)) : Fen.START;
+        Position position = new Position(Fen.parse(fen));
+        try (ParallelPerft perft = new ParallelPerft(threads, new PerftHash(megabytes))) {
+            long start = System.nanoTime();
+            long nodes = perft.count(position, depth);
+            long nanos = Math.max(1, System.nanoTime() - start);
+            System.out.println("Nodes: " + nodes);
+            System.out.println("Time: " + nanos / 1_000_000 + " ms");
+            System.out.println("Nodes/s: " + nodes * 1_000_000_000L / nanos);
+            for (Worker worker : perft.workers()) {
+                System.out.println(worker);
+            }
+        }
+    }
+}
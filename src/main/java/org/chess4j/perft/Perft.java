@@ -0,0 +1,173 @@
+package org.chess4j.perft;
+
+import org.chess4j.Fen;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree of a position up to a given
+ * depth. Perft is used to verify the move generation against known counts and
+ * as a throughput benchmark. At the last ply the legal moves are only
+ * counted and not made.
+ * <p>
+ * A perft instance keeps one {@link MoveList} per ply and is therefore not
+ * thread safe, but it can be reused for any number of counts. An optional
+ * {@link PerftHash}, which may be shared between threads, avoids counting
+ * transpositions twice.
+ */
+public class Perft {
+
+    /*
+     * The hash of counts or null.
+     */
+    private final PerftHash hash;
+
+    /*
+     * The move lists indexed by the remaining depth.
+     */
+    private MoveList[] moves = new MoveList[0];
+
+    /**
+     * Creates a perft without hash.
+     */
+    public Perft() {
+        this(null);
+    }
+
+    /**
+     * Creates a perft that looks up and stores the counts of inner nodes in
+     * the given hash.
+     *
+     * @param hash the hash of counts or {@code null}.
+     */
+    public Perft(PerftHash hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the number of leaf nodes of the given depth.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param depth    the depth, which must not be negative.
+     * @return the number of leaf nodes.
+     * @throws IllegalArgumentException if the depth is negative.
+     */
+    public long count(Position position, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Negative depth " + depth);
+        }
+        ensureDepth(depth);
+        return depth == 0 ? 1 : countMoves(position, depth);
+    }
+
+    /**
+     * Returns the number of leaf nodes below every legal move of the position
+     * in the order the moves are generated. The moves are given in UCI
+     * format.
+     *
+     * @param position the position, which is unchanged after the call.
+     * @param depth    the depth including the root move, at least one.
+     * @return the number of leaf nodes of every root move.
+     * @throws IllegalArgumentException if the depth is less than one.
+     */
+    public Map<String, Long> divide(Position position, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1 but is " + depth);
+        }
+        ensureDepth(depth);
+        MoveList roots = moves[depth];
+        MoveGenerator.generateLegal(position, roots);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < roots.size(); i++) {
+            position.make(roots.get(i));
+            counts.put(Moves.toString(roots.get(i)), depth == 1 ? 1 : countMoves(position, depth - 1));
+            position.unmake();
+        }
+        return counts;
+    }
+
+    /*
+     * Counts the leaf nodes for a depth of at least one. The moves of the last
+     * ply are counted in bulk and the counts of inner nodes are hashed.
+     */
+    private long countMoves(Position position, int depth) {
+        if (depth > 1 && hash != null) {
+            long nodes = hash.get(position.key(), depth);
+            if (nodes >= 0) {
+                return nodes;
+            }
+        }
+        MoveList list = moves[depth];
+        MoveGenerator.generateLegal(position, list);
+        if (depth == 1) {
+            return list.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < list.size(); i++) {
+            position.make(list.get(i));
+            nodes += countMoves(position, depth - 1);
+            position.unmake();
+        }
+        if (hash != null) {
+            hash.put(position.key(), depth, nodes);
+        }
+        return nodes;
+    }
+
+    /*
+     * Allocates the move lists up to the given depth.
+     */
+    private void ensureDepth(int depth) {
+        if (moves.length <= depth) {
+            MoveList[] lists = new MoveList[depth + 1];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = i < moves.length ? moves[i] : new MoveList();
+            }
+            moves = lists;
+        }
+    }
+
+    /**
+     * Runs perft and prints the node count, the time and the nodes per second.
+     * Usage: {@code Perft <depth> [divide] [fen]}, where divide prints the
+     * count of every root move as well. The FEN record defaults to the start
+     * position.
+     *
+     * @param args the depth, the optional divide flag and FEN record.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: Perft <depth> [divide] [fen]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        boolean divide = args.length > 1 && args[1].equals("divide");
+        int fenStart = divide ? 2 : 1;
+        String fen = args.length > fenStart
+                ? String.join(" ", Arrays.copyOfRange(args, fenStart, args.length)) : Fen.START;
+        Position position = new Position(Fen.parse(fen));
+        Perft perft = new Perft();
+        long start = System.nanoTime();
+        long nodes;
+        if (divide) {
+            nodes = 0;
+            for (Map.Entry<String, Long> entry : perft.divide(position, depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+            System.out.println();
+        } else {
+            nodes = perft.count(position, depth);
+        }
+        long nanos = Math.max(1, System.nanoTime() - start);
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + nanos / 1_000_000 + " ms");
+        System.out.println("Nodes/s: " + nodes * 1_000_000_000L / nanos);
+    }
+}
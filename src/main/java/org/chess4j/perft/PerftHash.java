@@ -0,0 +1,105 @@
+package org.chess4j.perft;
+
+import java.util.Arrays;
+
+/**
+ * A lock-free hash table of perft results. Every entry stores the Zobrist key
+ * of a position, a depth and the leaf count of that depth, so that
+ * transpositions are counted only once.
+ * <p>
+ * An entry consists of two {@code long} values: the packed depth and count,
+ * and the key XOR the packed value. Threads read and write entries without
+ * synchronization. A torn entry, whose halves were written by different
+ * threads, fails the XOR check and is treated as missing, so a lookup never
+ * returns a wrong count.
+ */
+public final class PerftHash {
+
+    /*
+     * Number of bytes of one entry.
+     */
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    /*
+     * The entries, two longs each.
+     */
+    private final long[] table;
+
+    /*
+     * The mask of the entry index.
+     */
+    private final int mask;
+
+    /**
+     * Creates a table of at most the given size in megabytes. The number of
+     * entries is the largest power of two that fits.
+     *
+     * @param megabytes the size of the table, at least one.
+     * @throws IllegalArgumentException if the size is less than one.
+     */
+    public PerftHash(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Size must be at least 1 MB but is " + megabytes);
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 29);
+        this.table = new long[(int) entries * 2];
+        this.mask = (int) entries - 1;
+    }
+
+    /**
+     * Returns the stored count of the position with the given key and depth
+     * or -1 if there is none.
+     *
+     * @param key   the Zobrist key of the position.
+     * @param depth the depth of the count.
+     * @return the count or -1.
+     */
+    public long get(long key, int depth) {
+        int index = index(key, depth);
+        long data = table[index + 1];
+        if ((table[index] ^ data) == key && (int) (data & 0xFF) == depth) {
+            return data >>> 8;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the count of the position with the given key and depth. The entry
+     * replaces any former entry in its slot.
+     *
+     * @param key   the Zobrist key of the position.
+     * @param depth the depth of the count, less than 256.
+     * @param count the leaf count, less than 2^56.
+     */
+    public void put(long key, int depth, long count) {
+        int index = index(key, depth);
+        long data = count << 8 | depth;
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    /**
+     * Returns the number of entries of the table.
+     *
+     * @return the number of entries.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /*
+     * Returns the array index of the first long of the entry.
+     */
+    private int index(long key, int depth) {
+        long hash = key ^ depth * 0x9E3779B97F4A7C15L;
+        return ((int) (hash ^ hash >>> 32) & mask) << 1;
+    }
+}
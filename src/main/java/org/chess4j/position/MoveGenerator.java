@@ -0,0 +1,289 @@
+package org.chess4j.position;
+
+import org.chess4j.Color;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.bitboard.Magics;
+import org.chess4j.bitboard.TileGeometry;
+
+/**
+ * Generates the moves of the side to move of a {@link Position}. Opposed to
+ * trying every pair of start and end tiles, the generator only emits the
+ * candidate moves of each piece type, including all four promotions, en
+ * passant captures and rochades. The moves are appended to a reusable
+ * {@link MoveList}, so generating moves does not allocate.
+ * <p>
+ * Pseudo legal moves obey the movement rules of the pieces but may leave the
+ * own king in check. Legal moves are the pseudo legal moves that do not.
+ * Captures are the pseudo legal captures and queen promotions, quiet moves
+ * all other pseudo legal moves including the other promotions, so that both
+ * together are the pseudo legal moves. A search can generate them one after
+ * the other and often skips the quiet moves.
+ */
+public final class MoveGenerator {
+
+    /*
+     * Ordinals of the piece types.
+     */
+    private static final int PAWN = Piece.Type.PAWN.ordinal();
+    private static final int ROOK = Piece.Type.ROOK.ordinal();
+    private static final int KNIGHT = Piece.Type.KNIGHT.ordinal();
+    private static final int BISHOP = Piece.Type.BISHOP.ordinal();
+    private static final int KING = Piece.Type.KING.ordinal();
+
+    /*
+     * The types a pawn can be promoted to.
+     */
+    private static final Piece.Type[] PROMOTIONS =
+            {Piece.Type.QUEEN, Piece.Type.ROOK, Piece.Type.BISHOP, Piece.Type.KNIGHT};
+
+    // Utility class
+    private MoveGenerator() {
+    }
+
+    /**
+     * Clears the given list and fills it with all legal moves of the side to
+     * move. The position is unchanged after the call.
+     *
+     * @param position the given position.
+     * @param moves    the list that is filled.
+     */
+    public static void generateLegal(Position position, MoveList moves) {
+        moves.clear();
+        generatePseudoLegal(position, moves);
+        Color mover = position.sideToMove();
+        int legal = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.make(move);
+            if (!position.inCheck(mover)) {
+                moves.set(legal++, move);
+            }
+            position.unmake();
+        }
+        moves.truncate(legal);
+    }
+
+    /**
+     * Appends all pseudo legal moves of the side to move to the given list.
+     *
+     * @param position the given position.
+     * @param moves    the list the moves are appended to.
+     */
+    public static void generatePseudoLegal(Position position, MoveList moves) {
+        Color side = position.sideToMove();
+        long own = position.pieces(side);
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int start = Long.numberOfTrailingZeros(pieces);
+            int type = Position.type(position.pieceAt(start));
+            if (type == PAWN) {
+                generatePawnMoves(position, start, side, moves);
+            } else if (type == KNIGHT) {
+                addMoves(start, TileGeometry.knightAttacks(start) & ~own, moves);
+            } else if (type == KING) {
+                addMoves(start, TileGeometry.kingAttacks(start) & ~own, moves);
+                generateRochades(position, start, moves);
+            } else {
+                long occupied = position.occupied();
+                long attacks = type == ROOK ? Magics.rookAttacks(start, occupied)
+                        : type == BISHOP ? Magics.bishopAttacks(start, occupied)
+                        : Magics.queenAttacks(start, occupied);
+                addMoves(start, attacks & ~own, moves);
+            }
+        }
+    }
+
+    /**
+     * Clears the given list and fills it with the pseudo legal captures, en
+     * passant captures and promotions of the side to move. Pawns are only
+     * promoted to queens, as the other promotions rarely change the outcome
+     * of an exchange.
+     *
+     * @param position the given position.
+     * @param moves    the list that is filled.
+     */
+    public static void generateCaptures(Position position, MoveList moves) {
+        moves.clear();
+        Color side = position.sideToMove();
+        long enemies = position.pieces(side.opposite());
+        long occupied = position.occupied();
+        for (long pieces = position.pieces(side); pieces != 0; pieces &= pieces - 1) {
+            int start = Long.numberOfTrailingZeros(pieces);
+            int type = Position.type(position.pieceAt(start));
+            if (type == PAWN) {
+                generatePawnCaptures(position, start, side, enemies, moves);
+            } else if (type == KNIGHT) {
+                addMoves(start, TileGeometry.knightAttacks(start) & enemies, moves);
+            } else if (type == KING) {
+                addMoves(start, TileGeometry.kingAttacks(start) & enemies, moves);
+            } else {
+                long attacks = type == ROOK ? Magics.rookAttacks(start, occupied)
+                        : type == BISHOP ? Magics.bishopAttacks(start, occupied)
+                        : Magics.queenAttacks(start, occupied);
+                addMoves(start, attacks & enemies, moves);
+            }
+        }
+    }
+
+    /**
+     * Clears the given list and fills it with the pseudo legal moves of the
+     * side to move that are not generated by
+     * {@link #generateCaptures(Position, MoveList)}: the moves to empty tiles
+     * without queen promotions, the rochades and the promotions to other
+     * pieces than queens.
+     *
+     * @param position the given position.
+     * @param moves    the list that is filled.
+     */
+    public static void generateQuiets(Position position, MoveList moves) {
+        moves.clear();
+        Color side = position.sideToMove();
+        long empty = ~position.occupied();
+        long occupied = position.occupied();
+        for (long pieces = position.pieces(side); pieces != 0; pieces &= pieces - 1) {
+            int start = Long.numberOfTrailingZeros(pieces);
+            int type = Position.type(position.pieceAt(start));
+            if (type == PAWN) {
+                generatePawnQuiets(position, start, side, moves);
+            } else if (type == KNIGHT) {
+                addMoves(start, TileGeometry.knightAttacks(start) & empty, moves);
+            } else if (type == KING) {
+                addMoves(start, TileGeometry.kingAttacks(start) & empty, moves);
+                generateRochades(position, start, moves);
+            } else {
+                long attacks = type == ROOK ? Magics.rookAttacks(start, occupied)
+                        : type == BISHOP ? Magics.bishopAttacks(start, occupied)
+                        : Magics.queenAttacks(start, occupied);
+                addMoves(start, attacks & empty, moves);
+            }
+        }
+    }
+
+    /*
+     * Pushes, leaps and underpromotions of a pawn.
+     */
+    private static void generatePawnQuiets(Position position, int start, Color side, MoveList moves) {
+        boolean white = side == Color.WHITE;
+        int forward = white ? -8 : 8;
+        int end = start + forward;
+        if (end < 0 || end >= 64) {
+            return;
+        }
+        if (end < 8 || end >= 56) {
+            long enemies = position.pieces(side.opposite());
+            long targets = TileGeometry.pawnAttacks(side, start) & enemies;
+            if (position.pieceAt(end) == Position.EMPTY) {
+                targets |= 1L << end;
+            }
+            for (; targets != 0; targets &= targets - 1) {
+                int target = Long.numberOfTrailingZeros(targets);
+                for (int i = 1; i < PROMOTIONS.length; i++) {
+                    moves.add(Moves.promotion(start, target, PROMOTIONS[i]));
+                }
+            }
+            return;
+        }
+        if (position.pieceAt(end) == Position.EMPTY) {
+            moves.add(Moves.of(start, end));
+            int startRow = white ? 6 : 1;
+            int leap = end + forward;
+            if ((start >>> 3) == startRow && position.pieceAt(leap) == Position.EMPTY) {
+                moves.add(Moves.of(start, leap, Moves.LEAP));
+            }
+        }
+    }
+
+    /*
+     * Captures, en passant captures and queen promotions of a pawn.
+     */
+    private static void generatePawnCaptures(Position position, int start, Color side, long enemies,
+                                             MoveList moves) {
+        int forward = side == Color.WHITE ? -8 : 8;
+        int end = start + forward;
+        if (end < 0 || end >= 64) {
+            return;
+        }
+        boolean promotion = end < 8 || end >= 56;
+        if (promotion && position.pieceAt(end) == Position.EMPTY) {
+            moves.add(Moves.promotion(start, end, Piece.Type.QUEEN));
+        }
+        for (long targets = TileGeometry.pawnAttacks(side, start); targets != 0; targets &= targets - 1) {
+            int target = Long.numberOfTrailingZeros(targets);
+            if ((enemies & 1L << target) != 0) {
+                moves.add(promotion ? Moves.promotion(start, target, Piece.Type.QUEEN) : Moves.of(start, target));
+            } else if (target == position.enPassant()) {
+                moves.add(Moves.of(start, target, Moves.EN_PASSANTE));
+            }
+        }
+    }
+
+    /*
+     * Pushes, leaps, captures, promotions and en passant captures of a pawn.
+     */
+    private static void generatePawnMoves(Position position, int start, Color side, MoveList moves) {
+        boolean white = side == Color.WHITE;
+        int forward = white ? -8 : 8;
+        int end = start + forward;
+        if (end < 0 || end >= 64) {
+            // An unpromoted pawn on the last row cannot move.
+            return;
+        }
+        if (position.pieceAt(end) == Position.EMPTY) {
+            addPawnMove(start, end, moves);
+            int startRow = white ? 6 : 1;
+            int leap = end + forward;
+            if ((start >>> 3) == startRow && position.pieceAt(leap) == Position.EMPTY) {
+                moves.add(Moves.of(start, leap, Moves.LEAP));
+            }
+        }
+        long enemies = position.pieces(side.opposite());
+        for (long targets = TileGeometry.pawnAttacks(side, start); targets != 0; targets &= targets - 1) {
+            int target = Long.numberOfTrailingZeros(targets);
+            if ((enemies & 1L << target) != 0) {
+                addPawnMove(start, target, moves);
+            } else if (target == position.enPassant()) {
+                moves.add(Moves.of(start, target, Moves.EN_PASSANTE));
+            }
+        }
+    }
+
+    /*
+     * Adds a pawn move, which is expanded to all promotions on the last row.
+     */
+    private static void addPawnMove(int start, int end, MoveList moves) {
+        if (end < 8 || end >= 56) {
+            for (Piece.Type type : PROMOTIONS) {
+                moves.add(Moves.promotion(start, end, type));
+            }
+        } else {
+            moves.add(Moves.of(start, end));
+        }
+    }
+
+    /*
+     * Adds a move from start to every target.
+     */
+    private static void addMoves(int start, long targets, MoveList moves) {
+        for (; targets != 0; targets &= targets - 1) {
+            moves.add(Moves.of(start, Long.numberOfTrailingZeros(targets)));
+        }
+    }
+
+    /*
+     * Rochades of a king on its start tile.
+     */
+    private static void generateRochades(Position position, int start, MoveList moves) {
+        if (position.castlingRights() == 0
+                || start != Tile.e1.ordinal() && start != Tile.e8.ordinal()) {
+            return;
+        }
+        int kingSide = Moves.of(start, start + 2, Moves.ROCHADE);
+        if (position.isPseudoLegal(kingSide)) {
+            moves.add(kingSide);
+        }
+        int queenSide = Moves.of(start, start - 2, Moves.ROCHADE);
+        if (position.isPseudoLegal(queenSide)) {
+            moves.add(queenSide);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.chess4j.position;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of encoded moves backed by an {@code int} array. The list
+ * is meant to be allocated once and cleared before every use, so that filling
+ * it never allocates. The capacity of 256 moves exceeds the maximal number of
+ * moves in any chess position.
+ */
+public final class MoveList {
+
+    /**
+     * The default capacity, which is enough for any chess position.
+     */
+    public static final int CAPACITY = 256;
+
+    /**
+     * The encoded moves.
+     */
+    private final int[] moves;
+
+    /**
+     * The number of moves in the list.
+     */
+    private int size;
+
+    /**
+     * Creates an empty list with the default capacity.
+     */
+    public MoveList() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given capacity.
+     *
+     * @param capacity the maximal number of moves.
+     */
+    public MoveList(int capacity) {
+        this.moves = new int[capacity];
+    }
+
+    /**
+     * Appends the given move.
+     *
+     * @param move the encoded move.
+     * @throws ArrayIndexOutOfBoundsException if the list is full.
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Returns the move at the given index.
+     *
+     * @param index the index of the move.
+     * @return the encoded move.
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at the given index.
+     *
+     * @param index the index of the move.
+     * @param move  the encoded move.
+     */
+    public void set(int index, int move) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        moves[index] = move;
+    }
+
+    /**
+     * Returns the number of moves in the list.
+     *
+     * @return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the list holds no moves.
+     *
+     * @return {@code true} if the list is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all moves.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the list to the given size.
+     *
+     * @param size the new size, which must not exceed the current size.
+     */
+    public void truncate(int size) {
+        if (size > this.size) {
+            throw new IndexOutOfBoundsException(size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Returns {@code true} if the list holds the given move.
+     *
+     * @param move the encoded move.
+     * @return {@code true} if the move is contained.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the moves in UCI format.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : ", ").append(Moves.toString(moves[i]));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns a copy of the moves as an array.
+     *
+     * @return the moves as an array.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+}
@@ -0,0 +1,165 @@
+package org.chess4j.position;
+
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.bitboard.Bitboards;
+
+/**
+ * Utilities class for moves that are encoded in a single {@code int}. Opposed
+ * to a {@link org.chess4j.Move} an encoded move holds no boards and is only
+ * meaningful together with the {@link Position} it is played on. The bits of
+ * an encoded move are laid out as follows:
+ * <ul>
+ * <li>bits 0 - 5: the ordinal of the start tile</li>
+ * <li>bits 6 - 11: the ordinal of the end tile</li>
+ * <li>bits 12 - 14: the ordinal of the type a pawn is promoted to or zero</li>
+ * <li>bits 15 - 16: the kind of the move, one of {@link #NORMAL},
+ * {@link #LEAP}, {@link #EN_PASSANTE} and {@link #ROCHADE}</li>
+ * </ul>
+ */
+public final class Moves {
+
+    /**
+     * The encoding of no move at all.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Kind of all moves that are neither leaps, en passant captures nor
+     * rochades.
+     */
+    public static final int NORMAL = 0;
+
+    /**
+     * Kind of a pawn leap by two rows.
+     */
+    public static final int LEAP = 1;
+
+    /**
+     * Kind of an en passant capture.
+     */
+    public static final int EN_PASSANTE = 2;
+
+    /**
+     * Kind of a rochade, start and end are the tiles of the king.
+     */
+    public static final int ROCHADE = 3;
+
+    /*
+     * Position of the fields within the encoding.
+     */
+    private static final int END_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int KIND_SHIFT = 15;
+
+    /*
+     * Promotion letters in the UCI format indexed by the type ordinal.
+     */
+    private static final char[] PROMOTION_LETTERS = {' ', 'r', 'n', 'b', 'q', ' '};
+
+    // Utility class
+    private Moves() {
+    }
+
+    /**
+     * Encodes a move of the given kind.
+     *
+     * @param start the ordinal of the start tile.
+     * @param end   the ordinal of the end tile.
+     * @param kind  the kind of the move.
+     * @return the encoded move.
+     */
+    public static int of(int start, int end, int kind) {
+        return start | end << END_SHIFT | kind << KIND_SHIFT;
+    }
+
+    /**
+     * Encodes a normal move.
+     *
+     * @param start the ordinal of the start tile.
+     * @param end   the ordinal of the end tile.
+     * @return the encoded move.
+     */
+    public static int of(int start, int end) {
+        return of(start, end, NORMAL);
+    }
+
+    /**
+     * Encodes a pawn move onto the last row with the given promotion.
+     *
+     * @param start the ordinal of the start tile.
+     * @param end   the ordinal of the end tile.
+     * @param type  the type the pawn is promoted to.
+     * @return the encoded move.
+     */
+    public static int promotion(int start, int end, Piece.Type type) {
+        return of(start, end) | type.ordinal() << PROMOTION_SHIFT;
+    }
+
+    /**
+     * Returns the ordinal of the start tile.
+     *
+     * @param move the encoded move.
+     * @return the ordinal of the start tile.
+     */
+    public static int start(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Returns the ordinal of the end tile.
+     *
+     * @param move the encoded move.
+     * @return the ordinal of the end tile.
+     */
+    public static int end(int move) {
+        return (move >>> END_SHIFT) & 63;
+    }
+
+    /**
+     * Returns the kind of the move.
+     *
+     * @param move the encoded move.
+     * @return the kind of the move.
+     */
+    public static int kind(int move) {
+        return (move >>> KIND_SHIFT) & 3;
+    }
+
+    /**
+     * Returns the ordinal of the type a pawn is promoted to or zero if the
+     * move is no promotion.
+     *
+     * @param move the encoded move.
+     * @return the ordinal of the promotion type or zero.
+     */
+    public static int promotion(int move) {
+        return (move >>> PROMOTION_SHIFT) & 7;
+    }
+
+    /**
+     * Returns {@code true} if the move promotes a pawn.
+     *
+     * @param move the encoded move.
+     * @return {@code true} if the move is a promotion.
+     */
+    public static boolean isPromotion(int move) {
+        return promotion(move) != 0;
+    }
+
+    /**
+     * Returns the move in the UCI format, e.g. {@code e7e8q}.
+     *
+     * @param move the encoded move.
+     * @return the move in the UCI format.
+     */
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        Tile start = Bitboards.tile(start(move));
+        Tile end = Bitboards.tile(end(move));
+        String uci = start.name() + end.name();
+        return isPromotion(move) ? uci + PROMOTION_LETTERS[promotion(move)] : uci;
+    }
+}
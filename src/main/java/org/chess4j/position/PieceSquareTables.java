@@ -0,0 +1,216 @@
+package org.chess4j.position;
+
+import org.chess4j.Color;
+import org.chess4j.Piece;
+
+/**
+ * The material and piece-square values of the pieces for the middlegame and
+ * the endgame. A {@link Position} sums the values of its pieces while moves
+ * are made and unmade, so an evaluator can read them in constant time.
+ * <p>
+ * Both values of a piece on a tile are packed into a single {@code int}, the
+ * middlegame value in the lower and the endgame value in the upper half, so
+ * that a position updates both with a single addition. Packed values can be
+ * added and subtracted as long as both halves stay within the range of a
+ * {@code short}. Values are given from the view of white, so the values of
+ * the black pieces are negative.
+ * <p>
+ * The game phase is the sum of the phase weights of the pieces on the board,
+ * which is {@value #MAX_PHASE} for the start position and zero when only
+ * kings and pawns are left.
+ */
+public final class PieceSquareTables {
+
+    /**
+     * The phase of the start position.
+     */
+    public static final int MAX_PHASE = 24;
+
+    /*
+     * The phase weights indexed by the type ordinal.
+     */
+    private static final int[] PHASE_WEIGHTS = {0, 2, 1, 1, 4, 0};
+
+    /*
+     * The material values indexed by the type ordinal.
+     */
+    private static final int[] MIDDLEGAME_VALUES = {100, 500, 320, 330, 900, 0};
+    private static final int[] ENDGAME_VALUES = {120, 530, 300, 320, 950, 0};
+
+    /*
+     * The tables from the view of white indexed by the tile ordinal, so a8
+     * comes first, as they are read.
+     */
+    private static final int[] PAWN_MIDDLEGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            20, 20, 20, 20, 20, 20, 20, 20,
+            10, 10, 10, 10, 10, 10, 10, 10,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    /*
+     * The packed values indexed by piece code times 64 plus tile ordinal.
+     */
+    private static final int[] SCORES = new int[2 * PHASE_WEIGHTS.length * 64];
+
+    /*
+     * The phase weights indexed by piece code.
+     */
+    private static final int[] PHASES = new int[2 * PHASE_WEIGHTS.length];
+
+    static {
+        int[][] middlegame = {PAWN_MIDDLEGAME, ROOK, KNIGHT, BISHOP, QUEEN, KING_MIDDLEGAME};
+        int[][] endgame = {PAWN_ENDGAME, ROOK, KNIGHT, BISHOP, QUEEN, KING_ENDGAME};
+        for (Piece.Type type : Piece.Type.values()) {
+            int t = type.ordinal();
+            int white = Position.piece(Color.WHITE, type);
+            int black = Position.piece(Color.BLACK, type);
+            PHASES[white] = PHASE_WEIGHTS[t];
+            PHASES[black] = PHASE_WEIGHTS[t];
+            for (int square = 0; square < 64; square++) {
+                int score = pack(MIDDLEGAME_VALUES[t] + middlegame[t][square],
+                        ENDGAME_VALUES[t] + endgame[t][square]);
+                SCORES[white * 64 + square] = score;
+                // Black reads the tables upside down.
+                SCORES[black * 64 + (square ^ 56)] = -score;
+            }
+        }
+    }
+
+    // Utility class
+    private PieceSquareTables() {
+    }
+
+    /**
+     * Packs the given middlegame and endgame values into one value.
+     *
+     * @param middlegame the middlegame value.
+     * @param endgame    the endgame value.
+     * @return the packed value.
+     */
+    public static int pack(int middlegame, int endgame) {
+        return (endgame << 16) + middlegame;
+    }
+
+    /**
+     * Returns the packed value of the given piece on the given tile.
+     *
+     * @param piece  the code of the piece.
+     * @param square the ordinal of the tile.
+     * @return the packed value from the view of white.
+     */
+    public static int score(int piece, int square) {
+        return SCORES[piece << 6 | square];
+    }
+
+    /**
+     * Returns the middlegame half of the given packed value.
+     *
+     * @param score the packed value.
+     * @return the middlegame value.
+     */
+    public static int middlegame(int score) {
+        return (short) score;
+    }
+
+    /**
+     * Returns the endgame half of the given packed value.
+     *
+     * @param score the packed value.
+     * @return the endgame value.
+     */
+    public static int endgame(int score) {
+        return (score + 0x8000) >> 16;
+    }
+
+    /**
+     * Returns the phase weight of the given piece.
+     *
+     * @param piece the code of the piece.
+     * @return the phase weight.
+     */
+    public static int phase(int piece) {
+        return PHASES[piece];
+    }
+}
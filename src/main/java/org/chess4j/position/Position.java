@@ -0,0 +1,892 @@
+package org.chess4j.position;
+
+import org.chess4j.Board;
+import org.chess4j.CastlingRights;
+import org.chess4j.Color;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.bitboard.Magics;
+import org.chess4j.bitboard.TileGeometry;
+import org.chess4j.bitboard.Zobrist;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A mutable chess position that is changed in place by {@link #make(int)} and
+ * restored by {@link #unmake()}. Opposed to a {@link Board} a position does not
+ * hold piece objects but only the color and type of the pieces, which are
+ * encoded as {@code color.ordinal() * 6 + type.ordinal()}. Tiles are addressed
+ * by their {@link Tile#ordinal()} and moves are encoded as described by
+ * {@link Moves}.
+ * <p>
+ * Every call of {@link #make(int)} pushes the captured piece, the former
+ * castling rights, the former en passant target and the former key onto a
+ * compact undo stack, such that trying a move allocates no objects at all.
+ * The key of a position always equals the key of the corresponding
+ * {@link Board}. Likewise the material and piece-square values of the
+ * {@link PieceSquareTables} and the game phase are kept up to date by every
+ * change of a tile.
+ */
+public final class Position {
+
+    /**
+     * The code of an empty tile.
+     */
+    public static final int EMPTY = -1;
+
+    /*
+     * Number of piece types.
+     */
+    private static final int TYPES = Piece.Type.values().length;
+
+    /*
+     * Ordinals of the piece types.
+     */
+    private static final int PAWN = Piece.Type.PAWN.ordinal();
+    private static final int ROOK = Piece.Type.ROOK.ordinal();
+    private static final int KNIGHT = Piece.Type.KNIGHT.ordinal();
+    private static final int BISHOP = Piece.Type.BISHOP.ordinal();
+    private static final int QUEEN = Piece.Type.QUEEN.ordinal();
+    private static final int KING = Piece.Type.KING.ordinal();
+
+    /*
+     * The values of the piece types for the static exchange evaluation
+     * indexed by the type ordinal. The king outweighs all other pieces.
+     */
+    private static final int[] SEE_VALUES = {100, 500, 320, 330, 900, 20000};
+
+    /*
+     * The piece types from the least to the most valuable.
+     */
+    private static final int[] SEE_ORDER = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING};
+
+    /**
+     * The piece codes indexed by the tile ordinal.
+     */
+    private final int[] squares = new int[64];
+
+    /**
+     * One bitboard for every piece code.
+     */
+    private final long[] pieces = new long[2 * TYPES];
+
+    /**
+     * One bitboard for every color.
+     */
+    private final long[] colors = new long[2];
+
+    /**
+     * The gains of the captures of a static exchange evaluation, one per
+     * piece on the board.
+     */
+    private final int[] gains = new int[32];
+
+    /**
+     * The side to move.
+     */
+    private Color sideToMove;
+
+    /**
+     * The castling rights as specified by {@link CastlingRights}.
+     */
+    private int castlingRights;
+
+    /**
+     * The ordinal of the en passant target or -1.
+     */
+    private int enPassant;
+
+    /**
+     * The Zobrist key of the position.
+     */
+    private long key;
+
+    /**
+     * The number of half moves since the last capture or pawn move.
+     */
+    private int halfmoveClock;
+
+    /**
+     * The sum of the packed values of all pieces.
+     */
+    private int score;
+
+    /**
+     * The sum of the phase weights of all pieces.
+     */
+    private int phase;
+
+    /**
+     * The made moves.
+     */
+    private int[] moves = new int[32];
+
+    /**
+     * The packed state before each made move: the captured piece code plus one
+     * in bits 0 - 3, the castling rights in bits 4 - 7 and the en passant
+     * target plus one in bits 8 - 14.
+     */
+    private int[] states = new int[32];
+
+    /**
+     * The key before each made move.
+     */
+    private long[] keys = new long[32];
+
+    /**
+     * The halfmove clock before each made move.
+     */
+    private int[] clocks = new int[32];
+
+    /**
+     * The number of made moves.
+     */
+    private int ply;
+
+    /**
+     * Creates a position with the pieces and the state of the given board.
+     *
+     * @param board the given board.
+     */
+    public Position(Board board) {
+        this(board, board.sideToMove());
+    }
+
+    /**
+     * Creates a position with the pieces and castling rights of the given
+     * board, in which the given color is to move. If the side to move differs
+     * from the side to move of the board no en passant capture is possible.
+     *
+     * @param board      the given board.
+     * @param sideToMove the side to move.
+     */
+    public Position(Board board, Color sideToMove) {
+        Arrays.fill(squares, EMPTY);
+        for (Map.Entry<Tile, Piece> entry : board.entrySet()) {
+            put(entry.getKey().ordinal(), piece(entry.getValue()));
+        }
+        Tile enPassant = sideToMove == board.sideToMove() ? board.enPassant() : null;
+        this.sideToMove = sideToMove;
+        this.castlingRights = board.castlingRights();
+        this.enPassant = enPassant == null ? -1 : enPassant.ordinal();
+        this.halfmoveClock = board.halfmoveClock();
+        this.key = computeKey();
+    }
+
+    /**
+     * Creates a copy of the given position including its made moves, so the
+     * copy detects the same repetitions and can unmake the same moves. Copies
+     * are used to search the same position on several threads.
+     *
+     * @param position the given position.
+     */
+    public Position(Position position) {
+        System.arraycopy(position.squares, 0, squares, 0, squares.length);
+        System.arraycopy(position.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(position.colors, 0, colors, 0, colors.length);
+        this.sideToMove = position.sideToMove;
+        this.castlingRights = position.castlingRights;
+        this.enPassant = position.enPassant;
+        this.halfmoveClock = position.halfmoveClock;
+        this.key = position.key;
+        this.score = position.score;
+        this.phase = position.phase;
+        this.moves = position.moves.clone();
+        this.states = position.states.clone();
+        this.keys = position.keys.clone();
+        this.clocks = position.clocks.clone();
+        this.ply = position.ply;
+    }
+
+    /**
+     * Returns the code of the given piece.
+     *
+     * @param piece the given piece.
+     * @return the code of the piece.
+     */
+    public static int piece(Piece piece) {
+        return piece(piece.color(), piece.type());
+    }
+
+    /**
+     * Returns the code of the piece with the given color and type.
+     *
+     * @param color the color of the piece.
+     * @param type  the type of the piece.
+     * @return the code of the piece.
+     */
+    public static int piece(Color color, Piece.Type type) {
+        return color.ordinal() * TYPES + type.ordinal();
+    }
+
+    /**
+     * Returns the color ordinal of the given piece code.
+     *
+     * @param piece the piece code.
+     * @return the color ordinal of the piece.
+     */
+    public static int color(int piece) {
+        return piece / TYPES;
+    }
+
+    /**
+     * Returns the type ordinal of the given piece code.
+     *
+     * @param piece the piece code.
+     * @return the type ordinal of the piece.
+     */
+    public static int type(int piece) {
+        return piece % TYPES;
+    }
+
+    /**
+     * Returns the side to move.
+     *
+     * @return the side to move.
+     */
+    public Color sideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Returns the castling rights as specified by {@link CastlingRights}.
+     *
+     * @return the castling rights.
+     */
+    public int castlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Returns the ordinal of the en passant target or -1 if there is none.
+     *
+     * @return the ordinal of the en passant target or -1.
+     */
+    public int enPassant() {
+        return enPassant;
+    }
+
+    /**
+     * Returns the Zobrist key of the position.
+     *
+     * @return the Zobrist key.
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * Returns the number of half moves since the last capture or pawn move.
+     *
+     * @return the halfmove clock.
+     */
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Returns the sum of the middlegame values of all pieces from the view of
+     * white.
+     *
+     * @return the middlegame score.
+     * @see PieceSquareTables
+     */
+    public int middlegameScore() {
+        return PieceSquareTables.middlegame(score);
+    }
+
+    /**
+     * Returns the sum of the endgame values of all pieces from the view of
+     * white.
+     *
+     * @return the endgame score.
+     * @see PieceSquareTables
+     */
+    public int endgameScore() {
+        return PieceSquareTables.endgame(score);
+    }
+
+    /**
+     * Returns the game phase, which is the sum of the phase weights of all
+     * pieces. It exceeds {@link PieceSquareTables#MAX_PHASE} only after
+     * promotions.
+     *
+     * @return the game phase.
+     */
+    public int phase() {
+        return phase;
+    }
+
+    /**
+     * Returns {@code true} if the current position has occurred before among
+     * the positions of the made moves. Only the positions since the last
+     * capture or pawn move are compared, as no earlier position can occur
+     * again, and only those with the same side to move.
+     *
+     * @return {@code true} if the position repeats an earlier one.
+     */
+    public boolean isRepetition() {
+        int limit = Math.min(halfmoveClock, ply);
+        for (int i = 4; i <= limit; i += 2) {
+            if (keys[ply - i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of moves made on this position that can be unmade.
+     *
+     * @return the number of made moves.
+     */
+    public int ply() {
+        return ply;
+    }
+
+    /**
+     * Returns the code of the piece on the tile with the given ordinal or
+     * {@link #EMPTY}.
+     *
+     * @param square the ordinal of the tile.
+     * @return the piece code or {@link #EMPTY}.
+     */
+    public int pieceAt(int square) {
+        return squares[square];
+    }
+
+    /**
+     * Returns the bitboard of all pieces with the given code.
+     *
+     * @param piece the piece code.
+     * @return the bitboard of the pieces.
+     */
+    public long pieces(int piece) {
+        return pieces[piece];
+    }
+
+    /**
+     * Returns the bitboard of all pieces of the given color.
+     *
+     * @param color the given color.
+     * @return the bitboard of the pieces of the color.
+     */
+    public long pieces(Color color) {
+        return colors[color.ordinal()];
+    }
+
+    /**
+     * Returns the bitboard of all occupied tiles.
+     *
+     * @return the bitboard of all pieces.
+     */
+    public long occupied() {
+        return colors[0] | colors[1];
+    }
+
+    /**
+     * Returns the ordinal of the tile of the king of the given color or -1 if
+     * there is no such king.
+     *
+     * @param color the color of the king.
+     * @return the ordinal of the king tile or -1.
+     */
+    public int kingSquare(Color color) {
+        long king = pieces[piece(color, Piece.Type.KING)];
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Returns {@code true} if the king of the side to move is attacked.
+     *
+     * @return {@code true} if the side to move is in check.
+     */
+    public boolean inCheck() {
+        return inCheck(sideToMove);
+    }
+
+    /**
+     * Returns {@code true} if the king of the given color is attacked. A
+     * missing king is never in check.
+     *
+     * @param color the color of the king.
+     * @return {@code true} if the king is in check.
+     */
+    public boolean inCheck(Color color) {
+        int king = kingSquare(color);
+        return king >= 0 && isAttacked(king, color.opposite());
+    }
+
+    /**
+     * Returns {@code true} if any piece of the given color attacks the tile with
+     * the given ordinal. The attackers are looked up from the tile with the
+     * attack tables.
+     *
+     * @param square the ordinal of the tile.
+     * @param by     the color of the attackers.
+     * @return {@code true} if the tile is attacked.
+     */
+    public boolean isAttacked(int square, Color by) {
+        int offset = by.ordinal() * TYPES;
+        // A pawn attacks the tiles from which a pawn of the other color would
+        // be attacked.
+        if ((TileGeometry.pawnAttacks(by.opposite(), square) & pieces[offset + PAWN]) != 0
+                || (TileGeometry.knightAttacks(square) & pieces[offset + KNIGHT]) != 0
+                || (TileGeometry.kingAttacks(square) & pieces[offset + KING]) != 0) {
+            return true;
+        }
+        long queens = pieces[offset + QUEEN];
+        long occupied = occupied();
+        return (Magics.rookAttacks(square, occupied) & (pieces[offset + ROOK] | queens)) != 0
+                || (Magics.bishopAttacks(square, occupied) & (pieces[offset + BISHOP] | queens)) != 0;
+    }
+
+    /**
+     * Returns the pieces of both colors that attack the tile with the given
+     * ordinal if only the given tiles were occupied. Pieces outside the given
+     * occupancy are included, so callers that remove pieces from the
+     * occupancy must mask them out.
+     *
+     * @param square   the ordinal of the tile.
+     * @param occupied the bitboard of the occupied tiles.
+     * @return the bitboard of the attackers.
+     */
+    public long attackers(int square, long occupied) {
+        int white = Color.WHITE.ordinal() * TYPES;
+        int black = Color.BLACK.ordinal() * TYPES;
+        long queens = pieces[white + QUEEN] | pieces[black + QUEEN];
+        long rooks = pieces[white + ROOK] | pieces[black + ROOK] | queens;
+        long bishops = pieces[white + BISHOP] | pieces[black + BISHOP] | queens;
+        return TileGeometry.pawnAttacks(Color.BLACK, square) & pieces[white + PAWN]
+                | TileGeometry.pawnAttacks(Color.WHITE, square) & pieces[black + PAWN]
+                | TileGeometry.knightAttacks(square) & (pieces[white + KNIGHT] | pieces[black + KNIGHT])
+                | TileGeometry.kingAttacks(square) & (pieces[white + KING] | pieces[black + KING])
+                | Magics.rookAttacks(square, occupied) & rooks
+                | Magics.bishopAttacks(square, occupied) & bishops;
+    }
+
+    /**
+     * Returns the static exchange evaluation of the given move, which is the
+     * material the side to move wins if both sides alternately capture on
+     * the end tile with their least valuable piece and either side may stop
+     * capturing when it is ahead. Pieces behind an attacker that capture
+     * along the same line join the exchange. Pawns count 100, knights 320,
+     * bishops 330, rooks 500 and queens 900 centipawns. Pins are ignored and
+     * a king only captures if the other side cannot recapture.
+     * <p>
+     * The move must be pseudo legal. The exchange is evaluated with the
+     * attack tables only, without making moves and without allocating, so a
+     * negative value identifies a losing capture quickly.
+     *
+     * @param move the encoded move.
+     * @return the material balance of the exchange in centipawns.
+     */
+    public int see(int move) {
+        int start = Moves.start(move);
+        int end = Moves.end(move);
+        int kind = Moves.kind(move);
+        if (kind == Moves.ROCHADE) {
+            return 0;
+        }
+        int[] gains = this.gains;
+        long occupied = occupied() ^ 1L << start;
+        int victim = squares[end];
+        gains[0] = victim == EMPTY ? 0 : SEE_VALUES[type(victim)];
+        int onSquare = SEE_VALUES[type(squares[start])];
+        if (kind == Moves.EN_PASSANTE) {
+            gains[0] = SEE_VALUES[PAWN];
+            occupied ^= 1L << (end + (sideToMove == Color.WHITE ? 8 : -8));
+        } else if (Moves.isPromotion(move)) {
+            gains[0] += SEE_VALUES[Moves.promotion(move)] - SEE_VALUES[PAWN];
+            onSquare = SEE_VALUES[Moves.promotion(move)];
+        }
+        long attackers = attackers(end, occupied) & occupied;
+        int side = 1 - sideToMove.ordinal();
+        int depth = 0;
+        while (true) {
+            long own = attackers & colors[side];
+            if (own == 0) {
+                break;
+            }
+            int type = KING;
+            long from = 0;
+            for (int candidate : SEE_ORDER) {
+                from = own & pieces[side * TYPES + candidate];
+                if (from != 0) {
+                    type = candidate;
+                    break;
+                }
+            }
+            if (type == KING && (attackers & colors[1 - side]) != 0) {
+                // The king cannot capture a defended piece.
+                break;
+            }
+            depth++;
+            gains[depth] = onSquare - gains[depth - 1];
+            onSquare = SEE_VALUES[type];
+            occupied ^= Long.lowestOneBit(from);
+            // Removing the capturer may uncover a slider behind it.
+            if (type == PAWN || type == BISHOP || type == QUEEN) {
+                attackers |= Magics.bishopAttacks(end, occupied) & (pieces[BISHOP] | pieces[QUEEN]
+                        | pieces[TYPES + BISHOP] | pieces[TYPES + QUEEN]);
+            }
+            if (type == ROOK || type == QUEEN) {
+                attackers |= Magics.rookAttacks(end, occupied) & (pieces[ROOK] | pieces[QUEEN]
+                        | pieces[TYPES + ROOK] | pieces[TYPES + QUEEN]);
+            }
+            attackers &= occupied;
+            side = 1 - side;
+        }
+        // Each side only captures if that does not make it worse off.
+        while (depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    /**
+     * Encodes the move of the piece on start to end on this position. The
+     * kind of the move is derived from the moved piece: a pawn that moves two
+     * rows leaps, a pawn that moves onto the en passant target captures en
+     * passant, a pawn that reaches the last row is promoted to a queen and a
+     * king that moves two columns performs a rochade. The returned move is not
+     * checked for validity.
+     *
+     * @param start the ordinal of the start tile.
+     * @param end   the ordinal of the end tile.
+     * @return the encoded move.
+     */
+    public int move(int start, int end) {
+        int piece = squares[start];
+        if (piece == EMPTY) {
+            return Moves.of(start, end);
+        }
+        int type = type(piece);
+        if (type == PAWN) {
+            int deltaRow = (start >>> 3) - (end >>> 3);
+            if (Math.abs(deltaRow) == 2) {
+                return Moves.of(start, end, Moves.LEAP);
+            }
+            if (end == enPassant && (start & 7) != (end & 7)) {
+                return Moves.of(start, end, Moves.EN_PASSANTE);
+            }
+            if (end < 8 || end >= 56) {
+                return Moves.promotion(start, end, Piece.Type.QUEEN);
+            }
+        } else if (type == KING && Math.abs((start & 7) - (end & 7)) == 2 && (start >>> 3) == (end >>> 3)) {
+            return Moves.of(start, end, Moves.ROCHADE);
+        }
+        return Moves.of(start, end);
+    }
+
+    /**
+     * Returns {@code true} if the move is valid for the side to move without
+     * regard to checks, that is the moved piece can reach the end tile and
+     * the end tile is free or hosts an enemy piece.
+     *
+     * @param move the encoded move.
+     * @return {@code true} if the move is pseudo legal.
+     */
+    public boolean isPseudoLegal(int move) {
+        int start = Moves.start(move);
+        int end = Moves.end(move);
+        int piece = squares[start];
+        if (piece == EMPTY || color(piece) != sideToMove.ordinal() || start == end) {
+            return false;
+        }
+        int target = squares[end];
+        if (target != EMPTY && color(target) == color(piece)) {
+            return false;
+        }
+        int type = type(piece);
+        int kind = Moves.kind(move);
+        if (type == PAWN) {
+            return isPseudoLegalPawnMove(start, end, kind, Moves.promotion(move));
+        }
+        if (Moves.isPromotion(move)) {
+            return false;
+        }
+        if (type == KING && kind == Moves.ROCHADE) {
+            return isPseudoLegalRochade(start, end);
+        }
+        if (kind != Moves.NORMAL) {
+            return false;
+        }
+        if (type == KNIGHT) {
+            return (TileGeometry.knightAttacks(start) & 1L << end) != 0;
+        }
+        if (type == KING) {
+            return (TileGeometry.kingAttacks(start) & 1L << end) != 0;
+        }
+        return (sliderAttacks(type, start) & 1L << end) != 0;
+    }
+
+    /**
+     * Returns {@code true} if the move is pseudo legal and does not leave the
+     * king of the side to move in check. The position is unchanged after the
+     * call.
+     *
+     * @param move the encoded move.
+     * @return {@code true} if the move is legal.
+     */
+    public boolean isLegal(int move) {
+        if (!isPseudoLegal(move)) {
+            return false;
+        }
+        Color mover = sideToMove;
+        make(move);
+        boolean legal = !inCheck(mover);
+        unmake();
+        return legal;
+    }
+
+    /**
+     * Makes the given move, which must be pseudo legal. The move can be taken
+     * back with {@link #unmake()}.
+     *
+     * @param move the encoded move.
+     */
+    public void make(int move) {
+        int start = Moves.start(move);
+        int end = Moves.end(move);
+        int kind = Moves.kind(move);
+        int piece = squares[start];
+        int capturedSquare = kind == Moves.EN_PASSANTE ? end + (sideToMove == Color.WHITE ? 8 : -8) : end;
+        int captured = squares[capturedSquare];
+
+        push(move, captured);
+        key ^= Zobrist.side(sideToMove) ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassant);
+
+        remove(start);
+        if (captured != EMPTY) {
+            remove(capturedSquare);
+        }
+        put(end, Moves.isPromotion(move) ? color(piece) * TYPES + Moves.promotion(move) : piece);
+        if (kind == Moves.ROCHADE) {
+            int rookStart = end > start ? end + 1 : end - 2;
+            int rookEnd = end > start ? end - 1 : end + 1;
+            put(rookEnd, remove(rookStart));
+            castlingRights = CastlingRights.remaining(castlingRights, start, rookStart);
+        }
+        castlingRights = CastlingRights.remaining(castlingRights, start, end);
+        enPassant = kind == Moves.LEAP && isEnemyPawnBeside(end, piece) ? (start + end) / 2 : -1;
+        halfmoveClock = type(piece) == PAWN || captured != EMPTY ? 0 : halfmoveClock + 1;
+        sideToMove = sideToMove.opposite();
+
+        key ^= Zobrist.side(sideToMove) ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassant);
+    }
+
+    /**
+     * Passes the move to the other side without moving a piece, which a
+     * search uses to test whether the position is good even if the opponent
+     * could move twice. The side to move must not be in check. The null move
+     * is pushed as {@link Moves#NONE} and taken back with {@link #unmake()}.
+     * It resets the halfmove clock, so that no position before it is taken
+     * for a repetition.
+     */
+    public void makeNull() {
+        push(Moves.NONE, EMPTY);
+        key ^= Zobrist.side(sideToMove) ^ Zobrist.enPassant(enPassant);
+        enPassant = -1;
+        halfmoveClock = 0;
+        sideToMove = sideToMove.opposite();
+        key ^= Zobrist.side(sideToMove);
+    }
+
+    /**
+     * Takes back the last made move.
+     *
+     * @throws IllegalStateException if no move has been made.
+     */
+    public void unmake() {
+        if (ply == 0) {
+            throw new IllegalStateException("There is no move to unmake.");
+        }
+        ply--;
+        int move = moves[ply];
+        int state = states[ply];
+        if (move == Moves.NONE) {
+            sideToMove = sideToMove.opposite();
+            enPassant = ((state >>> 8) & 127) - 1;
+            halfmoveClock = clocks[ply];
+            key = keys[ply];
+            return;
+        }
+        int start = Moves.start(move);
+        int end = Moves.end(move);
+        int kind = Moves.kind(move);
+        sideToMove = sideToMove.opposite();
+
+        int moved = remove(end);
+        put(start, Moves.isPromotion(move) ? color(moved) * TYPES + PAWN : moved);
+        int captured = (state & 15) - 1;
+        if (captured != EMPTY) {
+            int capturedSquare = kind == Moves.EN_PASSANTE ? end + (sideToMove == Color.WHITE ? 8 : -8) : end;
+            put(capturedSquare, captured);
+        }
+        if (kind == Moves.ROCHADE) {
+            int rookStart = end > start ? end + 1 : end - 2;
+            int rookEnd = end > start ? end - 1 : end + 1;
+            put(rookStart, remove(rookEnd));
+        }
+        castlingRights = (state >>> 4) & 15;
+        enPassant = ((state >>> 8) & 127) - 1;
+        halfmoveClock = clocks[ply];
+        key = keys[ply];
+    }
+
+    /*
+     * Pushes the state before the given move onto the undo stack.
+     */
+    private void push(int move, int captured) {
+        if (ply == moves.length) {
+            moves = Arrays.copyOf(moves, ply * 2);
+            states = Arrays.copyOf(states, ply * 2);
+            keys = Arrays.copyOf(keys, ply * 2);
+            clocks = Arrays.copyOf(clocks, ply * 2);
+        }
+        moves[ply] = move;
+        states[ply] = (captured + 1) | castlingRights << 4 | (enPassant + 1) << 8;
+        keys[ply] = key;
+        clocks[ply] = halfmoveClock;
+        ply++;
+    }
+
+    /*
+     * Puts the piece on the empty tile and updates bitboards, key and values.
+     */
+    private void put(int square, int piece) {
+        long bit = 1L << square;
+        squares[square] = piece;
+        pieces[piece] |= bit;
+        colors[color(piece)] |= bit;
+        key ^= Zobrist.piece(piece, square);
+        score += PieceSquareTables.score(piece, square);
+        phase += PieceSquareTables.phase(piece);
+    }
+
+    /*
+     * Removes the piece from the occupied tile and updates bitboards, key and
+     * values.
+     */
+    private int remove(int square) {
+        int piece = squares[square];
+        long mask = ~(1L << square);
+        squares[square] = EMPTY;
+        pieces[piece] &= mask;
+        colors[color(piece)] &= mask;
+        key ^= Zobrist.piece(piece, square);
+        score -= PieceSquareTables.score(piece, square);
+        phase -= PieceSquareTables.phase(piece);
+        return piece;
+    }
+
+    /*
+     * Computes the key from scratch.
+     */
+    private long computeKey() {
+        long key = Zobrist.side(sideToMove) ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassant);
+        for (int square = 0; square < 64; square++) {
+            if (squares[square] != EMPTY) {
+                key ^= Zobrist.piece(squares[square], square);
+            }
+        }
+        return key;
+    }
+
+    /*
+     * Validity check for all pawn moves.
+     */
+    private boolean isPseudoLegalPawnMove(int start, int end, int kind, int promotion) {
+        int piece = squares[start];
+        boolean white = color(piece) == Color.WHITE.ordinal();
+        int forward = white ? -8 : 8;
+        int deltaColumn = Math.abs((end & 7) - (start & 7));
+        boolean lastRow = white ? end < 8 : end >= 56;
+        if (lastRow != (promotion != 0) || promotion == KING) {
+            return false;
+        }
+        switch (kind) {
+            case Moves.NORMAL:
+                if (deltaColumn == 0) {
+                    return end == start + forward && squares[end] == EMPTY;
+                }
+                return deltaColumn == 1 && (end - deltaColumnSign(start, end)) == start + forward
+                        && squares[end] != EMPTY;
+            case Moves.LEAP:
+                int startRow = white ? 6 : 1;
+                return (start >>> 3) == startRow && end == start + 2 * forward
+                        && squares[start + forward] == EMPTY && squares[end] == EMPTY;
+            case Moves.EN_PASSANTE:
+                return end == enPassant && deltaColumn == 1
+                        && (end - deltaColumnSign(start, end)) == start + forward
+                        && squares[end - forward] == (white ? 1 : 0) * TYPES + PAWN;
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * The signed column step from start to end.
+     */
+    private static int deltaColumnSign(int start, int end) {
+        return Integer.signum((end & 7) - (start & 7));
+    }
+
+    /*
+     * Validity check for a rochade apart from the final tile of the king,
+     * which is checked by making the move.
+     */
+    private boolean isPseudoLegalRochade(int start, int end) {
+        int right = CastlingRights.rochade(start, end);
+        if (right == CastlingRights.NONE) {
+            return false;
+        }
+        int rookStart = end > start ? end + 1 : end - 2;
+        int king = squares[start];
+        if ((castlingRights & right) == 0 || squares[rookStart] != color(king) * TYPES + ROOK) {
+            return false;
+        }
+        if (!isPathClear(start, rookStart)) {
+            return false;
+        }
+        Color enemy = sideToMove.opposite();
+        int between = (start + end) / 2;
+        return !isAttacked(start, enemy) && !isAttacked(between, enemy);
+    }
+
+    /*
+     * Returns the tiles the rook, bishop or queen on start attacks.
+     */
+    private long sliderAttacks(int type, int start) {
+        long occupied = occupied();
+        if (type == ROOK) {
+            return Magics.rookAttacks(start, occupied);
+        }
+        if (type == BISHOP) {
+            return Magics.bishopAttacks(start, occupied);
+        }
+        return Magics.queenAttacks(start, occupied);
+    }
+
+    /*
+     * Returns true if all tiles strictly between start and end are empty. Start
+     * and end must lie on a common line.
+     */
+    private boolean isPathClear(int start, int end) {
+        return (TileGeometry.between(start, end) & occupied()) == 0;
+    }
+
+    /*
+     * Returns true if a pawn of the opposite color of the given pawn stands
+     * next to the given tile.
+     */
+    private boolean isEnemyPawnBeside(int square, int pawn) {
+        int enemyPawn = (1 - color(pawn)) * TYPES + PAWN;
+        int column = square & 7;
+        return column > 0 && squares[square - 1] == enemyPawn
+                || column < 7 && squares[square + 1] == enemyPawn;
+    }
+}
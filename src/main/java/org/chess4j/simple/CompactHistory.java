@@ -0,0 +1,413 @@
+package org.chess4j.simple;
+
+import org.chess4j.Board;
+import org.chess4j.Boards;
+import org.chess4j.History;
+import org.chess4j.Move;
+import org.chess4j.Piece;
+import org.chess4j.Tile;
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.moves.EnPassante;
+import org.chess4j.moves.NormalMove;
+import org.chess4j.moves.PawnCapture;
+import org.chess4j.moves.PawnLeap;
+import org.chess4j.moves.PawnMove;
+import org.chess4j.moves.Promotion;
+import org.chess4j.moves.Rochade;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A history that stores every move as a single {@code int} instead of a
+ * {@link Move} with two boards. The lower 17 bits hold the move as encoded by
+ * {@link Moves}, that is start, end, promotion and the kind of the move, and
+ * the bits above hold the code of the captured piece as given by
+ * {@link Position#piece(Piece)} plus one, or zero if nothing was captured.
+ * <p>
+ * Besides the encoded moves the history keeps the initial position, the
+ * position after the last move and a snapshot of every
+ * {@value #SNAPSHOT_INTERVAL}th position. The moves returned by
+ * {@link #get(int)} only hold their index and encoding. Their boards are
+ * rebuilt by replaying the moves from the nearest snapshot when
+ * {@link Move#initial()} or {@link Move#result()} is requested, so at most
+ * {@value #SNAPSHOT_INTERVAL} moves are replayed. A move returned by
+ * {@link #get(int)} is only meaningful as long as it is not reverted.
+ */
+public class CompactHistory implements History {
+
+    /**
+     * The number of moves between two snapshots of the position.
+     */
+    public static final int SNAPSHOT_INTERVAL = 16;
+
+    /*
+     * Position of the captured piece within the encoding.
+     */
+    private static final int CAPTURED_SHIFT = 17;
+
+    /**
+     * The initial position at the start of the game.
+     */
+    private final Board initial;
+
+    /**
+     * The encoded moves.
+     */
+    private int[] moves = new int[64];
+
+    /**
+     * The number of moves played.
+     */
+    private int size;
+
+    /**
+     * The position before the move with the index i * SNAPSHOT_INTERVAL at
+     * index i, the first snapshot is the initial position.
+     */
+    private Board[] snapshots = new Board[4];
+
+    /**
+     * The last move played or {@code null} if no move has been played.
+     */
+    private Move last;
+
+    /**
+     * Constructs a new history with the given initial position.
+     *
+     * @param initial the initial position of the board.
+     */
+    public CompactHistory(Board initial) {
+        this.initial = Boards.copy(initial);
+        this.snapshots[0] = this.initial;
+    }
+
+    /**
+     * Adds a move to the game. An {@link IllegalArgumentException} is thrown
+     * if the initial position of the move does not match the current position
+     * of the game.
+     *
+     * @throws IllegalArgumentException if the initial position of the move
+     *                                  does not match the current position.
+     */
+    @Override
+    public void add(Move element) {
+        Objects.requireNonNull(element);
+        if (element == Move.INVALID_MOVE) {
+            throw new IllegalArgumentException("Cannot add an invalid move.");
+        }
+        if (currentPosition().key() != element.initial().key()) {
+            throw new IllegalArgumentException("The initial board position of" +
+                    " the move does not match the current board position of " +
+                    "the game.");
+        }
+
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, 2 * size);
+        }
+        moves[size++] = encode(element);
+        last = element;
+        if (size % SNAPSHOT_INTERVAL == 0) {
+            int index = size / SNAPSHOT_INTERVAL;
+            if (index == snapshots.length) {
+                snapshots = Arrays.copyOf(snapshots, 2 * index);
+            }
+            snapshots[index] = element.result();
+        }
+    }
+
+    /**
+     * Returns the move with the given index, whose boards are rebuilt on
+     * demand.
+     *
+     * @param index the index of the move.
+     * @return the move with the given index.
+     * @throws IndexOutOfBoundsException if no move with the index was played.
+     */
+    @Override
+    public Move get(int index) {
+        Objects.checkIndex(index, size);
+        return index == size - 1 ? last : new CompactMove(index, moves[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Board currentPosition() {
+        return last == null ? initial : last.result();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int turnNumber() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(snapshots, 1, snapshots.length, null);
+        size = 0;
+        last = null;
+    }
+
+    /**
+     * Returns {@code true} if the piece has been moved {@code false}
+     * otherwise. All moves are replayed from the initial position, so the
+     * query takes linear time in the length of the game. Pieces are compared
+     * by identity, so a piece that emerged from a promotion is never found,
+     * as every replay creates it anew.
+     *
+     * @param piece the given piece.
+     * @return {@code true} if the piece has been moved {@code false} otherwise.
+     */
+    @Override
+    public boolean hasBeenMoved(Piece piece) {
+        Objects.requireNonNull(piece);
+        Board board = initial;
+        for (int i = 0; i < size; i++) {
+            Move move = replay(board, moves[i]);
+            if (move.moved() == piece) {
+                return true;
+            }
+            board = move.result();
+        }
+        return false;
+    }
+
+    /**
+     * Reverts the last move of the game. Returns the reverted Move or null if
+     * none is present.
+     */
+    @Override
+    public Move revert() {
+        if (size == 0) {
+            return null;
+        }
+        Move reverted = last;
+        if (size % SNAPSHOT_INTERVAL == 0) {
+            snapshots[size / SNAPSHOT_INTERVAL] = null;
+        }
+        size--;
+        last = size == 0 ? null : replay(boardBefore(size - 1), moves[size - 1]);
+        return reverted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public History view() {
+        return new View(this);
+    }
+
+    /*
+     * Returns the position before the move with the given index by replaying
+     * the moves since the last snapshot.
+     */
+    private Board boardBefore(int index) {
+        int snapshot = index / SNAPSHOT_INTERVAL;
+        Board board = snapshots[snapshot];
+        for (int i = snapshot * SNAPSHOT_INTERVAL; i < index; i++) {
+            board = replay(board, moves[i]).result();
+        }
+        return board;
+    }
+
+    /*
+     * Encodes the given move, the kind is derived from the class of the move.
+     */
+    private static int encode(Move move) {
+        int start = move.start().ordinal();
+        int end = move.end().ordinal();
+        int encoded;
+        if (move instanceof Rochade) {
+            encoded = Moves.of(start, end, Moves.ROCHADE);
+        } else if (move instanceof EnPassante) {
+            encoded = Moves.of(start, end, Moves.EN_PASSANTE);
+        } else if (move instanceof PawnLeap) {
+            encoded = Moves.of(start, end, Moves.LEAP);
+        } else if (move instanceof Promotion) {
+            encoded = Moves.promotion(start, end, ((Promotion) move).type());
+        } else {
+            encoded = Moves.of(start, end);
+        }
+        Optional<Piece> captured = move.captured();
+        return captured.isPresent()
+                ? encoded | (Position.piece(captured.get()) + 1) << CAPTURED_SHIFT
+                : encoded;
+    }
+
+    /*
+     * Performs the encoded move on the given board.
+     */
+    private static Move replay(Board board, int encoded) {
+        Tile start = Bitboards.tile(Moves.start(encoded));
+        Tile end = Bitboards.tile(Moves.end(encoded));
+        Move move;
+        switch (Moves.kind(encoded)) {
+            case Moves.ROCHADE:
+                move = Rochade.perform(start, end, board);
+                break;
+            case Moves.EN_PASSANTE:
+                move = EnPassante.perform(start, end, board);
+                break;
+            case Moves.LEAP:
+                move = PawnLeap.perform(start, end, board);
+                break;
+            default:
+                if (Moves.isPromotion(encoded)) {
+                    Piece.Type type = Piece.Type.values()[Moves.promotion(encoded)];
+                    move = Promotion.perform(start, end, board, type);
+                } else if (!Piece.isPawn(board.get(start))) {
+                    move = NormalMove.perform(start, end, board);
+                } else if (start.column() == end.column()) {
+                    move = PawnMove.perform(start, end, board);
+                } else {
+                    move = PawnCapture.perform(start, end, board);
+                }
+        }
+        if (move == Move.INVALID_MOVE || capturedCode(move) != encoded >>> CAPTURED_SHIFT) {
+            throw new IllegalStateException("The encoded move " + Moves.toString(encoded) +
+                    " cannot be replayed.");
+        }
+        return move;
+    }
+
+    /*
+     * Returns the code of the captured piece plus one or zero.
+     */
+    private static int capturedCode(Move move) {
+        Optional<Piece> captured = move.captured();
+        return captured.isPresent() ? Position.piece(captured.get()) + 1 : 0;
+    }
+
+    /*
+     * A move of the history that holds its index and encoding and rebuilds
+     * the actual move when its boards are requested.
+     */
+    private final class CompactMove implements Move {
+
+        private final int index;
+        private final int encoded;
+        private Move move;
+
+        CompactMove(int index, int encoded) {
+            this.index = index;
+            this.encoded = encoded;
+        }
+
+        /*
+         * Returns the replayed move.
+         */
+        private Move move() {
+            if (move == null) {
+                move = replay(boardBefore(index), encoded);
+            }
+            return move;
+        }
+
+        @Override
+        public Tile start() {
+            return Bitboards.tile(Moves.start(encoded));
+        }
+
+        @Override
+        public Tile end() {
+            return Bitboards.tile(Moves.end(encoded));
+        }
+
+        @Override
+        public Board initial() {
+            return move().initial();
+        }
+
+        @Override
+        public Board result() {
+            return move().result();
+        }
+
+        @Override
+        public Piece moved() {
+            return move().moved();
+        }
+
+        @Override
+        public Optional<Piece> captured() {
+            return move().captured();
+        }
+    }
+
+    /*
+     * An unmodifiable view of a history.
+     */
+    private static final class View implements History {
+
+        private final History history;
+
+        View(History history) {
+            this.history = history;
+        }
+
+        @Override
+        public void add(Move element) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Move get(int index) {
+            return history.get(index);
+        }
+
+        @Override
+        public Board currentPosition() {
+            return history.currentPosition();
+        }
+
+        @Override
+        public int turnNumber() {
+            return history.turnNumber();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return history.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean hasBeenMoved(Piece piece) {
+            return history.hasBeenMoved(piece);
+        }
+
+        @Override
+        public Move revert() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public History view() {
+            return this;
+        }
+    }
+}
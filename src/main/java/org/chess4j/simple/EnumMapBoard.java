@@ -1,6 +1,7 @@
 package org.chess4j.simple;
 
 import org.chess4j.Board;
+import org.chess4j.Color;
 import org.chess4j.Piece;
 import org.chess4j.Tile;
 
@@ -23,6 +24,13 @@ public class EnumMapBoard extends AbstractMap<Tile, Piece> implements Board {
 
     private final Map<Tile, Piece> board;
 
+    /**
+     * The last tiles a king of either color was put on, indexed by the color
+     * ordinal. As pieces may also be removed through the entry set, a tile is
+     * checked before it is returned.
+     */
+    private final Tile[] kings = new Tile[2];
+
     /**
      * Constructor instantiates an empty board.
      */
@@ -52,9 +60,32 @@ public class EnumMapBoard extends AbstractMap<Tile, Piece> implements Board {
     public Piece put(Tile key, Piece value) {
         Objects.requireNonNull(key);
         Objects.requireNonNull(value);
+        if (Piece.isKing(value)) {
+            kings[value.color().ordinal()] = key;
+        }
         return board.put(key, value);
     }
 
+    /**
+     * Returns the tile of the king of the given color. The tile the king was
+     * last put on is checked first, so the tiles are only scanned if the king
+     * has been removed.
+     *
+     * @param color the color of the king.
+     * @return the tile of the king or {@code null}.
+     */
+    @Override
+    public Tile king(Color color) {
+        Tile tile = kings[color.ordinal()];
+        Piece piece = tile == null ? null : board.get(tile);
+        if (Piece.isKing(piece) && piece.color() == color) {
+            return tile;
+        }
+        tile = Board.super.king(color);
+        kings[color.ordinal()] = tile;
+        return tile;
+    }
+
     /**
      * {@inheritDoc}
      */
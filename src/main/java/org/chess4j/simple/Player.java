@@ -1,21 +1,31 @@
 package org.chess4j.simple;
 
 import org.chess4j.Board;
-import org.chess4j.Boards;
 import org.chess4j.Color;
 import org.chess4j.History;
 import org.chess4j.Move;
 import org.chess4j.Piece;
 import org.chess4j.Tile;
+import org.chess4j.bitboard.BitboardView;
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.bitboard.Magics;
+import org.chess4j.bitboard.TileGeometry;
 import org.chess4j.exceptions.InvalidMoveException;
 import org.chess4j.moves.EnPassante;
 import org.chess4j.moves.NormalMove;
 import org.chess4j.moves.PawnCapture;
 import org.chess4j.moves.PawnLeap;
 import org.chess4j.moves.PawnMove;
+import org.chess4j.moves.Promotion;
 import org.chess4j.moves.Rochade;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 import static java.util.Objects.isNull;
 import static org.chess4j.Move.INVALID_MOVE;
@@ -41,6 +51,22 @@ public class Player {
      */
     private History chronicle;
 
+    /**
+     * The board the cached position has been created from.
+     */
+    private Board positionBoard;
+
+    /**
+     * A mutable position of the current board with this player to move, which
+     * is used to try moves without creating boards.
+     */
+    private Position position;
+
+    /**
+     * The list the legal moves of the position are generated into.
+     */
+    private final MoveList moves = new MoveList();
+
     /*
      * Private Constructor.
      */
@@ -106,8 +132,8 @@ public class Player {
      * @return {@code true} if the move is valid.
      */
     public boolean isValid(Tile start, Tile end) {
-        Move move = createMove(chronicle, start, end);
-        return move != INVALID_MOVE && Piece.isOfColor(color).test(move.moved()) && !inCheck(move.result(), color);
+        Position position = position();
+        return position.isLegal(position.move(start.ordinal(), end.ordinal()));
     }
 
     /**
@@ -121,15 +147,48 @@ public class Player {
      *                              move.
      */
     public void move(Tile start, Tile end) throws InvalidMoveException {
-        Board current = chronicle.currentPosition();
-        Piece piece = current.get(start);
+        checkPiece(start);
+        perform(createMove(chronicle, start, end));
+    }
+
+    /**
+     * Moves the pawn from start to the last row and promotes it to the given
+     * type.
+     *
+     * @param start the start coordinate.
+     * @param end   the end coordinate.
+     * @param type  the type the pawn is promoted to.
+     * @throws InvalidMoveException     if there is no piece on the start
+     *                                  position, if the piece has the wrong
+     *                                  color, if the move is no valid
+     *                                  promotion or if the player is in check
+     *                                  as a result of the move.
+     * @throws IllegalArgumentException if the pawn cannot be promoted to the
+     *                                  given type.
+     */
+    public void move(Tile start, Tile end, Piece.Type type) throws InvalidMoveException {
+        checkPiece(start);
+        perform(Promotion.perform(start, end, chronicle.currentPosition(), type));
+    }
+
+    /*
+     * Checks that the player owns the piece on the start tile.
+     */
+    private void checkPiece(Tile start) {
+        Piece piece = chronicle.currentPosition().get(start);
         if (isNull(piece)) {
             throw new InvalidMoveException(String.format("There is no piece on %s", start));
         }
         if (piece.color() != color) {
             throw new InvalidMoveException("The player cannot move a piece of the opposite color");
         }
-        Move move = createMove(chronicle, start, end);
+    }
+
+    /*
+     * Adds the given move to the chronicle if it is valid and does not leave
+     * the player in check.
+     */
+    private void perform(Move move) {
         if (move == INVALID_MOVE) {
             throw new InvalidMoveException("The move is invalid for the given piece");
         }
@@ -199,22 +258,95 @@ public class Player {
      *         {@code false} otherwise.
      */
     public static boolean inCheck(Board board, Color color) {
-        Board enemyPieces = Boards.filter(board, Piece.isOfColor(color.opposite()));
-        Board kingMapping = Boards.filter(board, Piece.isOfColor(color).and(Piece::isKing));
-        Tile kingPosition = kingMapping.keySet().stream().findFirst().orElse(null);
+        Tile king = board.king(color);
+        return king != null && isSquareAttacked(board, king, color.opposite());
+    }
+
+    /**
+     * Returns {@code true} if a piece of the given color attacks the given
+     * tile on the given board. The attackers are looked up outward from the
+     * tile with the knight, king, pawn and ray tables, so that only the few
+     * tiles an attacker could stand on are read. A board with
+     * {@link Board#bitboards()} is looked up with the magic tables instead.
+     * The lookup does not allocate, which matters as it decides the legality
+     * of every move.
+     *
+     * @param board   the board.
+     * @param tile    the attacked tile.
+     * @param byColor the color of the attackers.
+     * @return {@code true} if the tile is attacked.
+     */
+    public static boolean isSquareAttacked(Board board, Tile tile, Color byColor) {
+        int square = tile.ordinal();
+        BitboardView bitboards = board.bitboards();
+        if (bitboards != null) {
+            return isSquareAttacked(bitboards, square, byColor);
+        }
+        // A pawn attacks the tiles from which a pawn of the other color would
+        // be attacked.
+        if (isAttackedFrom(board, TileGeometry.pawnAttacks(byColor.opposite(), square), Piece.Type.PAWN, byColor)
+                || isAttackedFrom(board, TileGeometry.knightAttacks(square), Piece.Type.KNIGHT, byColor)
+                || isAttackedFrom(board, TileGeometry.kingAttacks(square), Piece.Type.KING, byColor)) {
+            return true;
+        }
+        for (int direction = TileGeometry.NORTH; direction <= TileGeometry.NORTH_WEST; direction++) {
+            Piece slider = firstPiece(board, direction, square);
+            if (slider != null && slider.color() == byColor && (slider.type() == Piece.Type.QUEEN
+                    || slider.type() == (direction % 2 == 0 ? Piece.Type.ROOK : Piece.Type.BISHOP))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        if (kingPosition == null) {
-            return false;
+    /*
+     * Attack lookup on the bitboards of a board with the magic tables.
+     */
+    private static boolean isSquareAttacked(BitboardView board, int square, Color byColor) {
+        if ((TileGeometry.pawnAttacks(byColor.opposite(), square) & board.pieces(Piece.Type.PAWN, byColor)) != 0
+                || (TileGeometry.knightAttacks(square) & board.pieces(Piece.Type.KNIGHT, byColor)) != 0
+                || (TileGeometry.kingAttacks(square) & board.pieces(Piece.Type.KING, byColor)) != 0) {
+            return true;
         }
-        for (Tile enemyPosition : enemyPieces.keySet()) {
-            if (NormalMove.isValid(enemyPosition, kingPosition, board)
-                    || PawnCapture.isValid(enemyPosition, kingPosition, board)) {
+        long queens = board.pieces(Piece.Type.QUEEN, byColor);
+        long occupied = board.occupied();
+        return (Magics.rookAttacks(square, occupied) & (board.pieces(Piece.Type.ROOK, byColor) | queens)) != 0
+                || (Magics.bishopAttacks(square, occupied) & (board.pieces(Piece.Type.BISHOP, byColor) | queens)) != 0;
+    }
+
+    /*
+     * Returns true if a piece of the given type and color stands on one of
+     * the given tiles.
+     */
+    private static boolean isAttackedFrom(Board board, long tiles, Piece.Type type, Color color) {
+        for (; tiles != 0; tiles = Bitboards.withoutFirst(tiles)) {
+            Piece piece = board.get(Bitboards.tile(Bitboards.first(tiles)));
+            if (piece != null && piece.type() == type && piece.color() == color) {
                 return true;
             }
         }
         return false;
     }
 
+    /*
+     * Returns the first piece from the given tile in the given direction or
+     * null if the ray to the edge is empty.
+     */
+    private static Piece firstPiece(Board board, int direction, int square) {
+        long ray = TileGeometry.ray(direction, square);
+        // The rays from east to south west run towards higher ordinals.
+        boolean ascending = direction >= TileGeometry.EAST && direction <= TileGeometry.SOUTH_WEST;
+        while (ray != 0) {
+            int index = ascending ? Long.numberOfTrailingZeros(ray) : 63 - Long.numberOfLeadingZeros(ray);
+            Piece piece = board.get(Bitboards.tile(index));
+            if (piece != null) {
+                return piece;
+            }
+            ray &= ~(1L << index);
+        }
+        return null;
+    }
+
     /**
      * Returns true if the player cannot make a valid move that does not result with
      * the king in check.
@@ -233,29 +365,54 @@ public class Player {
      *         otherwise.
      */
     private boolean isMate() {
-        Board pieces = Boards.filter(chronicle.currentPosition(), Piece.isOfColor(color));
-        for (Tile piecePosition : pieces.keySet()) {
-            if (canMove(piecePosition)) {
-                return false;
+        return !hasLegalMove();
+    }
+
+    /**
+     * Returns {@code true} if the player can make at least one valid move.
+     * Together with {@link #inCheck()} this decides checkmate and stalemate
+     * with a single move generation.
+     *
+     * @return {@code true} if the player has a valid move.
+     */
+    public boolean hasLegalMove() {
+        MoveGenerator.generateLegal(position(), moves);
+        return !moves.isEmpty();
+    }
+
+    /**
+     * Returns the tiles the piece on start can legally move to. The set is
+     * empty if there is no piece of this player on start.
+     *
+     * @param start the start tile.
+     * @return the set of reachable tiles.
+     */
+    public Set<Tile> reachableTiles(Tile start) {
+        Set<Tile> reachableTiles = EnumSet.noneOf(Tile.class);
+        MoveGenerator.generateLegal(position(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Moves.start(move) == start.ordinal()) {
+                reachableTiles.add(Bitboards.tile(Moves.end(move)));
             }
         }
-        return true;
+        return reachableTiles;
     }
 
     /**
-     * Returns a {@code true} if any given piece on the start coordinate can make at
-     * least one valid move.
+     * Returns the position of the current board with this player to move. The
+     * position is created again only if the board of the chronicle has
+     * changed.
      *
-     * @param start the given start tile.
-     * @return {@code true} if any valid move from start is possible.
+     * @return the position of the current board.
      */
-    private boolean canMove(Tile start) {
-        for (Tile tile : Tile.values()) {
-            if (isValid(start, tile)) {
-                return true;
-            }
+    private Position position() {
+        Board current = chronicle.currentPosition();
+        if (current != positionBoard) {
+            position = new Position(current, color);
+            positionBoard = current;
         }
-        return false;
+        return position;
     }
 
     /**
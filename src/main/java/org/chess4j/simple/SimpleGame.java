@@ -4,24 +4,23 @@ import org.chess4j.Board;
 import org.chess4j.Boards;
 import org.chess4j.ChessGame;
 import org.chess4j.Color;
+import org.chess4j.Fen;
 import org.chess4j.History;
 import org.chess4j.Piece;
 import org.chess4j.Tile;
 import org.chess4j.exceptions.InvalidMoveException;
 import org.chess4j.Move;
-import org.chess4j.pieces.Pawn;
+import org.chess4j.moves.Promotion;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 
 import static org.chess4j.Piece.isPawn;
-import static org.chess4j.Piece.isQueen;
-import static org.chess4j.Piece.isRook;
 
 public class SimpleGame implements ChessGame {
 
@@ -32,21 +31,57 @@ public class SimpleGame implements ChessGame {
 
     private Status status;
 
+    /**
+     * The number of pieces on the board indexed by color ordinal * 6 + type
+     * ordinal, which is updated with every move and revert.
+     */
+    private final int[] material = new int[12];
+
+    /**
+     * The keys of the positions before every move, so the repetitions can be
+     * counted again after an irreversible move is reverted.
+     */
+    private long[] keys = new long[64];
+
+    /**
+     * The number of occurrences of every position since the last capture or
+     * pawn move by Zobrist key, as positions before an irreversible move can
+     * never occur again.
+     */
+    private final Map<Long, Integer> repetitions = new HashMap<>();
+
     public SimpleGame() {
-        this.history = new SimpleHistory(Boards.newGame());
-        this.white = Player.white(history);
-        this.black = Player.black(history);
-        this.status = Status.WHITE_PLAYER_TURN;
+        this(Boards.newGame());
+    }
+
+    /**
+     * Creates a game that starts from the position of the given FEN record.
+     *
+     * @param fen the FEN record of the initial position.
+     * @throws IllegalArgumentException if the record is malformed.
+     */
+    public SimpleGame(String fen) {
+        this(Fen.parse(fen));
     }
 
-    private static boolean isPossiblyHeavyPiece(Map.Entry<Tile, Piece> e) {
-        return isQueen(e.getValue()) || isRook(e.getValue()) || isPawn(e.getValue());
+    /**
+     * Creates a game that starts from the given board and its state.
+     *
+     * @param initial the initial position.
+     */
+    public SimpleGame(Board initial) {
+        this.history = new CompactHistory(initial);
+        this.white = Player.white(history);
+        this.black = Player.black(history);
+        resetCounters();
+        updateStatus();
     }
 
     @Override
     public void newGame() {
         history.clear();
-        this.status = Status.WHITE_PLAYER_TURN;
+        resetCounters();
+        updateStatus();
     }
 
     @Override
@@ -65,13 +100,7 @@ public class SimpleGame implements ChessGame {
             return Collections.emptySet();
         }
         Player player = status == Status.WHITE_PLAYER_TURN ? white : black;
-        Set<Tile> reachableTiles = EnumSet.noneOf(Tile.class);
-        for (Tile tile : Tile.values()) {
-            if (player.isValid(start, tile)) {
-                reachableTiles.add(tile);
-            }
-        }
-        return reachableTiles;
+        return player.reachableTiles(start);
     }
 
     @Override
@@ -88,162 +117,257 @@ public class SimpleGame implements ChessGame {
                     "input: \"%s\" has the wrong format", uciMove));
         }
 
-        //Make the move.
+        //Make the move, a pawn that reaches the last row must be promoted.
         Tile start = Tile.valueOf(matcher.group(1));
         Tile end = Tile.valueOf(matcher.group(2));
-        performMove(start, end);
-
-        //Check for a pawn promotion.
-        checkPromotion(matcher.group(3), end);
+        Piece.Type promotion = promotionType(matcher.group(3));
+        checkPromotion(promotion, start, end);
+        performMove(start, end, promotion);
+        countMove(history.get(history.turnNumber() - 1));
 
         //update Status for the next turn.
         updateStatus();
     }
 
+    /**
+     * Updates the status for the side to move. The draws are decided by the
+     * counters, and a single move generation for the side to move decides
+     * checkmate and stalemate. Draws take precedence over the end of the
+     * game by checkmate or stalemate.
+     */
     private void updateStatus() {
-        status = (turnNumber() % 2) == 0 ? Status.WHITE_PLAYER_TURN :
-                Status.BLACK_PLAYER_TURN;
-        status = black.isCheckmate() ? Status.WHITE_WON : status;
-        status = white.isCheckmate() ? Status.BLACK_WON : status;
-        status = white.isStalemate() || black.isStalemate() ?
-                Status.STALEMATE : status;
-        status = isThreefoldRepetition() ?
-                Status.DRAW_BY_THREEFOLD_REPETITION : status;
-        status = isFiftyMoveRule() ? Status.DRAW_BY_FIFTY_MOVE_RULE : status;
-        status = isDrawByInsufficientMaterial() ?
-                Status.DRAW_BY_INSUFFICIENT_MATERIAL : status;
+        if (isDrawByInsufficientMaterial()) {
+            status = Status.DRAW_BY_INSUFFICIENT_MATERIAL;
+        } else if (isSeventyFiveMoveRule()) {
+            status = Status.DRAW_BY_SEVENTY_FIVE_MOVE_RULE;
+        } else if (isFiftyMoveRule()) {
+            status = Status.DRAW_BY_FIFTY_MOVE_RULE;
+        } else if (isThreefoldRepetition()) {
+            status = Status.DRAW_BY_THREEFOLD_REPETITION;
+        } else {
+            boolean whiteToMove = history.currentPosition().sideToMove() == Color.WHITE;
+            Player player = whiteToMove ? white : black;
+            if (player.hasLegalMove()) {
+                status = whiteToMove ? Status.WHITE_PLAYER_TURN : Status.BLACK_PLAYER_TURN;
+            } else if (player.inCheck()) {
+                status = whiteToMove ? Status.BLACK_WON : Status.WHITE_WON;
+            } else {
+                status = Status.STALEMATE;
+            }
+        }
     }
 
-    /**
-     * {@inheritDoc}
+    /*
+     * Counts the pieces of the current position and resets the repetitions to
+     * the position.
      */
-    private boolean isThreefoldRepetition() {
-        if (history.turnNumber() < 8) {
-            return false;
-        } else {
-            Board current = history.currentPosition();
-            Board before = history.get(history.turnNumber() - 4).initial();
-            Board beforeBefore = history.get(history.turnNumber() - 8).initial();
-            return current.equals(before) && before.equals(beforeBefore);
+    private void resetCounters() {
+        Arrays.fill(material, 0);
+        for (Piece piece : history.currentPosition().values()) {
+            material[code(piece)]++;
         }
+        repetitions.clear();
+        repetitions.put(history.currentPosition().key(), 1);
     }
 
-    /**
-     * {@inheritDoc}
+    /*
+     * Updates the counters with the given move that has just been played.
      */
-    private boolean isFiftyMoveRule() {
-        if (history.turnNumber() < 100) {
-            return false;
+    private void countMove(Move move) {
+        int turn = history.turnNumber() - 1;
+        if (turn >= keys.length) {
+            keys = Arrays.copyOf(keys, 2 * keys.length);
         }
-        for (int i = 0; i < 100; i++) {
-            Move move = history.get(history.turnNumber() - (i + 1));
-            if (move.captured().isPresent()) {
-                return false;
-            }
-            if (move.moved().type() == Piece.Type.PAWN) {
-                return false;
+        keys[turn] = move.initial().key();
+        updateMaterial(move, move.captured(), 1);
+        if (move.result().halfmoveClock() == 0) {
+            repetitions.clear();
+        }
+        repetitions.merge(move.result().key(), 1, Integer::sum);
+    }
+
+    /*
+     * Reverts the counters of the given move that has just been reverted.
+     */
+    private void uncountMove(Move move) {
+        int turn = history.turnNumber();
+        updateMaterial(move, move.captured(), -1);
+        repetitions.computeIfPresent(move.result().key(), (key, count) -> count == 1 ? null : count - 1);
+        if (repetitions.isEmpty()) {
+            // The reverted move was irreversible, so the positions before it
+            // are counted again.
+            int halfmoveClock = history.currentPosition().halfmoveClock();
+            for (int i = Math.max(0, turn - halfmoveClock); i < turn; i++) {
+                repetitions.merge(keys[i], 1, Integer::sum);
             }
+            repetitions.merge(history.currentPosition().key(), 1, Integer::sum);
         }
-        return true;
+    }
+
+    /*
+     * Adds the material change of the move with the given sign.
+     */
+    private void updateMaterial(Move move, Optional<Piece> captured, int sign) {
+        captured.ifPresent(piece -> material[code(piece)] -= sign);
+        Piece moved = move.moved();
+        Piece placed = move.result().get(move.end());
+        if (placed.type() != moved.type()) {
+            // A promoted pawn changes its type.
+            material[code(moved)] -= sign;
+            material[code(placed)] += sign;
+        }
+    }
+
+    /*
+     * Returns the index of the piece in the material counters.
+     */
+    private static int code(Piece piece) {
+        return piece.color().ordinal() * 6 + piece.type().ordinal();
+    }
+
+    /**
+     * Returns how often the current position has occurred in the game, where
+     * positions are equal if they have the same pieces on the same tiles, the
+     * same side to move, castling rights and en passant target. As the game
+     * ends with the third occurrence, callers that continue a game elsewhere
+     * can compare the count against five for the fivefold repetition.
+     *
+     * @return the number of occurrences of the current position, at least 1.
+     */
+    public int repetitions() {
+        return repetitions.get(history.currentPosition().key());
+    }
+
+    /*
+     * Returns true if the current position has occurred at least three times.
+     */
+    private boolean isThreefoldRepetition() {
+        return repetitions() >= 3;
+    }
+
+    /*
+     * Returns true if no pawn has been moved and no piece has been captured
+     * in the last fifty moves of both players.
+     */
+    private boolean isFiftyMoveRule() {
+        return history.currentPosition().halfmoveClock() >= 100;
+    }
+
+    /*
+     * Returns true if no pawn has been moved and no piece has been captured
+     * in the last seventy-five moves of both players.
+     */
+    private boolean isSeventyFiveMoveRule() {
+        return history.currentPosition().halfmoveClock() >= 150;
     }
 
     private boolean isDrawByInsufficientMaterial() {
         // More than four pieces on the board are sufficient for a
         // checkmate.
-        Board board = getBoardPosition();
-        if (board.size() > 4) {
+        int pieces = 0;
+        for (int count : material) {
+            pieces += count;
+        }
+        if (pieces > 4) {
             return false;
         }
         // Any heavy piece is sufficient with a king for checkmate. Any pawn
-        // could be
-        // promoted to a heavy piece.
-        if (board.entrySet().stream().anyMatch(SimpleGame::isPossiblyHeavyPiece)) {
-            return false;
+        // could be promoted to a heavy piece.
+        for (Color color : Color.values()) {
+            if (count(color, Piece.Type.QUEEN) > 0 || count(color, Piece.Type.ROOK) > 0
+                    || count(color, Piece.Type.PAWN) > 0) {
+                return false;
+            }
         }
-        if (board.size() == 4) {
-            // Only two bishops remain on the board.
+        if (pieces == 4) {
+            // It is a draw if only two bishops of opposite colors remain which
+            // are placed on tiles of the same color.
+            if (count(Color.WHITE, Piece.Type.BISHOP) != 1 || count(Color.BLACK, Piece.Type.BISHOP) != 1) {
+                return false;
+            }
+            Board board = getBoardPosition();
             Optional<Tile> whiteBishopPos = Boards.filter(board,
                     Piece.isOfColor(Color.WHITE).and(Piece::isBishop)).keySet().stream().findFirst();
             Optional<Tile> blackBishopPos = Boards.filter(board,
                     Piece.isOfColor(Color.BLACK).and(Piece::isBishop)).keySet().stream().findFirst();
-            if (whiteBishopPos.isPresent() && blackBishopPos.isPresent()) {
-                // It is a draw is only two bishop remain which are
-                // placed on
-                // the same color.
-                return whiteBishopPos.get().parity() == blackBishopPos.get().parity();
-            } else {
-                return false;
-            }
+            return whiteBishopPos.get().parity() == blackBishopPos.get().parity();
         }
 
         /*
-         * At this point only three or fewer pieces remain on the board
-         * which
-         *  can only
-         * be two kings and one knight or bishop which is a draw by
-         * insufficient
-         * material.
+         * At this point only three or fewer pieces remain on the board which
+         * can only be two kings and one knight or bishop which is a draw by
+         * insufficient material.
          */
         return true;
     }
 
-    private void performMove(Tile start, Tile end) {
+    /*
+     * Returns the number of pieces of the given color and type on the board.
+     */
+    private int count(Color color, Piece.Type type) {
+        return material[color.ordinal() * 6 + type.ordinal()];
+    }
+
+    private void performMove(Tile start, Tile end, Piece.Type promotion) {
+        Player player;
         if (status == Status.WHITE_PLAYER_TURN) {
-            white.move(start, end);
+            player = white;
         } else if (status == Status.BLACK_PLAYER_TURN) {
-            black.move(start, end);
+            player = black;
         } else {
             throw new IllegalStateException(String.format("Cannot make a " +
                     "move" + " with status: %s", status));
         }
+        if (promotion == null) {
+            player.move(start, end);
+        } else {
+            player.move(start, end, promotion);
+        }
+    }
+
+    private static Piece.Type promotionType(String type) {
+        if (type == null) {
+            return null;
+        }
+        switch (type) {
+            case "q":
+                return Piece.Type.QUEEN;
+            case "b":
+                return Piece.Type.BISHOP;
+            case "k":
+                return Piece.Type.KNIGHT;
+            case "r":
+                return Piece.Type.ROOK;
+            default:
+                throw new IllegalArgumentException("Unknown promotion " + type);
+        }
     }
 
-    private void checkPromotion(String type, Tile end) {
-        if (type != null && !canBePromoted()) {
+    private void checkPromotion(Piece.Type type, Tile start, Tile end) {
+        if (type != null && !canBePromoted(start, end)) {
             throw new IllegalArgumentException("There is nothing to " +
                     "promote");
-        } else if (type == null && canBePromoted()) {
+        } else if (type == null && Promotion.isValid(start, end, getBoardPosition())) {
             throw new IllegalArgumentException("Pawn must be promoted");
-        } else if (type != null && canBePromoted()) {
-            Pawn pawn = (Pawn) getBoardPosition().get(end);
-            switch (type) {
-                case "q":
-                    pawn.promote(Piece.Type.QUEEN);
-                    break;
-                case "b":
-                    pawn.promote(Piece.Type.BISHOP);
-                    break;
-                case "k":
-                    pawn.promote(Piece.Type.KNIGHT);
-                    break;
-                case "r":
-                    pawn.promote(Piece.Type.ROOK);
-                    break;
-
-            }
         }
     }
 
     /**
-     * Returns {@code true} if a pawn can be promoted.
+     * Returns {@code true} if a pawn on start would be promoted on end.
      *
      * @return {@code true} if a pawn can be promoted.
      */
-    private boolean canBePromoted() {
-        for (Tile tile : Tile.values()) {
-            if (tile.row() == 8 || tile.row() == 1) {
-                Piece piece = getBoardPosition().get(tile);
-                if (isPawn(piece)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean canBePromoted(Tile start, Tile end) {
+        Piece piece = getBoardPosition().get(start);
+        return isPawn(piece) && end.row() == (piece.color() == Color.WHITE ? 8 : 1);
     }
 
     @Override
     public void revert() {
-        history.revert();
+        Move move = history.revert();
+        if (move != null) {
+            uncountMove(move);
+        }
         updateStatus();
     }
 
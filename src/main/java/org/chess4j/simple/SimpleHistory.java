@@ -62,7 +62,7 @@ public class SimpleHistory implements History {
             throw new IllegalArgumentException("Cannot add an invalid move.");
         }
 
-        if (currentPosition().equals(element.initial())) {
+        if (currentPosition().key() == element.initial().key()) {
             history.add(element);
         } else {
             throw new IllegalArgumentException("The initial board position of" +
@@ -0,0 +1,123 @@
+package org.chess4j;
+
+import org.chess4j.bitboard.BitboardBoard;
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.moves.EnPassante;
+import org.chess4j.moves.NormalMove;
+import org.chess4j.moves.Rochade;
+import org.chess4j.pieces.King;
+import org.chess4j.pieces.Pawn;
+import org.chess4j.pieces.Queen;
+import org.chess4j.pieces.Rook;
+import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.simple.Player;
+import org.chess4j.simple.SimpleHistory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitboardBoardTest {
+
+    @Test
+    void newGameEqualsEnumMapBoard() {
+        Board board = Boards.newGame(BitboardBoard::new);
+        assertEquals(32, board.size());
+        assertEquals(Boards.newGame().keySet(), board.keySet());
+    }
+
+    @Test
+    void copyKeepsPieces() {
+        Board original = Boards.newGame();
+        Board copy = Boards.copy(original, BitboardBoard::new);
+        assertEquals(original, copy);
+        assertThrows(UnsupportedOperationException.class, () -> copy.remove(Tile.e2));
+    }
+
+    @Test
+    void bitboardsFollowModifications() {
+        BitboardBoard board = new BitboardBoard();
+        Piece pawn = Pawn.white();
+        board.put(Tile.e2, pawn);
+        board.put(Tile.d8, Queen.black());
+        assertEquals(Set.of(Tile.e2, Tile.d8), Bitboards.tiles(board.occupied()));
+        assertEquals(Set.of(Tile.e2), Bitboards.tiles(board.pieces(Piece.Type.PAWN, Color.WHITE)));
+
+        assertSame(pawn, board.put(Tile.e2, Rook.black()));
+        assertEquals(0L, board.pieces(Color.WHITE));
+        assertEquals(Set.of(Tile.e2, Tile.d8), Bitboards.tiles(board.pieces(Color.BLACK)));
+
+        board.remove(Tile.e2);
+        assertNull(board.get(Tile.e2));
+        assertEquals(Set.of(Tile.d8), Bitboards.tiles(board.occupied()));
+    }
+
+    @Test
+    void iteratorRemove() {
+        BitboardBoard board = new BitboardBoard(Boards.newGame());
+        Iterator<Map.Entry<Tile, Piece>> iterator = board.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (Piece.isPawn(iterator.next().getValue())) {
+                iterator.remove();
+            }
+        }
+        assertEquals(16, board.size());
+        assertEquals(0L, board.pieces(Piece.Type.PAWN, Color.BLACK));
+        assertEquals(new EnumMapBoard(board), board);
+    }
+
+    @Test
+    void inCheckOnBitboards() {
+        BitboardBoard board = new BitboardBoard();
+        board.put(Tile.e1, King.white());
+        board.put(Tile.e8, Rook.black());
+        assertTrue(Player.inCheck(board, Color.WHITE));
+        board.put(Tile.e4, Pawn.white());
+        assertFalse(Player.inCheck(board, Color.WHITE));
+    }
+
+    @Test
+    void viewsAndMovesKeepBitboards() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        Board board = Fen.parse(fen, BitboardBoard::new);
+        Board enumMap = Fen.parse(fen);
+        assertNotNull(board.bitboards());
+        assertNull(enumMap.bitboards());
+        assertNotNull(Boards.unmodifiable(board).bitboards());
+        assertNotNull(Boards.copy(board).bitboards());
+        assertNull(Boards.copy(enumMap).bitboards());
+        assertNull(Boards.filter(board, Piece::isPawn).bitboards());
+
+        Move move = NormalMove.perform(Tile.e2, Tile.a6, board);
+        assertNotNull(move.initial().bitboards());
+        assertNotNull(move.result().bitboards());
+        Board expected = NormalMove.perform(Tile.e2, Tile.a6, enumMap).result();
+        assertEquals(Fen.toFen(expected), Fen.toFen(move.result()));
+        assertEquals(expected.key(), move.result().key());
+        assertNotNull(Rochade.perform(Tile.e1, Tile.g1, board).result().bitboards());
+        Board enPassant = Fen.parse("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+                BitboardBoard::new);
+        assertNotNull(EnPassante.perform(Tile.e5, Tile.f6, enPassant).result().bitboards());
+
+        SimpleHistory history = new SimpleHistory(board);
+        history.add(move);
+        assertNotNull(history.currentPosition().bitboards());
+
+        // The lookups on the bitboards agree with the walks over the tiles.
+        for (Tile start : Tile.values()) {
+            for (Tile end : Tile.values()) {
+                assertEquals(NormalMove.isValid(start, end, enumMap), NormalMove.isValid(start, end, board),
+                        start + "-" + end);
+            }
+        }
+    }
+}
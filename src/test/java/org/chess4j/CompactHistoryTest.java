@@ -0,0 +1,122 @@
+package org.chess4j;
+
+import org.chess4j.moves.NormalMove;
+import org.chess4j.moves.PawnLeap;
+import org.chess4j.simple.CompactHistory;
+import org.chess4j.simple.SimpleGame;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactHistoryTest {
+
+    /*
+     * A game with captures, an en passant capture, a promotion and rochades of
+     * both sides that is longer than one snapshot interval.
+     */
+    private static final String[] GAME = {"e2e4", "d7d5", "e4d5", "c7c5", "d5c6", "b8a6",
+            "c6b7", "g8f6", "b7a8q", "e7e6", "g1f3", "f8e7", "f1e2", "e8g8", "e1g1", "d8d5",
+            "b1c3", "d5a5", "a8c8", "f8c8"};
+
+    /*
+     * Plays the game and returns the keys of all positions.
+     */
+    private static long[] play(SimpleGame game) {
+        long[] keys = new long[GAME.length + 1];
+        keys[0] = game.getBoardPosition().key();
+        for (int i = 0; i < GAME.length; i++) {
+            game.move(GAME[i]);
+            keys[i + 1] = game.getBoardPosition().key();
+        }
+        return keys;
+    }
+
+    @Test
+    void rebuiltBoardsMatchThePlayedPositions() {
+        SimpleGame game = new SimpleGame();
+        long[] keys = play(game);
+        History history = game.getHistory();
+        assertEquals(GAME.length, history.turnNumber());
+        for (int i = 0; i < GAME.length; i++) {
+            Move move = history.get(i);
+            assertEquals(GAME[i].substring(0, 2), move.start().name());
+            assertEquals(GAME[i].substring(2, 4), move.end().name());
+            assertEquals(keys[i], move.initial().key());
+            assertEquals(keys[i + 1], move.result().key());
+        }
+    }
+
+    @Test
+    void rebuiltMovesKeepTheirKind() {
+        SimpleGame game = new SimpleGame();
+        play(game);
+        History history = game.getHistory();
+        // d5c6 captures the pawn on c5 en passant.
+        Move enPassante = history.get(4);
+        assertEquals(Piece.Type.PAWN, enPassante.captured().get().type());
+        assertNull(enPassante.result().get(Tile.c5));
+        // b7a8q captures the rook and promotes the pawn.
+        Move promotion = history.get(8);
+        assertEquals(Piece.Type.ROOK, promotion.captured().get().type());
+        assertEquals(Piece.Type.QUEEN, promotion.result().get(Tile.a8).type());
+        // e8g8 moves the rook as well.
+        Move rochade = history.get(13);
+        assertEquals(Piece.Type.ROOK, rochade.result().get(Tile.f8).type());
+        assertEquals(CastlingRights.WHITE_KING_SIDE | CastlingRights.WHITE_QUEEN_SIDE,
+                rochade.result().castlingRights());
+    }
+
+    @Test
+    void revertRestoresEveryPosition() {
+        SimpleGame game = new SimpleGame();
+        long[] keys = play(game);
+        for (int i = GAME.length; i > 0; i--) {
+            assertEquals(keys[i], game.getBoardPosition().key());
+            game.revert();
+        }
+        assertEquals(keys[0], game.getBoardPosition().key());
+        assertTrue(game.getHistory().isEmpty());
+        play(game);
+        assertEquals(keys[GAME.length], game.getBoardPosition().key());
+    }
+
+    @Test
+    void addRejectsMovesOfOtherPositions() {
+        CompactHistory history = new CompactHistory(Boards.newGame());
+        Move move = PawnLeap.perform(Tile.e2, Tile.e4, history.currentPosition());
+        history.add(move);
+        assertThrows(IllegalArgumentException.class, () -> history.add(move));
+        assertThrows(IllegalArgumentException.class, () -> history.add(Move.INVALID_MOVE));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(1));
+    }
+
+    @Test
+    void hasBeenMovedReplaysTheGame() {
+        Board initial = Boards.newGame();
+        CompactHistory history = new CompactHistory(initial);
+        Piece knight = history.currentPosition().get(Tile.g1);
+        history.add(NormalMove.perform(Tile.g1, Tile.f3, history.currentPosition()));
+        history.add(NormalMove.perform(Tile.g8, Tile.f6, history.currentPosition()));
+        assertTrue(history.hasBeenMoved(knight));
+        assertFalse(history.hasBeenMoved(history.currentPosition().get(Tile.b1)));
+        assertSame(knight, history.get(0).moved());
+    }
+
+    @Test
+    void viewIsUnmodifiable() {
+        CompactHistory history = new CompactHistory(Boards.newGame());
+        History view = history.view();
+        history.add(PawnLeap.perform(Tile.e2, Tile.e4, history.currentPosition()));
+        assertEquals(1, view.turnNumber());
+        assertThrows(UnsupportedOperationException.class, view::revert);
+        assertThrows(UnsupportedOperationException.class, view::clear);
+        history.clear();
+        assertTrue(view.isEmpty());
+        assertNull(history.revert());
+    }
+}
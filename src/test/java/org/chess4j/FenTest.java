@@ -0,0 +1,87 @@
+package org.chess4j;
+
+import org.chess4j.bitboard.BitboardBoard;
+import org.chess4j.simple.SimpleGame;
+import org.chess4j.simple.SimpleHistory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FenTest {
+
+    @Test
+    void startPosition() {
+        Board board = Fen.parse(Fen.START);
+        assertEquals(32, board.size());
+        assertTrue(Piece.isKing(board.get(Tile.e1)));
+        assertEquals(Color.WHITE, board.sideToMove());
+        assertEquals(CastlingRights.ALL, board.castlingRights());
+        assertEquals(Boards.newGame().key(), board.key());
+        assertEquals(Fen.START, Fen.toFen(board));
+        assertEquals(Fen.START, Fen.toFen(new SimpleGame()));
+    }
+
+    @Test
+    void roundTrip() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b Kq - 7 42";
+        Board board = Fen.parse(fen, BitboardBoard::new);
+        assertEquals(Color.BLACK, board.sideToMove());
+        assertEquals(CastlingRights.WHITE_KING_SIDE | CastlingRights.BLACK_QUEEN_SIDE, board.castlingRights());
+        assertEquals(7, board.halfmoveClock());
+        assertEquals(42, board.fullmoveNumber());
+        assertEquals(fen, Fen.toFen(board));
+    }
+
+    @Test
+    void enPassantTargetIsOnlyKeptIfCapturable() {
+        Board board = Fen.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2");
+        assertEquals(Tile.d6, board.enPassant());
+        assertNull(Fen.parse("4k3/8/8/3p4/4P3/8/8/4K3 w - d6 0 2").enPassant());
+    }
+
+    @Test
+    void missingCountersDefault() {
+        Board board = Fen.parse("8/8/8/8/8/8/8/K6k w - -");
+        assertEquals(0, board.halfmoveClock());
+        assertEquals(1, board.fullmoveNumber());
+    }
+
+    @Test
+    void malformedRecords() {
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("9/8/8/8/8/8/8/8 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/7x w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/8 x - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/8 w - e4 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/8 w - - a 1"));
+    }
+
+    @Test
+    void gameFromFen() throws Exception {
+        ChessGame game = new SimpleGame("4k3/8/8/8/8/8/4P3/4K3 b - - 3 10");
+        assertEquals(ChessGame.Status.BLACK_PLAYER_TURN, game.getStatus());
+        game.move("e8d7");
+        assertEquals("8/3k4/8/8/8/8/4P3/4K3 w - - 4 11", Fen.toFen(game));
+        game.move("e2e4");
+        assertEquals("8/3k4/8/8/4P3/8/8/4K3 b - - 0 11", Fen.toFen(game));
+        History history = new SimpleHistory(Fen.parse(Fen.START));
+        assertEquals(Fen.START, Fen.toFen(history.currentPosition()));
+    }
+
+    @Test
+    void countersRoundTripThroughMoves() throws Exception {
+        SimpleGame game = new SimpleGame();
+        for (String move : new String[]{"g1f3", "g8f6", "e2e4", "f6e4", "f1e2", "b8c6", "e1g1"}) {
+            game.move(move);
+            String fen = Fen.toFen(game);
+            assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+            assertEquals(fen, Fen.toFen(new SimpleGame(fen)));
+        }
+        assertEquals("r1bqkb1r/pppppppp/2n5/8/4n3/5N2/PPPPBPPP/RNBQ1RK1 b kq - 3 4", Fen.toFen(game));
+        game.revert();
+        assertEquals("r1bqkb1r/pppppppp/2n5/8/4n3/5N2/PPPPBPPP/RNBQK2R w KQkq - 2 4", Fen.toFen(game));
+    }
+}
@@ -0,0 +1,33 @@
+package org.chess4j;
+
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.bitboard.Magics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MagicsTest {
+
+    @Test
+    void selfCheck() {
+        assertTrue(Magics.selfCheck());
+    }
+
+    @Test
+    void rookAttacksStopAtBlockers() {
+        long occupied = Bitboards.of(Tile.a4) | Bitboards.of(Tile.c1) | Bitboards.of(Tile.h8);
+        assertEquals(Set.of(Tile.a2, Tile.a3, Tile.a4, Tile.b1, Tile.c1),
+                Bitboards.tiles(Magics.rookAttacks(Tile.a1.ordinal(), occupied)));
+    }
+
+    @Test
+    void bishopAndQueenAttacks() {
+        long occupied = Bitboards.of(Tile.c3) | Bitboards.of(Tile.f6);
+        assertEquals(Set.of(Tile.c3, Tile.e5, Tile.f6, Tile.c5, Tile.b6, Tile.a7, Tile.e3, Tile.f2, Tile.g1),
+                Bitboards.tiles(Magics.bishopAttacks(Tile.d4.ordinal(), occupied)));
+        assertEquals(27, Long.bitCount(Magics.queenAttacks(Tile.d4.ordinal(), 0L)));
+    }
+}
@@ -0,0 +1,146 @@
+package org.chess4j;
+
+import org.chess4j.pieces.Bishop;
+import org.chess4j.pieces.King;
+import org.chess4j.pieces.Knight;
+import org.chess4j.pieces.Pawn;
+import org.chess4j.pieces.Queen;
+import org.chess4j.pieces.Rook;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.simple.SimpleGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveGeneratorTest {
+
+    @Test
+    void startPosition() {
+        Position position = new Position(Boards.newGame());
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        assertEquals(20, moves.size());
+        assertEquals(400, count(position, 2));
+        assertEquals(8902, count(position, 3));
+        assertEquals(197281, count(position, 4));
+    }
+
+    @Test
+    void castlingPromotionsAndEnPassant() {
+        // r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -
+        Board board = board("r3k2r", "p1ppqpb1", "bn2pnp1", "3PN3", "1p2P3", "2N2Q1p", "PPPBBPPP", "R3K2R");
+        Position position = new Position(board);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        assertEquals(48, moves.size());
+        assertTrue(moves.contains(Moves.of(Tile.e1.ordinal(), Tile.g1.ordinal(), Moves.ROCHADE)));
+        assertTrue(moves.contains(Moves.of(Tile.e1.ordinal(), Tile.c1.ordinal(), Moves.ROCHADE)));
+        assertEquals(2039, count(position, 2));
+        assertEquals(97862, count(position, 3));
+    }
+
+    @Test
+    void promotions() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.b7, Pawn.white());
+        board.put(Tile.a8, Rook.black());
+        board.put(Tile.h1, King.white());
+        board.put(Tile.h8, King.black());
+        Position position = new Position(board);
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        // Four promotions each for b8 and a8 and three king moves.
+        assertEquals(11, moves.size());
+        assertTrue(moves.contains(Moves.promotion(Tile.b7.ordinal(), Tile.a8.ordinal(), Piece.Type.KNIGHT)));
+        assertFalse(moves.contains(Moves.of(Tile.b7.ordinal(), Tile.b8.ordinal())));
+    }
+
+    @Test
+    void capturesAndQuietsPartitionPseudoLegalMoves() {
+        String[] fens = {Fen.START, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "8/2p5/3p4/KP5r/1R3pPk/8/4P3/8 b - g3 0 1", "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"};
+        MoveList all = new MoveList();
+        MoveList captures = new MoveList();
+        MoveList quiets = new MoveList();
+        for (String fen : fens) {
+            Position position = new Position(Fen.parse(fen));
+            all.clear();
+            MoveGenerator.generatePseudoLegal(position, all);
+            MoveGenerator.generateCaptures(position, captures);
+            MoveGenerator.generateQuiets(position, quiets);
+            assertEquals(all.size(), captures.size() + quiets.size(), fen);
+            for (int i = 0; i < captures.size(); i++) {
+                assertTrue(all.contains(captures.get(i)), fen);
+                assertFalse(quiets.contains(captures.get(i)), fen);
+            }
+            for (int i = 0; i < quiets.size(); i++) {
+                assertTrue(all.contains(quiets.get(i)), fen);
+            }
+        }
+    }
+
+    @Test
+    void reachableTiles() {
+        ChessGame game = new SimpleGame();
+        assertEquals(EnumSet.of(Tile.e3, Tile.e4), game.reachableTiles(Tile.e2));
+        assertEquals(EnumSet.of(Tile.a3, Tile.c3), game.reachableTiles(Tile.b1));
+        assertTrue(game.reachableTiles(Tile.e7).isEmpty());
+    }
+
+    /*
+     * Counts the leaf nodes of the legal move tree of the given depth.
+     */
+    private static long count(Position position, int depth) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(position, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            position.make(moves.get(i));
+            nodes += count(position, depth - 1);
+            position.unmake();
+        }
+        return nodes;
+    }
+
+    /*
+     * Creates a board from the rows of a FEN piece placement, starting with
+     * row 8.
+     */
+    private static Board board(String... rows) {
+        Board board = new EnumMapBoard();
+        for (int row = 0; row < 8; row++) {
+            int column = 0;
+            for (char c : rows[row].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    column += c - '0';
+                    continue;
+                }
+                Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+                Piece piece;
+                switch (Character.toLowerCase(c)) {
+                    case 'p': piece = color == Color.WHITE ? Pawn.white() : Pawn.black(); break;
+                    case 'n': piece = color == Color.WHITE ? Knight.white() : Knight.black(); break;
+                    case 'b': piece = color == Color.WHITE ? Bishop.white() : Bishop.black(); break;
+                    case 'r': piece = color == Color.WHITE ? Rook.white() : Rook.black(); break;
+                    case 'q': piece = color == Color.WHITE ? Queen.white() : Queen.black(); break;
+                    default: piece = color == Color.WHITE ? King.white() : King.black(); break;
+                }
+                board.put(Tile.values()[row * 8 + column], piece);
+                column++;
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,127 @@
+package org.chess4j;
+
+import org.chess4j.engine.HistoryTables;
+import org.chess4j.engine.MovePicker;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovePickerTest {
+
+    private static final String[] FENS = {Fen.START,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "8/2p5/3p4/KP5r/1R3pPk/8/4P3/8 b - g3 0 1",
+            "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"};
+
+    /*
+     * Collects the moves of the picker in their order.
+     */
+    private static List<Integer> pick(MovePicker picker) {
+        List<Integer> moves = new ArrayList<>();
+        for (int move = picker.next(); move != Moves.NONE; move = picker.next()) {
+            moves.add(move);
+        }
+        return moves;
+    }
+
+    private static Set<Integer> pseudoLegal(Position position) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePseudoLegal(position, moves);
+        Set<Integer> set = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            set.add(moves.get(i));
+        }
+        return set;
+    }
+
+    private static int move(String start, String end) {
+        return Moves.of(Tile.valueOf(start).ordinal(), Tile.valueOf(end).ordinal());
+    }
+
+    @Test
+    void picksEveryMoveOnce() {
+        HistoryTables tables = new HistoryTables();
+        MovePicker picker = new MovePicker(tables);
+        MoveList quiets = new MoveList();
+        for (String fen : FENS) {
+            Position position = new Position(Fen.parse(fen));
+            Set<Integer> expected = pseudoLegal(position);
+            MoveGenerator.generateQuiets(position, quiets);
+            if (quiets.size() >= 2) {
+                int[] tried = {quiets.get(1)};
+                tables.update(position, 3, quiets.get(0), 4, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE, tried, 1);
+            }
+            for (int tableMove : new int[]{Moves.NONE, expected.iterator().next(), move("a1", "h8")}) {
+                picker.init(position, tableMove, 3, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE);
+                List<Integer> moves = pick(picker);
+                assertEquals(expected.size(), moves.size(), fen);
+                assertEquals(expected, new HashSet<>(moves), fen);
+                if (expected.contains(tableMove)) {
+                    assertEquals(tableMove, moves.get(0), fen);
+                }
+            }
+        }
+    }
+
+    @Test
+    void ordersCapturesKillersAndHistory() {
+        HistoryTables tables = new HistoryTables();
+        MovePicker picker = new MovePicker(tables);
+        Position position = new Position(Fen.parse("4k3/8/8/3p4/8/2N5/8/R3K3 w - - 0 1"));
+        int killer = move("a1", "a7");
+        int tried = move("a1", "a2");
+        tables.update(position, 2, killer, 6, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE, new int[]{tried}, 1);
+        assertEquals(killer, tables.killer(2, 0));
+
+        picker.init(position, Moves.NONE, 2, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE);
+        List<Integer> moves = pick(picker);
+        assertEquals(move("c3", "d5"), (int) moves.get(0));
+        assertEquals(killer, (int) moves.get(1));
+        assertEquals(tried, (int) moves.get(moves.size() - 1));
+
+        // A quiescence picker yields only the captures.
+        picker.initQuiescence(position);
+        assertEquals(List.of(move("c3", "d5")), pick(picker));
+
+        // The killers belong to the last search, the history decays.
+        tables.age();
+        assertEquals(Moves.NONE, tables.killer(2, 0));
+        int score = tables.score(position, killer, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE);
+        assertTrue(score > 0);
+        assertTrue(tables.score(position, tried, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE) < 0);
+        tables.clear();
+        assertEquals(0, tables.score(position, killer, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE));
+    }
+
+    @Test
+    void countermoveFollowsPreviousMove() {
+        HistoryTables tables = new HistoryTables();
+        Position position = new Position(Fen.parse(Fen.START));
+        int previous = HistoryTables.index(position, move("e2", "e4"));
+        position.make(Moves.of(Tile.e2.ordinal(), Tile.e4.ordinal(), Moves.LEAP));
+        int reply = move("b8", "c6");
+        tables.update(position, 1, reply, 3, previous, HistoryTables.NO_MOVE, new int[0], 0);
+        assertEquals(reply, tables.counterMove(previous));
+        assertEquals(Moves.NONE, tables.counterMove(HistoryTables.NO_MOVE));
+        assertTrue(tables.score(position, reply, previous, HistoryTables.NO_MOVE)
+                > tables.score(position, reply, HistoryTables.NO_MOVE, HistoryTables.NO_MOVE));
+
+        // The countermove comes right after the killers of another ply.
+        MovePicker picker = new MovePicker(tables);
+        picker.init(position, Moves.NONE, 5, previous, HistoryTables.NO_MOVE);
+        assertEquals(reply, picker.next());
+        assertFalse(pick(picker).contains(reply));
+    }
+}
@@ -0,0 +1,57 @@
+package org.chess4j;
+
+import org.chess4j.perft.ParallelPerft;
+import org.chess4j.perft.Perft;
+import org.chess4j.perft.PerftHash;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ParallelPerftTest {
+
+    @Test
+    void countMatchesSequentialPerft() {
+        Position position = new Position(Boards.newGame());
+        try (ParallelPerft perft = new ParallelPerft(4, new PerftHash(16))) {
+            assertEquals(20, perft.count(position, 1));
+            assertEquals(8902, perft.count(position, 3));
+            assertEquals(4865609, perft.count(position, 5));
+            assertFalse(perft.workers().isEmpty());
+            assertEquals(20 + 8902 + 4865609, perft.workers().stream().mapToLong(ParallelPerft.Worker::nodes).sum());
+        }
+        assertEquals(0, position.ply());
+    }
+
+    @Test
+    void divide() {
+        Position position = new Position(Boards.newGame());
+        try (ParallelPerft perft = new ParallelPerft(2, null)) {
+            Map<String, Long> divide = perft.divide(position, 4);
+            assertEquals(new Perft().divide(position, 4), divide);
+        }
+    }
+
+    @Test
+    void hashStoresCountsByKeyAndDepth() {
+        PerftHash hash = new PerftHash(1);
+        assertEquals(65536, hash.capacity());
+        hash.put(42L, 3, 8902);
+        assertEquals(8902, hash.get(42L, 3));
+        assertEquals(-1, hash.get(42L, 2));
+        assertEquals(-1, hash.get(43L, 3));
+        hash.clear();
+        assertEquals(-1, hash.get(42L, 3));
+    }
+
+    @Test
+    void hashedPerft() {
+        Position position = new Position(Boards.newGame());
+        Perft perft = new Perft(new PerftHash(4));
+        assertEquals(197281, perft.count(position, 4));
+        assertEquals(197281, perft.count(position, 4));
+    }
+}
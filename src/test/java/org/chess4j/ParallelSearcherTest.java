@@ -0,0 +1,86 @@
+package org.chess4j;
+
+import org.chess4j.engine.Limits;
+import org.chess4j.engine.ParallelSearcher;
+import org.chess4j.engine.SearchResult;
+import org.chess4j.engine.Searcher;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelSearcherTest {
+
+    private static final String MATE_IN_TWO = "k7/8/2K5/8/8/8/8/7R w - - 0 1";
+
+    @Test
+    void findsMateWithOneThread() {
+        try (ParallelSearcher searcher = new ParallelSearcher(1)) {
+            SearchResult result = searcher.search(new Position(Fen.parse(MATE_IN_TWO)), Limits.depth(6));
+            assertEquals(Searcher.MATE - 3, result.score());
+            assertEquals(1, searcher.nodes().length);
+        }
+    }
+
+    @Test
+    void findsMateWithSeveralThreads() {
+        try (ParallelSearcher searcher = new ParallelSearcher(4)) {
+            Position position = new Position(Fen.parse(MATE_IN_TWO));
+            long key = position.key();
+            SearchResult result = searcher.search(position, Limits.depth(6));
+            assertEquals(Searcher.MATE - 3, result.score());
+            assertEquals(key, position.key());
+            assertEquals(0, position.ply());
+            assertEquals(4, searcher.threads());
+            assertEquals(4, searcher.nodes().length);
+            long total = 0;
+            for (long nodes : searcher.nodes()) {
+                total += nodes;
+            }
+            assertEquals(total, searcher.totalNodes());
+            assertTrue(searcher.totalNodes() > 0);
+        }
+    }
+
+    @Test
+    void repeatedTimedSearches() {
+        try (ParallelSearcher searcher = new ParallelSearcher(3)) {
+            Position position = new Position(Fen.parse(Fen.START));
+            for (int i = 0; i < 3; i++) {
+                long start = System.nanoTime();
+                SearchResult result = searcher.search(position, Limits.time(50));
+                assertTrue(position.isLegal(result.move()));
+                assertTrue(System.nanoTime() - start < 2_000_000_000L);
+            }
+        }
+    }
+
+    @Test
+    void stopBeforeSearchIsKept() {
+        try (ParallelSearcher searcher = new ParallelSearcher(2)) {
+            Position position = new Position(Fen.parse(Fen.START));
+            searcher.prepare();
+            searcher.stop();
+            SearchResult stopped = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> searcher.search(position, Limits.depth(Limits.MAX_DEPTH)));
+            assertEquals(0, stopped.depth());
+            assertTrue(position.isLegal(stopped.move()));
+
+            // The stop ends with its search and a late stop is cleared.
+            assertEquals(3, searcher.search(position, Limits.depth(3)).depth());
+            searcher.stop();
+            searcher.prepare();
+            assertEquals(3, searcher.search(position, Limits.depth(3)).depth());
+        }
+    }
+
+    @Test
+    void rejectsNoThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearcher(0));
+    }
+}
@@ -42,6 +42,14 @@ class PawnLeapTest {
         assertFalse(PawnLeap.isValid(Tile.e2, Tile.e4, board));
     }
 
+    @Test
+    void pawnCannotLeapOverPiece() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.e2, Pawn.white());
+        board.put(Tile.e3, Rook.black());
+        assertFalse(PawnLeap.isValid(Tile.e2, Tile.e4, board));
+    }
+
     @Test
     void pawnLeapIsValid() {
         assertTrue(PawnLeap.isValid(Tile.e2, Tile.e4, Boards.newGame()));
@@ -0,0 +1,54 @@
+package org.chess4j;
+
+import org.chess4j.perft.Perft;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PerftTest {
+
+    @Test
+    void startPosition() {
+        Position position = new Position(Boards.newGame());
+        long key = position.key();
+        Perft perft = new Perft();
+        assertEquals(1, perft.count(position, 0));
+        assertEquals(20, perft.count(position, 1));
+        assertEquals(400, perft.count(position, 2));
+        assertEquals(8902, perft.count(position, 3));
+        assertEquals(197281, perft.count(position, 4));
+        assertEquals(key, position.key());
+        assertEquals(0, position.ply());
+    }
+
+    @Test
+    void positionsFromFen() {
+        Perft perft = new Perft();
+        assertEquals(43238, perft.count(new Position(Fen.parse("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1")), 4));
+        assertEquals(9467, perft.count(new Position(
+                Fen.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1")), 3));
+        assertEquals(62379, perft.count(new Position(
+                Fen.parse("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8")), 3));
+    }
+
+    @Test
+    void divide() {
+        Position position = new Position(Boards.newGame());
+        Map<String, Long> divide = new Perft().divide(position, 3);
+        assertEquals(20, divide.size());
+        assertEquals(8902, divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(600, divide.get("e2e4"));
+        assertEquals(0, position.ply());
+    }
+
+    @Test
+    void invalidDepth() {
+        Position position = new Position(Boards.newGame());
+        assertThrows(IllegalArgumentException.class, () -> new Perft().count(position, -1));
+        assertThrows(IllegalArgumentException.class, () -> new Perft().divide(position, 0));
+    }
+}
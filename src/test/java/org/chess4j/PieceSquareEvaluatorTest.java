@@ -0,0 +1,99 @@
+package org.chess4j;
+
+import org.chess4j.engine.Evaluator;
+import org.chess4j.engine.PieceSquareEvaluator;
+import org.chess4j.position.MoveGenerator;
+import org.chess4j.position.MoveList;
+import org.chess4j.position.PieceSquareTables;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PieceSquareEvaluatorTest {
+
+    private final Evaluator evaluator = new PieceSquareEvaluator();
+
+    private int evaluate(String fen) {
+        return evaluator.evaluate(new Position(Fen.parse(fen)));
+    }
+
+    /*
+     * Sums the packed values of all pieces from scratch.
+     */
+    private static int sum(Position position) {
+        int score = 0;
+        for (int square = 0; square < 64; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != Position.EMPTY) {
+                score += PieceSquareTables.score(piece, square);
+            }
+        }
+        return score;
+    }
+
+    @Test
+    void startPositionIsBalanced() {
+        Position position = new Position(Fen.parse(Fen.START));
+        assertEquals(PieceSquareTables.MAX_PHASE, position.phase());
+        assertEquals(0, position.middlegameScore());
+        assertEquals(0, position.endgameScore());
+        assertEquals(0, evaluator.evaluate(position));
+    }
+
+    @Test
+    void packing() {
+        int score = PieceSquareTables.pack(-250, 730) + PieceSquareTables.pack(40, -1000);
+        assertEquals(-210, PieceSquareTables.middlegame(score));
+        assertEquals(-270, PieceSquareTables.endgame(score));
+    }
+
+    @Test
+    void incrementalScoresMatchRecomputation() {
+        Random random = new Random(42);
+        MoveList moves = new MoveList();
+        for (String fen : new String[]{Fen.START, "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"}) {
+            Position position = new Position(Fen.parse(fen));
+            int initial = sum(position);
+            int phase = position.phase();
+            for (int i = 0; i < 200; i++) {
+                MoveGenerator.generateLegal(position, moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                position.make(moves.get(random.nextInt(moves.size())));
+                int score = sum(position);
+                assertEquals(PieceSquareTables.middlegame(score), position.middlegameScore());
+                assertEquals(PieceSquareTables.endgame(score), position.endgameScore());
+                assertEquals(position.phase(), new Position(position).phase());
+            }
+            while (position.ply() > 0) {
+                position.unmake();
+            }
+            assertEquals(PieceSquareTables.middlegame(initial), position.middlegameScore());
+            assertEquals(PieceSquareTables.endgame(initial), position.endgameScore());
+            assertEquals(phase, position.phase());
+        }
+    }
+
+    @Test
+    void mirroredPositionsScoreEqually() {
+        assertEquals(evaluate("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+                evaluate("rnbqkb1r/pppp1ppp/5n2/4p3/4P3/2N5/PPPP1PPP/R1BQKBNR b KQkq - 2 3"));
+        assertEquals(evaluate("8/3k4/8/8/8/8/4PK2/8 w - - 0 1"), -evaluate("8/3k4/8/8/8/8/4PK2/8 b - - 0 1"));
+    }
+
+    @Test
+    void evaluationTapersToEndgame() {
+        Position endgame = new Position(Fen.parse("8/8/4k3/8/8/4K3/4P3/8 w - - 0 1"));
+        assertEquals(0, endgame.phase());
+        assertEquals(endgame.endgameScore(), evaluator.evaluate(endgame));
+        // The centralized king is worth more in the endgame than in the middlegame.
+        assertTrue(endgame.endgameScore() > endgame.middlegameScore());
+        Position developed = new Position(Fen.parse("rnbqkbnr/pppppppp/8/8/8/5N2/PPPPPPPP/RNBQKB1R b KQkq - 1 1"));
+        assertTrue(evaluator.evaluate(developed) < 0);
+    }
+}
@@ -1,5 +1,6 @@
 package org.chess4j;
 
+import org.chess4j.bitboard.BitboardBoard;
 import org.chess4j.exceptions.InvalidMoveException;
 import org.chess4j.pieces.Bishop;
 import org.chess4j.pieces.King;
@@ -7,6 +8,7 @@ import org.chess4j.pieces.Knight;
 import org.chess4j.pieces.Pawn;
 import org.chess4j.pieces.Queen;
 import org.chess4j.pieces.Rook;
+import org.chess4j.position.Position;
 import org.chess4j.simple.EnumMapBoard;
 import org.chess4j.simple.Player;
 import org.chess4j.simple.SimpleHistory;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -143,4 +146,44 @@ class PlayerTest {
 		black.move(Tile.d7, Tile.d5);
 		assertTrue(white.isValid(Tile.e5, Tile.d6));
 	}
+
+	@Test
+	void squareAttacksMatchPosition() {
+		String[] fens = {Fen.START, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+				"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", "4k3/8/8/8/3q4/8/8/4K3 w - - 0 1"};
+		for (String fen : fens) {
+			Board enumMap = Fen.parse(fen);
+			// The parsed board is a view that forwards the bitboards.
+			Board bitboard = Fen.parse(fen, BitboardBoard::new);
+			assertNotNull(bitboard.bitboards());
+			Position position = new Position(enumMap);
+			for (Tile tile : Tile.values()) {
+				for (Color color : Color.values()) {
+					boolean attacked = position.isAttacked(tile.ordinal(), color);
+					assertEquals(attacked, Player.isSquareAttacked(enumMap, tile, color), fen + " " + tile);
+					assertEquals(attacked, Player.isSquareAttacked(bitboard, tile, color), fen + " " + tile);
+				}
+			}
+		}
+	}
+
+	@Test
+	void kingIsTracked() {
+		Board board = new EnumMapBoard();
+		assertEquals(null, board.king(Color.WHITE));
+		board.put(Tile.e1, King.white());
+		board.put(Tile.e8, King.black());
+		board.put(Tile.e2, Queen.black());
+		assertEquals(Tile.e1, board.king(Color.WHITE));
+		assertTrue(Player.inCheck(board, Color.WHITE));
+		board.remove(Tile.e1);
+		board.put(Tile.d1, King.white());
+		assertEquals(Tile.d1, board.king(Color.WHITE));
+		assertTrue(Player.inCheck(board, Color.WHITE));
+		board.entrySet().removeIf(entry -> entry.getKey() == Tile.d1);
+		assertEquals(null, board.king(Color.WHITE));
+		assertFalse(Player.inCheck(board, Color.WHITE));
+		assertEquals(Tile.e8, Boards.copy(board).king(Color.BLACK));
+		assertEquals(Tile.e8, new BitboardBoard(board).king(Color.BLACK));
+	}
 }
@@ -0,0 +1,164 @@
+package org.chess4j;
+
+import org.chess4j.pieces.King;
+import org.chess4j.pieces.Pawn;
+import org.chess4j.pieces.Rook;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.simple.Player;
+import org.chess4j.simple.SimpleHistory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PositionTest {
+
+    @Test
+    void makeAndUnmakeRestorePosition() {
+        Position position = new Position(Boards.newGame());
+        long key = position.key();
+        position.make(Moves.of(Tile.e2.ordinal(), Tile.e4.ordinal(), Moves.LEAP));
+        position.make(Moves.of(Tile.g8.ordinal(), Tile.f6.ordinal()));
+        assertEquals(2, position.ply());
+        assertEquals(Color.WHITE, position.sideToMove());
+        position.unmake();
+        position.unmake();
+        assertEquals(key, position.key());
+        assertEquals(Position.piece(Color.WHITE, Piece.Type.PAWN), position.pieceAt(Tile.e2.ordinal()));
+        assertEquals(Position.EMPTY, position.pieceAt(Tile.e4.ordinal()));
+        assertThrows(IllegalStateException.class, position::unmake);
+    }
+
+    @Test
+    void keyMatchesBoardKey() {
+        History game = new SimpleHistory(Boards.newGame());
+        Position position = new Position(game.currentPosition());
+        Tile[][] moves = {{Tile.e2, Tile.e4}, {Tile.a7, Tile.a6}, {Tile.e4, Tile.e5}, {Tile.d7, Tile.d5},
+                {Tile.e5, Tile.d6}, {Tile.a6, Tile.a5}, {Tile.g1, Tile.f3}, {Tile.a8, Tile.a6},
+                {Tile.f1, Tile.e2}, {Tile.a6, Tile.b6}, {Tile.e1, Tile.g1}};
+        for (int i = 0; i < moves.length; i++) {
+            Player player = i % 2 == 0 ? Player.white(game) : Player.black(game);
+            player.move(moves[i][0], moves[i][1]);
+            position.make(position.move(moves[i][0].ordinal(), moves[i][1].ordinal()));
+            assertEquals(game.currentPosition().key(), position.key());
+        }
+        assertEquals(Position.piece(Color.WHITE, Piece.Type.ROOK), position.pieceAt(Tile.f1.ordinal()));
+        assertEquals(CastlingRights.BLACK_KING_SIDE, position.castlingRights());
+    }
+
+    @Test
+    void enPassanteCaptureAndUnmake() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.e7, Pawn.black());
+        board.put(Tile.f5, Pawn.white());
+        History game = new SimpleHistory(board);
+        Player.black(game).move(Tile.e7, Tile.e5);
+        Position position = new Position(game.currentPosition());
+        assertEquals(Tile.e6.ordinal(), position.enPassant());
+        int move = position.move(Tile.f5.ordinal(), Tile.e6.ordinal());
+        assertEquals(Moves.EN_PASSANTE, Moves.kind(move));
+        assertTrue(position.isLegal(move));
+        long key = position.key();
+        position.make(move);
+        assertEquals(Position.EMPTY, position.pieceAt(Tile.e5.ordinal()));
+        position.unmake();
+        assertEquals(key, position.key());
+        assertEquals(Position.piece(Color.BLACK, Piece.Type.PAWN), position.pieceAt(Tile.e5.ordinal()));
+    }
+
+    @Test
+    void promotionAndUnmake() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.a7, Pawn.white());
+        Position position = new Position(board);
+        int move = Moves.promotion(Tile.a7.ordinal(), Tile.a8.ordinal(), Piece.Type.KNIGHT);
+        assertTrue(position.isLegal(move));
+        assertFalse(position.isLegal(Moves.of(Tile.a7.ordinal(), Tile.a8.ordinal())));
+        position.make(move);
+        assertEquals(Position.piece(Color.WHITE, Piece.Type.KNIGHT), position.pieceAt(Tile.a8.ordinal()));
+        position.unmake();
+        assertEquals(Position.piece(Color.WHITE, Piece.Type.PAWN), position.pieceAt(Tile.a7.ordinal()));
+    }
+
+    @Test
+    void cannotMoveIntoCheck() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.e1, King.white());
+        board.put(Tile.h1, Rook.white());
+        board.put(Tile.f8, Rook.black());
+        Position position = new Position(board);
+        assertTrue(position.isAttacked(Tile.f1.ordinal(), Color.BLACK));
+        assertFalse(position.isLegal(position.move(Tile.e1.ordinal(), Tile.f1.ordinal())));
+        assertFalse(position.isLegal(position.move(Tile.e1.ordinal(), Tile.g1.ordinal())));
+        assertTrue(position.isLegal(position.move(Tile.e1.ordinal(), Tile.d1.ordinal())));
+    }
+
+    @Test
+    void halfmoveClockAndRepetition() {
+        Position position = new Position(Fen.parse("4k3/4p3/8/8/8/8/8/4K1N1 w - - 7 30"));
+        assertEquals(7, position.halfmoveClock());
+        int[] moves = {position.move(Tile.g1.ordinal(), Tile.f3.ordinal()), Moves.of(Tile.e8.ordinal(), Tile.d8.ordinal()),
+                Moves.of(Tile.f3.ordinal(), Tile.g1.ordinal()), Moves.of(Tile.d8.ordinal(), Tile.e8.ordinal())};
+        for (int move : moves) {
+            assertFalse(position.isRepetition());
+            position.make(move);
+        }
+        assertEquals(11, position.halfmoveClock());
+        assertTrue(position.isRepetition());
+        position.make(Moves.of(Tile.e1.ordinal(), Tile.d1.ordinal()));
+        position.make(Moves.of(Tile.e7.ordinal(), Tile.e5.ordinal(), Moves.LEAP));
+        assertEquals(0, position.halfmoveClock());
+        position.unmake();
+        assertEquals(12, position.halfmoveClock());
+    }
+
+    private static int see(String fen, Tile start, Tile end) {
+        Position position = new Position(Fen.parse(fen));
+        long key = position.key();
+        int see = position.see(position.move(start.ordinal(), end.ordinal()));
+        assertEquals(key, position.key());
+        return see;
+    }
+
+    @Test
+    void nullMoveAndUnmake() {
+        Position position = new Position(Fen.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 7 40"));
+        long key = position.key();
+        position.makeNull();
+        assertEquals(Color.BLACK, position.sideToMove());
+        assertEquals(-1, position.enPassant());
+        assertEquals(0, position.halfmoveClock());
+        assertEquals(new Position(Fen.parse("4k3/8/8/3pP3/8/8/8/4K3 b - - 0 1")).key(), position.key());
+        position.make(position.move(Tile.e8.ordinal(), Tile.e7.ordinal()));
+        position.unmake();
+        position.unmake();
+        assertEquals(0, position.ply());
+        assertEquals(Color.WHITE, position.sideToMove());
+        assertEquals(Tile.d6.ordinal(), position.enPassant());
+        assertEquals(7, position.halfmoveClock());
+        assertEquals(key, position.key());
+    }
+
+    @Test
+    void staticExchangeEvaluation() {
+        // An undefended pawn.
+        assertEquals(100, see("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", Tile.e1, Tile.e5));
+        // Knight takes pawn and is lost after a chain of recaptures with x-rays.
+        assertEquals(-220, see("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", Tile.d3, Tile.e5));
+        // A queen takes a pawn that is defended by a pawn.
+        assertEquals(-800, see("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", Tile.d1, Tile.d5));
+        // A pawn takes a defended queen.
+        assertEquals(800, see("4k3/8/2p5/3q4/4P3/8/8/4K3 w - - 0 1", Tile.e4, Tile.d5));
+        // The king cannot recapture a defended piece, but an undefended one.
+        assertEquals(500, see("8/8/8/8/8/5k2/4r3/4RK2 w - - 0 1", Tile.e1, Tile.e2));
+        assertEquals(0, see("8/8/8/8/8/5k2/4r3/4R1K1 w - - 0 1", Tile.e1, Tile.e2));
+        // En passant and quiet moves.
+        assertEquals(100, see("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", Tile.e5, Tile.d6));
+        assertEquals(-320, see("4k3/8/2p5/8/8/2N5/8/4K3 w - - 0 1", Tile.c3, Tile.d5));
+        assertEquals(0, see("4k3/8/2p5/8/8/2N5/8/4K3 w - - 0 1", Tile.c3, Tile.e4));
+    }
+}
@@ -9,6 +9,7 @@ import org.chess4j.simple.EnumMapBoard;
 import org.chess4j.simple.SimpleHistory;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -98,4 +99,20 @@ class RochadeTest {
         History history = new SimpleHistory(board);
         assertFalse(Rochade.isValid(Tile.e1, Tile.c1, history));
     }
+
+    @Test
+    void rochadeFollowsCastlingRightsOfPosition() {
+        History history = new SimpleHistory(Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1"));
+        assertEquals(CastlingRights.WHITE_KING_SIDE | CastlingRights.BLACK_QUEEN_SIDE, history.castlingRights());
+        assertTrue(Rochade.isValid(Tile.e1, Tile.g1, history));
+        assertFalse(Rochade.isValid(Tile.e1, Tile.c1, history));
+    }
+
+    @Test
+    void capturedRookLosesRight() {
+        History history = new SimpleHistory(Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1"));
+        history.add(NormalMove.perform(Tile.a8, Tile.a1, history.currentPosition()));
+        assertEquals(CastlingRights.WHITE_KING_SIDE | CastlingRights.BLACK_KING_SIDE, history.castlingRights());
+        assertFalse(Rochade.isValid(Tile.e1, Tile.c1, history));
+    }
 }
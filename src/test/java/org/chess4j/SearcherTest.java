@@ -0,0 +1,142 @@
+package org.chess4j;
+
+import org.chess4j.engine.Limits;
+import org.chess4j.engine.PieceSquareEvaluator;
+import org.chess4j.engine.SearchResult;
+import org.chess4j.engine.Searcher;
+import org.chess4j.engine.Selectivity;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearcherTest {
+
+    private static SearchResult search(String fen, Limits limits) {
+        return new Searcher().search(new Position(Fen.parse(fen)), limits);
+    }
+
+    @Test
+    void findsMateInOne() {
+        SearchResult result = search("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", Limits.depth(4));
+        assertEquals("a1a8", Moves.toString(result.move()));
+        assertEquals(Searcher.MATE - 1, result.score());
+        assertTrue(result.toString().contains("mate 1"));
+    }
+
+    @Test
+    void findsMateInTwo() {
+        SearchResult result = search("k7/8/2K5/8/8/8/8/7R w - - 0 1", Limits.depth(6));
+        assertEquals(Searcher.MATE - 3, result.score());
+        assertEquals(3, result.pv().length);
+    }
+
+    @Test
+    void capturesHangingQueen() {
+        SearchResult result = search("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1", Limits.depth(3));
+        assertEquals("d1d5", Moves.toString(result.move()));
+        assertTrue(result.score() >= 500);
+    }
+
+    @Test
+    void quiescenceSeesRecapture() {
+        SearchResult result = search("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", Limits.depth(1));
+        assertNotEquals("d1d5", Moves.toString(result.move()));
+        assertEquals(700, result.score());
+    }
+
+    @Test
+    void quiescenceScoresMateInCheck() {
+        // Without the check extension the checking capture ends in the
+        // quiescence search, which must not stand pat in check.
+        Selectivity unextended = Selectivity.DEFAULT.with(Selectivity.Technique.CHECK_EXTENSIONS, false);
+        SearchResult result = search("3r2k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1", Limits.depth(1), unextended);
+        assertEquals("d1d8", Moves.toString(result.move()));
+        assertEquals(Searcher.MATE - 1, result.score());
+        assertTrue(result.toString().contains("mate 1"));
+    }
+
+    @Test
+    void positionWithoutMoves() {
+        SearchResult stalemate = search("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1", Limits.depth(3));
+        assertEquals(Moves.NONE, stalemate.move());
+        assertEquals(Searcher.DRAW, stalemate.score());
+        SearchResult mate = search("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1", Limits.depth(3));
+        assertEquals(Moves.NONE, mate.move());
+        assertEquals(-Searcher.MATE, mate.score());
+    }
+
+    @Test
+    void principalVariationIsLegal() {
+        Position position = new Position(Fen.parse(Fen.START));
+        long key = position.key();
+        SearchResult result = new Searcher().search(position, Limits.depth(4));
+        assertEquals(4, result.depth());
+        assertEquals(key, position.key());
+        assertEquals(0, position.ply());
+        for (int move : result.pv()) {
+            assertTrue(position.isLegal(move), Moves.toString(move));
+            position.make(move);
+        }
+    }
+
+    @Test
+    void timeLimitReturnsMove() {
+        Position position = new Position(Fen.parse(Fen.START));
+        long start = System.nanoTime();
+        SearchResult result = new Searcher().search(position, Limits.time(100));
+        assertTrue(position.isLegal(result.move()));
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        assertThrows(IllegalArgumentException.class, () -> Limits.depth(0));
+        assertThrows(IllegalArgumentException.class, () -> Limits.time(0));
+    }
+
+    private static SearchResult search(String fen, Limits limits, Selectivity selectivity) {
+        Searcher searcher = new Searcher(new PieceSquareEvaluator());
+        searcher.setSelectivity(selectivity);
+        return searcher.search(new Position(Fen.parse(fen)), limits);
+    }
+
+    @Test
+    void selectiveSearchFindsTactics() {
+        for (Selectivity selectivity : new Selectivity[]{Selectivity.NONE, Selectivity.DEFAULT}) {
+            SearchResult mate = search("k7/8/2K5/8/8/8/8/7R w - - 0 1", Limits.depth(6), selectivity);
+            assertEquals(Searcher.MATE - 3, mate.score(), selectivity.toString());
+            SearchResult queen = search("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1", Limits.depth(5), selectivity);
+            assertEquals("d1d5", Moves.toString(queen.move()), selectivity.toString());
+        }
+    }
+
+    @Test
+    void selectiveSearchVisitsFewerNodes() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        long fullWidth = search(fen, Limits.depth(5), Selectivity.NONE).nodes();
+        long selective = search(fen, Limits.depth(5), Selectivity.DEFAULT).nodes();
+        assertTrue(selective < fullWidth, selective + " >= " + fullWidth);
+        for (Selectivity.Technique technique : Selectivity.Technique.values()) {
+            SearchResult result = search(fen, Limits.depth(5), Selectivity.DEFAULT.with(technique, false));
+            assertEquals(5, result.depth(), technique.optionName());
+        }
+    }
+
+    @Test
+    void selectivityParameters() {
+        Selectivity selectivity = Selectivity.DEFAULT.with(Selectivity.Technique.RAZORING, false)
+                .with(Selectivity.Parameter.FUTILITY_MARGIN, 150);
+        assertFalse(selectivity.isEnabled(Selectivity.Technique.RAZORING));
+        assertTrue(selectivity.isEnabled(Selectivity.Technique.NULL_MOVE));
+        assertEquals(150, selectivity.value(Selectivity.Parameter.FUTILITY_MARGIN));
+        assertEquals(100, Selectivity.DEFAULT.value(Selectivity.Parameter.FUTILITY_MARGIN));
+        assertEquals(0, selectivity.reduction(1, 30));
+        assertTrue(selectivity.reduction(20, 30) > selectivity.reduction(4, 30));
+        assertTrue(Selectivity.DEFAULT.with(Selectivity.Parameter.LATE_MOVE_REDUCTION_DIVISOR, 100).reduction(20, 30)
+                > selectivity.reduction(20, 30));
+        assertThrows(IllegalArgumentException.class,
+                () -> Selectivity.DEFAULT.with(Selectivity.Parameter.NULL_MOVE_REDUCTION, 0));
+    }
+}
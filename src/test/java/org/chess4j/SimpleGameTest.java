@@ -1,5 +1,6 @@
 package org.chess4j;
 
+import org.chess4j.simple.SimpleGame;
 import org.junit.jupiter.api.Test;
 
 import java.util.regex.Matcher;
@@ -79,4 +80,100 @@ public class SimpleGameTest {
         assertEquals("e8", m.group(2));
         assertEquals("r", m.group(3));
     }
+
+    @Test
+    void checkmateEndsGame() throws Exception {
+        ChessGame game = new SimpleGame();
+        for (String move : new String[]{"f2f3", "e7e5", "g2g4", "d8h4"}) {
+            game.move(move);
+        }
+        assertEquals(ChessGame.Status.BLACK_WON, game.getStatus());
+        game.revert();
+        assertEquals(ChessGame.Status.BLACK_PLAYER_TURN, game.getStatus());
+    }
+
+    @Test
+    void stalemate() throws Exception {
+        ChessGame game = new SimpleGame("7k/8/5K2/6Q1/8/8/8/8 w - - 0 1");
+        game.move("g5g6");
+        assertEquals(ChessGame.Status.STALEMATE, game.getStatus());
+    }
+
+    @Test
+    void insufficientMaterialAfterCaptureAndRevert() throws Exception {
+        ChessGame game = new SimpleGame("4k3/8/8/8/8/8/3r4/2B1K3 w - - 0 1");
+        game.move("c1d2");
+        assertEquals(ChessGame.Status.DRAW_BY_INSUFFICIENT_MATERIAL, game.getStatus());
+        game.revert();
+        assertEquals(ChessGame.Status.WHITE_PLAYER_TURN, game.getStatus());
+    }
+
+    @Test
+    void fiftyMoveRuleFromHalfmoveClock() throws Exception {
+        ChessGame game = new SimpleGame("4k3/8/8/8/8/8/8/1N2K2R w - - 99 80");
+        game.move("b1c3");
+        assertEquals(ChessGame.Status.DRAW_BY_FIFTY_MOVE_RULE, game.getStatus());
+        game.revert();
+        game.move("h1h8");
+        assertEquals(ChessGame.Status.DRAW_BY_FIFTY_MOVE_RULE, game.getStatus());
+        game.revert();
+        assertEquals(ChessGame.Status.WHITE_PLAYER_TURN, game.getStatus());
+    }
+
+    @Test
+    void threefoldRepetitionAndRevert() throws Exception {
+        SimpleGame game = new SimpleGame();
+        for (int i = 0; i < 2; i++) {
+            game.move("g1f3");
+            game.move("g8f6");
+            game.move("f3g1");
+            game.move("f6g8");
+        }
+        assertEquals(3, game.repetitions());
+        assertEquals(ChessGame.Status.DRAW_BY_THREEFOLD_REPETITION, game.getStatus());
+        game.revert();
+        assertEquals(2, game.repetitions());
+        assertEquals(ChessGame.Status.BLACK_PLAYER_TURN, game.getStatus());
+    }
+
+    @Test
+    void threefoldRepetitionWithLongCycle() throws Exception {
+        // The rook returns every 4 plies and the king every 6 plies, so the
+        // position only repeats every 12 plies.
+        SimpleGame game = new SimpleGame("k7/8/8/8/8/8/8/K6R w - - 0 1");
+        String[] cycle = {"h1h2", "a8b8", "h2h1", "b8b7", "h1h2", "b7a8",
+                "h2h1", "a8b8", "h1h2", "b8b7", "h2h1", "b7a8"};
+        for (int i = 0; i < 2; i++) {
+            for (String move : cycle) {
+                assertFalse(game.isGameOver());
+                game.move(move);
+            }
+        }
+        assertEquals(3, game.repetitions());
+        assertEquals(ChessGame.Status.DRAW_BY_THREEFOLD_REPETITION, game.getStatus());
+    }
+
+    @Test
+    void irreversibleMoveResetsRepetitions() throws Exception {
+        SimpleGame game = new SimpleGame("k7/p7/8/8/8/8/8/K6R w - - 0 1");
+        game.move("h1h2");
+        game.move("a8b8");
+        game.move("h2h1");
+        game.move("b8a8");
+        assertEquals(2, game.repetitions());
+        game.move("h1h2");
+        game.move("a7a6");
+        assertEquals(1, game.repetitions());
+        game.revert();
+        game.revert();
+        assertEquals(2, game.repetitions());
+    }
+
+    @Test
+    void seventyFiveMoveRuleFromHalfmoveClock() throws Exception {
+        ChessGame game = new SimpleGame("4k3/8/8/8/8/8/8/1N2K2R w - - 149 120");
+        assertEquals(ChessGame.Status.DRAW_BY_FIFTY_MOVE_RULE, game.getStatus());
+        assertEquals(ChessGame.Status.DRAW_BY_SEVENTY_FIVE_MOVE_RULE,
+                new SimpleGame("4k3/8/8/8/8/8/8/1N2K2R b - - 150 120").getStatus());
+    }
 }
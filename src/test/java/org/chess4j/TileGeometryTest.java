@@ -0,0 +1,54 @@
+package org.chess4j;
+
+import org.chess4j.bitboard.Bitboards;
+import org.chess4j.bitboard.TileGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TileGeometryTest {
+
+    @Test
+    void knightAndKingAttacks() {
+        assertEquals(Set.of(Tile.b3, Tile.c2), Bitboards.tiles(TileGeometry.knightAttacks(Tile.a1.ordinal())));
+        assertEquals(8, Long.bitCount(TileGeometry.knightAttacks(Tile.e4.ordinal())));
+        assertEquals(Set.of(Tile.g8, Tile.g7, Tile.h7), Bitboards.tiles(TileGeometry.kingAttacks(Tile.h8.ordinal())));
+    }
+
+    @Test
+    void pawnAttacks() {
+        assertEquals(Set.of(Tile.d3, Tile.f3), Bitboards.tiles(TileGeometry.pawnAttacks(Color.WHITE, Tile.e2.ordinal())));
+        assertEquals(Set.of(Tile.b6), Bitboards.tiles(TileGeometry.pawnAttacks(Color.BLACK, Tile.a7.ordinal())));
+    }
+
+    @Test
+    void betweenAndLine() {
+        assertEquals(Set.of(Tile.b2, Tile.c3, Tile.d4, Tile.e5),
+                Bitboards.tiles(TileGeometry.between(Tile.f6.ordinal(), Tile.a1.ordinal())));
+        assertEquals(0L, TileGeometry.between(Tile.b1.ordinal(), Tile.c3.ordinal()));
+        assertEquals(0L, TileGeometry.between(Tile.e1.ordinal(), Tile.f1.ordinal()));
+        assertEquals(Bitboards.ROW_1, TileGeometry.line(Tile.c1.ordinal(), Tile.f1.ordinal()));
+        assertEquals(0L, TileGeometry.line(Tile.b1.ordinal(), Tile.c3.ordinal()));
+    }
+
+    @Test
+    void rays() {
+        assertEquals(Set.of(Tile.a2, Tile.a3, Tile.a4, Tile.a5, Tile.a6, Tile.a7, Tile.a8),
+                Bitboards.tiles(TileGeometry.ray(TileGeometry.NORTH, Tile.a1.ordinal())));
+        long occupied = Bitboards.of(Tile.c3) | Bitboards.of(Tile.e5);
+        assertEquals(Set.of(Tile.b2, Tile.c3),
+                Bitboards.tiles(TileGeometry.rayAttacks(TileGeometry.NORTH_EAST, Tile.a1.ordinal(), occupied)));
+        assertEquals(Set.of(Tile.d4, Tile.c3),
+                Bitboards.tiles(TileGeometry.rayAttacks(TileGeometry.SOUTH_WEST, Tile.e5.ordinal(), occupied)));
+    }
+
+    @Test
+    void valueOfColumnAndRow() {
+        assertEquals(Tile.e4, Tile.valueOf(5, 4));
+        assertThrows(NoSuchElementException.class, () -> Tile.valueOf(9, 1));
+    }
+}
@@ -0,0 +1,126 @@
+package org.chess4j;
+
+import org.chess4j.engine.Limits;
+import org.chess4j.engine.ParallelSearcher;
+import org.chess4j.engine.SearchResult;
+import org.chess4j.engine.Searcher;
+import org.chess4j.engine.TimeManager;
+import org.chess4j.position.Moves;
+import org.chess4j.position.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeManagerTest {
+
+    @Test
+    void clockAllocation() {
+        Limits limits = Limits.clock(60_000, 0, 0, 0);
+        assertTrue(limits.isClock());
+        assertEquals(2000, limits.softMillis());
+        assertEquals(8000, limits.millis());
+
+        Limits increment = Limits.clock(1000, 100, 0, 0);
+        assertEquals(108, increment.softMillis());
+        assertEquals(250, increment.millis());
+
+        Limits lastMove = Limits.clock(1000, 0, 1, 0);
+        assertEquals(900, lastMove.softMillis());
+        assertEquals(900, lastMove.millis());
+
+        Limits flagging = Limits.clock(10, 0, 0, 50);
+        assertEquals(1, flagging.softMillis());
+        assertEquals(1, flagging.millis());
+
+        assertFalse(Limits.time(100).isClock());
+        assertThrows(IllegalArgumentException.class, () -> Limits.clock(1000, -1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Limits.clock(1000, 0, 0, -1));
+    }
+
+    @Test
+    void softTimeFollowsSearch() {
+        TimeManager manager = new TimeManager(Limits.clock(60_000, 0, 0, 0), 0);
+        assertEquals(2000, manager.softMillis());
+        manager.update(1, 0);
+        assertEquals(2000, manager.softMillis());
+        manager.update(2, 0);
+        assertEquals(3000, manager.softMillis());
+        manager.update(2, 0);
+        assertEquals(2500, manager.softMillis());
+        for (int i = 0; i < 4; i++) {
+            manager.update(2, 0);
+        }
+        assertTrue(manager.softMillis() < 2000);
+        manager.update(2, -100);
+        assertTrue(manager.softMillis() > 2000);
+
+        TimeManager capped = new TimeManager(Limits.clock(1000, 100, 0, 0), 0);
+        for (int i = 0; i < 10; i++) {
+            capped.update(i % 2, -100 * i);
+        }
+        assertEquals(250, capped.softMillis());
+    }
+
+    @Test
+    void fixedTimeEndsAtDeadline() {
+        // The deadline keeps a fifth of the hard time, at most 50 ms, free.
+        TimeManager manager = new TimeManager(Limits.time(100), 0);
+        assertEquals(80_000_000L, manager.deadline());
+        manager.update(1, 0);
+        manager.update(2, -500);
+        assertFalse(manager.shouldStop(79_000_000L));
+        assertTrue(manager.shouldStop(80_000_000L));
+        assertEquals(950_000_000L, new TimeManager(Limits.time(1000), 0).deadline());
+
+        TimeManager untimed = new TimeManager(Limits.depth(5), 0);
+        assertEquals(0, untimed.deadline());
+        assertFalse(untimed.shouldStop(Long.MAX_VALUE));
+    }
+
+    @Test
+    void forcedMoveEndsSearch() {
+        Position position = new Position(Fen.parse("k7/8/8/8/8/8/1q6/K7 w - - 0 1"));
+        long start = System.nanoTime();
+        SearchResult result = new Searcher().search(position, Limits.clock(60_000, 0, 0, 0));
+        assertEquals("a1b2", Moves.toString(result.move()));
+        assertEquals(1, result.depth());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    void hardTimeIsKept() {
+        Searcher.warmUp();
+        Position position = new Position(Fen.parse(Fen.START));
+        Searcher searcher = new Searcher();
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            Limits limits = Limits.clock(200, 0, 1, 0);
+            SearchResult result = searcher.search(position, limits);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(position.isLegal(result.move()));
+            assertTrue(millis <= limits.millis(), millis + " ms of " + limits.millis() + " ms");
+        }
+
+        // The helpers are stopped at the deadline as well.
+        try (ParallelSearcher parallel = new ParallelSearcher(4)) {
+            for (int i = 0; i < 3; i++) {
+                long start = System.nanoTime();
+                Limits limits = Limits.clock(200, 0, 1, 0);
+                SearchResult result = parallel.search(position, limits);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                assertTrue(position.isLegal(result.move()));
+                assertTrue(millis <= limits.millis(), millis + " ms of " + limits.millis() + " ms");
+            }
+        }
+
+        // A deadline that has passed stops the search at once.
+        Searcher late = new Searcher();
+        long start = System.nanoTime();
+        SearchResult result = late.search(position, Limits.time(1));
+        assertTrue(position.isLegal(result.move()));
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 100);
+    }
+}
@@ -0,0 +1,79 @@
+package org.chess4j;
+
+import org.chess4j.engine.TranspositionTable;
+import org.chess4j.position.Moves;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TranspositionTableTest {
+
+    @Test
+    void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Moves.promotion(Tile.b7.ordinal(), Tile.a8.ordinal(), Piece.Type.KNIGHT);
+        table.store(42L, move, -31990, 17, TranspositionTable.LOWER);
+        long data = table.probe(42L);
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(-31990, TranspositionTable.score(data));
+        assertEquals(17, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(TranspositionTable.MISS, table.probe(43L));
+    }
+
+    @Test
+    void sameKeyKeepsMove() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = Moves.of(Tile.e2.ordinal(), Tile.e4.ordinal(), Moves.LEAP);
+        table.store(7L, move, 10, 3, TranspositionTable.EXACT);
+        table.store(7L, Moves.NONE, -5, 4, TranspositionTable.UPPER);
+        long data = table.probe(7L);
+        assertEquals(move, TranspositionTable.move(data));
+        assertEquals(-5, TranspositionTable.score(data));
+        assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(data));
+    }
+
+    @Test
+    void replacesShallowAndOldEntries() {
+        TranspositionTable table = new TranspositionTable(1);
+        // Keys that differ above the index bits share a cluster.
+        long step = 1L << 56;
+        for (int i = 0; i < TranspositionTable.CLUSTER_SIZE; i++) {
+            table.store(i * step, Moves.NONE, 0, 10 + i, TranspositionTable.EXACT);
+        }
+        table.store(9 * step, Moves.NONE, 0, 1, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.MISS, table.probe(0));
+        assertTrue(table.probe(step) != TranspositionTable.MISS);
+
+        table.newSearch();
+        table.newSearch();
+        // Deep entries of former searches are replaced before shallow
+        // entries of the current search.
+        table.store(10 * step, Moves.NONE, 0, 1, TranspositionTable.EXACT);
+        table.store(11 * step, Moves.NONE, 0, 1, TranspositionTable.EXACT);
+        assertTrue(table.probe(10 * step) != TranspositionTable.MISS);
+        assertTrue(table.probe(11 * step) != TranspositionTable.MISS);
+        assertEquals(TranspositionTable.MISS, table.probe(step));
+    }
+
+    @Test
+    void hashfullClearAndResize() {
+        TranspositionTable table = new TranspositionTable(1);
+        assertEquals(65536, table.capacity());
+        assertEquals(0, table.hashfull());
+        for (long key = 0; key < table.capacity(); key++) {
+            table.store(key * 0x9E3779B97F4A7C15L, Moves.NONE, 0, 1, TranspositionTable.EXACT);
+        }
+        assertTrue(table.hashfull() > 500);
+        table.newSearch();
+        assertEquals(0, table.hashfull());
+        table.store(5L, Moves.NONE, 0, 1, TranspositionTable.EXACT);
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(5L));
+        table.resize(2);
+        assertEquals(131072, table.capacity());
+        assertThrows(IllegalArgumentException.class, () -> table.resize(0));
+    }
+}
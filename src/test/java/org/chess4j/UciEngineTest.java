@@ -0,0 +1,196 @@
+package org.chess4j;
+
+import org.chess4j.engine.Evaluator;
+import org.chess4j.engine.PieceSquareEvaluator;
+import org.chess4j.engine.UciEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UciEngineTest {
+
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private PrintStream commands;
+    private Thread engine;
+
+    @BeforeEach
+    void startEngine() throws IOException {
+        startEngine(PieceSquareEvaluator::new);
+    }
+
+    private void startEngine(Supplier<? extends Evaluator> evaluators) throws IOException {
+        PipedInputStream input = new PipedInputStream();
+        commands = new PrintStream(new PipedOutputStream(input), true, StandardCharsets.UTF_8);
+        PrintStream output = new PrintStream(new LineCollector(), true, StandardCharsets.UTF_8);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        engine = new Thread(() -> {
+            try {
+                new UciEngine(reader, output, evaluators).run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        engine.start();
+    }
+
+    @AfterEach
+    void quit() throws InterruptedException {
+        commands.println("quit");
+        engine.join(5000);
+        assertFalse(engine.isAlive());
+    }
+
+    private String await(String prefix) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertNotNull(line, "No line starting with " + prefix);
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+    }
+
+    @Test
+    void handshake() throws InterruptedException {
+        commands.println("uci");
+        assertEquals("id name " + UciEngine.NAME, await("id name"));
+        await("option name Hash");
+        await("option name Null Move Pruning type check default true");
+        await("uciok");
+        commands.println("setoption name Late Move Reductions value false");
+        commands.println("setoption name Futility Margin value 5000");
+        await("info string Futility Margin must be between");
+        commands.println("isready");
+        await("readyok");
+    }
+
+    @Test
+    void searchesPositionWithMoves() throws InterruptedException {
+        commands.println("position startpos moves f2f3 e7e5 g2g4");
+        commands.println("go depth 2");
+        assertEquals("bestmove d8h4", await("bestmove"));
+        commands.println("position fen 6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        commands.println("go nodes 5000");
+        assertTrue(await("info depth 1").contains("score mate 1"));
+        assertEquals("bestmove a1a8", await("bestmove"));
+    }
+
+    @Test
+    void checkExtensionsDoNotChangeMateScore() throws InterruptedException {
+        // A checking capture at the horizon is a mate with and without the
+        // extension, as the quiescence search searches the evasions.
+        for (String enabled : new String[]{"true", "false"}) {
+            commands.println("setoption name Check Extensions value " + enabled);
+            commands.println("position fen 3r2k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+            commands.println("go depth 1");
+            assertTrue(await("info depth 1").contains("score mate 1"), enabled);
+            assertEquals("bestmove d1d8", await("bestmove"), enabled);
+        }
+    }
+
+    @Test
+    void continuesLastPosition() throws InterruptedException {
+        commands.println("position startpos moves e2e4 e7e5");
+        commands.println("position startpos moves e2e4 e7e5 d1h5 b8c6 f1c4 g8f6");
+        commands.println("go depth 2");
+        assertEquals("bestmove h5f7", await("bestmove"));
+        commands.println("position startpos moves e2e4 e7e5 e1e3");
+        await("info string Illegal move e1e3");
+        commands.println("position startpos moves a2a4 h7h5 a4a5 b7b5 a5b6 h5h4 b6c7 h4h3 c7b8n");
+        commands.println("isready");
+        await("readyok");
+    }
+
+    @Test
+    void stopEndsInfiniteSearch() throws InterruptedException {
+        commands.println("setoption name Threads value 2");
+        commands.println("setoption name Hash value 2");
+        commands.println("position startpos");
+        commands.println("go infinite");
+        await("info depth 3");
+        commands.println("stop");
+        String bestMove = await("bestmove");
+        assertTrue(bestMove.matches("bestmove [a-h][1-8][a-h][1-8]( ponder .*)?"), bestMove);
+    }
+
+    @Test
+    void malformedGoIsReported() throws InterruptedException {
+        commands.println("position startpos");
+        commands.println("go depth");
+        assertEquals("info string Missing value of depth", await("info string"));
+        commands.println("go movetime -5");
+        await("info string Move time must not be negative");
+        commands.println("isready");
+        await("readyok");
+        // A move time of zero ends after the first iteration.
+        commands.println("go movetime 0");
+        await("bestmove");
+    }
+
+    @Test
+    void failedSearchStillMoves() throws InterruptedException, IOException {
+        quit();
+        lines.clear();
+        startEngine(() -> position -> {
+            throw new IllegalStateException("broken evaluator");
+        });
+        commands.println("setoption name Threads value 2");
+        commands.println("position startpos");
+        commands.println("go depth 3");
+        assertTrue(await("info string").startsWith("info string The search failed"));
+        assertTrue(await("bestmove").matches("bestmove [a-h][1-8][a-h][1-8]"));
+        // The engine keeps reading commands.
+        commands.println("go depth 3");
+        await("bestmove");
+        commands.println("isready");
+        await("readyok");
+    }
+
+    @Test
+    void ponderhitStartsClock() throws InterruptedException {
+        commands.println("position startpos moves e2e4");
+        commands.println("go ponder wtime 1000 btime 1000");
+        await("info depth 2");
+        commands.println("ponderhit");
+        await("bestmove");
+        commands.println("go wtime 300 btime 300 winc 10 binc 10");
+        await("bestmove");
+    }
+
+    /*
+     * Collects the lines written to the stream.
+     */
+    private class LineCollector extends OutputStream {
+
+        private final StringBuilder line = new StringBuilder();
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                lines.add(line.toString().trim());
+                line.setLength(0);
+            } else {
+                line.append((char) b);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.chess4j;
+
+import org.chess4j.bitboard.Zobrist;
+import org.chess4j.pieces.King;
+import org.chess4j.pieces.Pawn;
+import org.chess4j.simple.EnumMapBoard;
+import org.chess4j.simple.Player;
+import org.chess4j.simple.SimpleGame;
+import org.chess4j.simple.SimpleHistory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ZobristTest {
+
+    @Test
+    void incrementalKeyMatchesScratchKey() {
+        History game = new SimpleHistory(Boards.newGame());
+        Player white = Player.white(game);
+        Player black = Player.black(game);
+        white.move(Tile.e2, Tile.e4);
+        black.move(Tile.g8, Tile.f6);
+        white.move(Tile.e4, Tile.e5);
+        black.move(Tile.d7, Tile.d5);
+        assertEquals(Tile.d6, game.currentPosition().enPassant());
+        white.move(Tile.e5, Tile.d6);
+        black.move(Tile.e7, Tile.e6);
+        white.move(Tile.g1, Tile.f3);
+        black.move(Tile.f8, Tile.e7);
+        white.move(Tile.f1, Tile.e2);
+        black.move(Tile.e8, Tile.g8);
+        for (int i = 0; i < game.turnNumber(); i++) {
+            Board result = game.get(i).result();
+            assertEquals(Zobrist.key(result), result.key());
+        }
+        Board current = game.currentPosition();
+        assertEquals(Color.WHITE, current.sideToMove());
+        assertEquals(CastlingRights.WHITE_KING_SIDE | CastlingRights.WHITE_QUEEN_SIDE, current.castlingRights());
+    }
+
+    @Test
+    void transpositionsHaveEqualKeys() {
+        History first = new SimpleHistory(Boards.newGame());
+        Player.white(first).move(Tile.g1, Tile.f3);
+        Player.black(first).move(Tile.g8, Tile.f6);
+        Player.white(first).move(Tile.b1, Tile.c3);
+
+        History second = new SimpleHistory(Boards.newGame());
+        Player.white(second).move(Tile.b1, Tile.c3);
+        Player.black(second).move(Tile.g8, Tile.f6);
+        Player.white(second).move(Tile.g1, Tile.f3);
+
+        assertEquals(first.currentPosition().key(), second.currentPosition().key());
+        assertNotEquals(first.get(1).result().key(), second.get(1).result().key());
+    }
+
+    @Test
+    void sideToMoveChangesKey() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.e1, King.white());
+        board.put(Tile.e8, King.black());
+        Board black = Boards.withState(board, Color.BLACK, CastlingRights.NONE, null);
+        Board white = Boards.withState(board, Color.WHITE, CastlingRights.NONE, null);
+        assertEquals(white.key() ^ Zobrist.side(Color.BLACK), black.key());
+    }
+
+    @Test
+    void leapWithoutEnemyPawnHasNoEnPassant() {
+        History game = new SimpleHistory(Boards.newGame());
+        Player.white(game).move(Tile.e2, Tile.e4);
+        assertNull(game.currentPosition().enPassant());
+    }
+
+    @Test
+    void promotionKeepsKeyConsistent() {
+        SimpleGame game = new SimpleGame();
+        String[] moves = {"h2h4", "g7g5", "h4g5", "e7e6", "g5g6", "f8e7", "g6h7", "d7d6", "h7g8q"};
+        for (String move : moves) {
+            game.move(move);
+        }
+        Board current = game.getBoardPosition();
+        assertEquals(Piece.Type.QUEEN, current.get(Tile.g8).type());
+        assertEquals(Zobrist.key(current), current.key());
+    }
+
+    @Test
+    void copyKeepsKey() {
+        Board board = new EnumMapBoard();
+        board.put(Tile.a2, Pawn.white());
+        Board stateful = Boards.withState(board, Color.BLACK, CastlingRights.NONE, null);
+        assertEquals(stateful.key(), Boards.copy(stateful).key());
+        assertEquals(Color.BLACK, Boards.copy(stateful).sideToMove());
+    }
+}